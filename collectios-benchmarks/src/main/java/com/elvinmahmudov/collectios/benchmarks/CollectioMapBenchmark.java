@@ -0,0 +1,136 @@
+package com.elvinmahmudov.collectios.benchmarks;
+
+import com.elvinmahmudov.collectios.cmap.CollectioMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of CollectioMap against HashMap and Collections.unmodifiableMap copy-on-write.
+ * HashMap is changed in place and restored, the copy-on-write map is copied on every change.
+ *
+ * @author emahmudov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectioMapBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private CollectioMap<Integer, Integer> collectioMap;
+    private HashMap<Integer, Integer> hashMap;
+    private Map<Integer, Integer> copyOnWriteMap;
+
+    private Integer[] keys;
+    private Integer[] missingKeys;
+
+    private final Indexes indexes = new Indexes();
+
+    @Setup
+    public void setUp() {
+        keys = new Integer[size];
+        missingKeys = new Integer[size];
+        hashMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+            missingKeys[i] = size + i;
+            hashMap.put(keys[i], i);
+        }
+        collectioMap = CollectioMap.of(hashMap);
+        copyOnWriteMap = Collections.unmodifiableMap(new HashMap<>(hashMap));
+        indexes.fill(size);
+    }
+
+    @Benchmark
+    public Object collectioMapAdd() {
+        return collectioMap.add(missingKeys[indexes.next()], 0);
+    }
+
+    @Benchmark
+    public Object hashMapAdd() {
+        Integer key = missingKeys[indexes.next()];
+        hashMap.put(key, 0);
+        return hashMap.remove(key);
+    }
+
+    @Benchmark
+    public Object copyOnWriteMapAdd() {
+        Map<Integer, Integer> copy = new HashMap<>(copyOnWriteMap);
+        copy.put(missingKeys[indexes.next()], 0);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    @Benchmark
+    public Object collectioMapGet() {
+        return collectioMap.get(keys[indexes.next()]);
+    }
+
+    @Benchmark
+    public Object hashMapGet() {
+        return hashMap.get(keys[indexes.next()]);
+    }
+
+    @Benchmark
+    public Object copyOnWriteMapGet() {
+        return copyOnWriteMap.get(keys[indexes.next()]);
+    }
+
+    @Benchmark
+    public Object collectioMapDelete() {
+        return collectioMap.delete(keys[indexes.next()]);
+    }
+
+    @Benchmark
+    public Object hashMapDelete() {
+        Integer key = keys[indexes.next()];
+        Integer value = hashMap.remove(key);
+        return hashMap.put(key, value);
+    }
+
+    @Benchmark
+    public Object copyOnWriteMapDelete() {
+        Map<Integer, Integer> copy = new HashMap<>(copyOnWriteMap);
+        copy.remove(keys[indexes.next()]);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    @Benchmark
+    public void collectioMapIterate(Blackhole blackhole) {
+        for (Map.Entry<Integer, Integer> entry : collectioMap.entrySet()) {
+            blackhole.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void hashMapIterate(Blackhole blackhole) {
+        for (Map.Entry<Integer, Integer> entry : hashMap.entrySet()) {
+            blackhole.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void copyOnWriteMapIterate(Blackhole blackhole) {
+        for (Map.Entry<Integer, Integer> entry : copyOnWriteMap.entrySet()) {
+            blackhole.consume(entry);
+        }
+    }
+}
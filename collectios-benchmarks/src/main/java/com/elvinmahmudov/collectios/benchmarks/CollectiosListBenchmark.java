@@ -0,0 +1,150 @@
+package com.elvinmahmudov.collectios.benchmarks;
+
+import com.elvinmahmudov.collectios.clist.CollectiosList;
+import com.elvinmahmudov.collectios.clist.CollectiosVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of CollectiosList and CollectiosVector against ArrayList and List.copyOf copy-on-write.
+ * ArrayList is changed in place and restored, the copy-on-write lists are copied on every change.
+ *
+ * @author emahmudov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectiosListBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private CollectiosList<Integer> collectiosList;
+    private CollectiosVector<Integer> collectiosVector;
+    private ArrayList<Integer> arrayList;
+    private List<Integer> copyOfList;
+
+    private final Indexes indexes = new Indexes();
+    private final Integer element = -1;
+
+    @Setup
+    public void setUp() {
+        arrayList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            arrayList.add(i);
+        }
+        collectiosList = CollectiosList.of(arrayList);
+        collectiosVector = CollectiosVector.of(arrayList);
+        copyOfList = List.copyOf(arrayList);
+        indexes.fill(size);
+    }
+
+    @Benchmark
+    public Object collectiosListPrepend() {
+        return collectiosList.prepend(element);
+    }
+
+    @Benchmark
+    public Object collectiosVectorAppend() {
+        return collectiosVector.append(element);
+    }
+
+    @Benchmark
+    public Object arrayListPrepend() {
+        arrayList.add(0, element);
+        return arrayList.remove(0);
+    }
+
+    @Benchmark
+    public Object copyOfListPrepend() {
+        List<Integer> copy = new ArrayList<>(size + 1);
+        copy.add(element);
+        copy.addAll(copyOfList);
+        return List.copyOf(copy);
+    }
+
+    @Benchmark
+    public Object collectiosListGet() {
+        return collectiosList.get(indexes.next());
+    }
+
+    @Benchmark
+    public Object collectiosVectorGet() {
+        return collectiosVector.get(indexes.next());
+    }
+
+    @Benchmark
+    public Object arrayListGet() {
+        return arrayList.get(indexes.next());
+    }
+
+    @Benchmark
+    public Object copyOfListGet() {
+        return copyOfList.get(indexes.next());
+    }
+
+    @Benchmark
+    public void collectiosListIterate(Blackhole blackhole) {
+        for (Integer i : collectiosList) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void collectiosVectorIterate(Blackhole blackhole) {
+        for (Integer i : collectiosVector) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void arrayListIterate(Blackhole blackhole) {
+        for (Integer i : arrayList) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void copyOfListIterate(Blackhole blackhole) {
+        for (Integer i : copyOfList) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public Object collectiosListSubCList() {
+        return collectiosList.subCList(size / 4, size / 2);
+    }
+
+    @Benchmark
+    public Object collectiosVectorSubCList() {
+        return collectiosVector.subCList(size / 4, size / 2);
+    }
+
+    @Benchmark
+    public Object arrayListSubList() {
+        return new ArrayList<>(arrayList.subList(size / 4, size / 2));
+    }
+
+    @Benchmark
+    public Object copyOfListSubList() {
+        return List.copyOf(copyOfList.subList(size / 4, size / 2));
+    }
+}
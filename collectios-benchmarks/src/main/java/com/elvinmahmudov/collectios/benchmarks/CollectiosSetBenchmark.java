@@ -0,0 +1,95 @@
+package com.elvinmahmudov.collectios.benchmarks;
+
+import com.elvinmahmudov.collectios.cset.CollectiosSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of CollectiosSet against HashSet and Collections.unmodifiableSet copy-on-write.
+ * HashSet is changed in place and restored, the copy-on-write set is copied on every change.
+ *
+ * @author emahmudov
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectiosSetBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private CollectiosSet<Integer> collectiosSet;
+    private HashSet<Integer> hashSet;
+    private Set<Integer> copyOnWriteSet;
+
+    private Integer[] elements;
+    private Integer[] missingElements;
+
+    private final Indexes indexes = new Indexes();
+
+    @Setup
+    public void setUp() {
+        elements = new Integer[size];
+        missingElements = new Integer[size];
+        hashSet = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            elements[i] = i;
+            missingElements[i] = size + i;
+            hashSet.add(elements[i]);
+        }
+        collectiosSet = CollectiosSet.from(hashSet);
+        copyOnWriteSet = Collections.unmodifiableSet(new HashSet<>(hashSet));
+        indexes.fill(size);
+    }
+
+    @Benchmark
+    public boolean collectiosSetContains() {
+        return collectiosSet.contains(elements[indexes.next()]);
+    }
+
+    @Benchmark
+    public boolean hashSetContains() {
+        return hashSet.contains(elements[indexes.next()]);
+    }
+
+    @Benchmark
+    public boolean copyOnWriteSetContains() {
+        return copyOnWriteSet.contains(elements[indexes.next()]);
+    }
+
+    @Benchmark
+    public Object collectiosSetPrepend() {
+        return collectiosSet.prepend(missingElements[indexes.next()]);
+    }
+
+    @Benchmark
+    public boolean hashSetPrepend() {
+        Integer element = missingElements[indexes.next()];
+        hashSet.add(element);
+        return hashSet.remove(element);
+    }
+
+    @Benchmark
+    public Object copyOnWriteSetPrepend() {
+        Set<Integer> copy = new HashSet<>(copyOnWriteSet);
+        copy.add(missingElements[indexes.next()]);
+        return Collections.unmodifiableSet(copy);
+    }
+}
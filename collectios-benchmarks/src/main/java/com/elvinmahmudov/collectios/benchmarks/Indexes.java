@@ -0,0 +1,29 @@
+package com.elvinmahmudov.collectios.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Pre-generated random indexes, so that the benchmarks do not measure the random generator
+ *
+ * @author emahmudov
+ */
+final class Indexes {
+
+    private static final int COUNT = 1 << 12;
+    private static final long SEED = 42;
+
+    private final int[] indexes = new int[COUNT];
+    private int position;
+
+    void fill(final int bound) {
+        Random random = new Random(SEED);
+        for (int i = 0; i < COUNT; i++) {
+            indexes[i] = random.nextInt(bound);
+        }
+    }
+
+    int next() {
+        position = (position + 1) & (COUNT - 1);
+        return indexes[position];
+    }
+}
@@ -0,0 +1,44 @@
+package com.elvinmahmudov.collectios.clist;
+
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable list of primitive ints, it mirrors CList without boxing the items
+ */
+public interface CIntList {
+
+    int get(int index);
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean contains(int e);
+
+    int indexOf(int e);
+
+    CIntList prepend(int e);
+
+    CIntList prependAll(int... items);
+
+    CIntList prependTo(int i, int e);
+
+    CIntList append(int e);
+
+    CIntList update(int i, int e);
+
+    CIntList deleteValue(int e);
+
+    CIntList delete(int i);
+
+    CIntList subCList(int start, int end);
+
+    CIntList subCList(int start);
+
+    int[] toArray();
+
+    PrimitiveIterator.OfInt iterator();
+
+    IntStream stream();
+}
@@ -1,6 +1,10 @@
 package com.elvinmahmudov.collectios.clist;
 
+import java.util.AbstractMap;
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 
 public interface CList<E> extends Collectios<E>, java.util.List<E> {
@@ -13,6 +17,10 @@ public interface CList<E> extends Collectios<E>, java.util.List<E> {
 
     CList<E> prependAll(int i, Collection<? extends E> list);
 
+    CList<E> append(E e);
+
+    CList<E> update(int i, E e);
+
     CList<E> delete(E e);
 
     CList<E> deleteAll(Collection<? extends E> list);
@@ -22,4 +30,50 @@ public interface CList<E> extends Collectios<E>, java.util.List<E> {
     CList<E> subCList(int start, int end);
 
     CList<E> subCList(int start);
+
+    CList<E> concat(Collection<? extends E> list);
+
+    /**
+     * Method to split the list at the index, it takes O(log n) for vectors and O(index) for lists
+     *
+     * @param index
+     * @return entry of the items before the index and the items from the index
+     */
+    default Map.Entry<CList<E>, CList<E>> splitAt(final int index) {
+        return new AbstractMap.SimpleImmutableEntry<>(subCList(0, index), subCList(index));
+    }
+
+    TransientCList<E> toTransient();
+
+    /**
+     * Lazy view of the items transformed by the mapper, see {@link ListView}
+     *
+     * @param mapper
+     * @param <R>
+     * @return ListView
+     */
+    default <R> ListView<R> mapLazy(final Function<? super E, ? extends R> mapper) {
+        return ListView.map(this, mapper);
+    }
+
+    /**
+     * Lazy view of the items accepted by the predicate, see {@link ListView}
+     *
+     * @param predicate
+     * @return ListView
+     */
+    default ListView<E> filterLazy(final Predicate<? super E> predicate) {
+        return ListView.filter(this, predicate);
+    }
+
+    /**
+     * Lazy view of the items of the iterables made by the mapper, see {@link ListView}
+     *
+     * @param mapper
+     * @param <R>
+     * @return ListView
+     */
+    default <R> ListView<R> flatMapLazy(final Function<? super E, ? extends Iterable<? extends R>> mapper) {
+        return ListView.flatMap(this, mapper);
+    }
 }
@@ -0,0 +1,44 @@
+package com.elvinmahmudov.collectios.clist;
+
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable list of primitive longs, it mirrors CList without boxing the items
+ */
+public interface CLongList {
+
+    long get(int index);
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean contains(long e);
+
+    int indexOf(long e);
+
+    CLongList prepend(long e);
+
+    CLongList prependAll(long... items);
+
+    CLongList prependTo(int i, long e);
+
+    CLongList append(long e);
+
+    CLongList update(int i, long e);
+
+    CLongList deleteValue(long e);
+
+    CLongList delete(int i);
+
+    CLongList subCList(int start, int end);
+
+    CLongList subCList(int start);
+
+    long[] toArray();
+
+    PrimitiveIterator.OfLong iterator();
+
+    LongStream stream();
+}
@@ -1,17 +1,36 @@
 package com.elvinmahmudov.collectios.clist;
 
+import java.util.Arrays;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 
 import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
 
+/**
+ * List iterator of CollectiosList. Going forward allocates nothing, the first previous() call
+ * puts the cells before the cursor on a stack and from then on the cells passed by next() are kept
+ * on it too, so every following previous() steps back in O(1)
+ *
+ * @param <I> Item
+ * @author emahmudov
+ */
 public class CollectioListIterator<I> implements ListIterator<I> {
 
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final CollectiosList<I> list;
     private int index;
     private CollectiosList<I> restItems;
 
-    public CollectioListIterator(int index, CollectiosList<I> restItems) {
+    /**
+     * Cells before the cursor, the one at index - 1 is the last one, null until previous() is called
+     */
+    private Object[] visited;
+
+    public CollectioListIterator(final CollectiosList<I> list, final int index) {
+        this.list = list;
         this.index = index;
-        this.restItems = restItems;
+        this.restItems = list.subCList(index);
     }
 
     public boolean hasNext() {
@@ -31,13 +50,37 @@ public class CollectioListIterator<I> implements ListIterator<I> {
     }
 
     public I next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (visited != null) {
+            if (index == visited.length) {
+                visited = Arrays.copyOf(visited, index << 1);
+            }
+            visited[index] = restItems;
+        }
         I i = restItems.getFirstItem();
         restItems = restItems.getRestItems();
+        index++;
         return i;
     }
 
+    @SuppressWarnings("unchecked")
     public I previous() {
-        restItems = restItems.subCList(index - 1);
+        if (!hasPrevious()) {
+            throw new NoSuchElementException();
+        }
+        if (visited == null) {
+            visited = new Object[Math.max(index, INITIAL_CAPACITY)];
+            CollectiosList<I> cell = list;
+            for (int i = 0; i < index; i++) {
+                visited[i] = cell;
+                cell = cell.getRestItems();
+            }
+        }
+        index--;
+        restItems = (CollectiosList<I>) visited[index];
+        visited[index] = null;
         return restItems.getFirstItem();
     }
 
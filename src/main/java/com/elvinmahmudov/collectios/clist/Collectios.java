@@ -1,6 +1,7 @@
 package com.elvinmahmudov.collectios.clist;
 
 import java.util.Collection;
+import java.util.function.BiFunction;
 
 
 public interface Collectios<E> extends Collection<E> {
@@ -16,4 +17,30 @@ public interface Collectios<E> extends Collection<E> {
     Collectios<E> deleteAll(Collection<? extends E> list);
 
     Collectios<E> subCList(int start, int end);
+
+    /**
+     * Method to fold the items in the order of the iteration, starting from the identity
+     *
+     * @param identity
+     * @param folder
+     * @param <R>
+     * @return the result after the last item
+     */
+    default <R> R fold(final R identity, final BiFunction<R, ? super E, R> folder) {
+        R result = identity;
+        for (E e : this) {
+            result = folder.apply(result, e);
+        }
+        return result;
+    }
+
+    /**
+     * Method to get the collection whose nodes are shared with all the equal collections interned before,
+     * collections without an interning pool return themselves
+     *
+     * @return Collectios
+     */
+    default Collectios<E> intern() {
+        return this;
+    }
 }
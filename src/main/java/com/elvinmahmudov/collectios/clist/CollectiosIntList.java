@@ -0,0 +1,292 @@
+package com.elvinmahmudov.collectios.clist;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.BITS;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * This class is analogue for CollectiosVector with primitive int items.
+ * It has the same 32-way trie with a tail buffer, see {@link PrimitiveList}, but the leaves are int arrays,
+ * so the items are never boxed and a leaf takes 128 bytes instead of 32 references.
+ * Like for the vector appends and updates copy O(1) nodes, insertions and deletions at any index copy O(log n).
+ *
+ * @author emahmudov
+ */
+public final class CollectiosIntList extends PrimitiveList<int[], CollectiosIntList> implements CIntList {
+
+    private static final int[] EMPTY_TAIL = new int[0];
+
+    private static final CollectiosIntList EMPTY =
+            new CollectiosIntList(ZERO, BITS, VectorNode.EMPTY_NODE, EMPTY_TAIL);
+
+    private CollectiosIntList(final int length, final int shift, final VectorNode root, final int[] tail) {
+        super(length, shift, root, tail);
+    }
+
+    /**
+     * Method to get empty instance
+     *
+     * @return CollectiosIntList
+     */
+    public static CollectiosIntList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Method for creating the list from the items
+     *
+     * @param items
+     * @return CollectiosIntList
+     */
+    public static CollectiosIntList of(final int... items) {
+        return EMPTY.fromArray(items.clone(), items.length);
+    }
+
+    @Override
+    CollectiosIntList list(final int length, final int shift, final VectorNode root, final int[] tail) {
+        if (length == ZERO) {
+            return EMPTY;
+        }
+        return new CollectiosIntList(length, shift, root, tail);
+    }
+
+    @Override
+    int[] newArray(final int length) {
+        return length == ZERO ? EMPTY_TAIL : new int[length];
+    }
+
+    @Override
+    long itemAt(final int[] array, final int index) {
+        return array[index];
+    }
+
+    @Override
+    void setItem(final int[] array, final int index, final long item) {
+        array[index] = (int) item;
+    }
+
+    @Override
+    int hashOf(final long item) {
+        return Integer.hashCode((int) item);
+    }
+
+    @Override
+    int[] itemsOf(final Object o) {
+        if (o instanceof CollectiosIntList) {
+            return ((CollectiosIntList) o).items();
+        }
+        return o instanceof CIntList ? ((CIntList) o).toArray() : null;
+    }
+
+    /**
+     * Method to get item by index
+     *
+     * @param index
+     * @return int
+     */
+    @Override
+    public int get(final int index) {
+        checkIndex(index);
+        return arrayFor(index)[leafOffset(index)];
+    }
+
+    @Override
+    public boolean contains(final int e) {
+        return indexOfItem(e) != -1;
+    }
+
+    /**
+     * Method to find the first occurrence of the item
+     *
+     * @param e
+     * @return index or -1
+     */
+    @Override
+    public int indexOf(final int e) {
+        return indexOfItem(e);
+    }
+
+    /**
+     * Method to prepend an item to the list in O(log n)
+     *
+     * @param e
+     * @return CollectiosIntList
+     */
+    @Override
+    public CollectiosIntList prepend(final int e) {
+        return insertedAt(ZERO, e);
+    }
+
+    /**
+     * Method to prepend multiple items to the list, like for CList every item is prepended in turn
+     *
+     * @param items
+     * @return CollectiosIntList
+     */
+    @Override
+    public CollectiosIntList prependAll(final int... items) {
+        if (items.length == ZERO) {
+            return this;
+        }
+        return prependedAll(items, items.length);
+    }
+
+    /**
+     * Method to prepend one item to the index of the list in O(log n)
+     *
+     * @param index
+     * @param e
+     * @return CollectiosIntList
+     */
+    @Override
+    public CollectiosIntList prependTo(final int index, final int e) {
+        return insertedAt(index, e);
+    }
+
+    /**
+     * Method to append an item to the end of the list
+     *
+     * @param e
+     * @return CollectiosIntList
+     */
+    @Override
+    public CollectiosIntList append(final int e) {
+        return appended(e);
+    }
+
+    /**
+     * Method to replace the item with the index
+     *
+     * @param index
+     * @param e
+     * @return CollectiosIntList
+     */
+    @Override
+    public CollectiosIntList update(final int index, final int e) {
+        return updatedAt(index, e);
+    }
+
+    /**
+     * Method to delete the first occurrence of the item from the list
+     *
+     * @param e
+     * @return CollectiosIntList
+     */
+    @Override
+    public CollectiosIntList deleteValue(final int e) {
+        return deletedValue(e);
+    }
+
+    /**
+     * Method to delete item by index in O(log n)
+     *
+     * @param index
+     * @return CollectiosIntList
+     */
+    @Override
+    public CollectiosIntList delete(final int index) {
+        return deletedAt(index);
+    }
+
+    /**
+     * Method to create a sub list in O(log n)
+     *
+     * @param fromIndex
+     * @param toIndex
+     * @return CollectiosIntList
+     */
+    @Override
+    public CollectiosIntList subCList(final int fromIndex, final int toIndex) {
+        return sliced(fromIndex, toIndex);
+    }
+
+    /**
+     * Method to create a sub list starting from index
+     *
+     * @param fromIndex
+     * @return CollectiosIntList
+     */
+    @Override
+    public CollectiosIntList subCList(final int fromIndex) {
+        return sliced(fromIndex, length);
+    }
+
+    @Override
+    public int[] toArray() {
+        return items();
+    }
+
+    /**
+     * Method to iterate the list leaf by leaf without boxing the items
+     *
+     * @return PrimitiveIterator.OfInt
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new ListIterator();
+    }
+
+    /**
+     * Method to get a spliterator splitting the index range in halves
+     *
+     * @return Spliterator.OfInt
+     */
+    public Spliterator.OfInt spliterator() {
+        return new ListSpliterator(ZERO, length);
+    }
+
+    @Override
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    private final class ListIterator extends Cursor implements PrimitiveIterator.OfInt {
+
+        ListIterator() {
+            super(ZERO, length);
+        }
+
+        @Override
+        public int nextInt() {
+            int offset = advance();
+            return array[offset];
+        }
+    }
+
+    private final class ListSpliterator extends Cursor implements Spliterator.OfInt {
+
+        ListSpliterator(final int index, final int end) {
+            super(index, end);
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            if (!hasNext()) {
+                return false;
+            }
+            int offset = advance();
+            action.accept(array[offset]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+            while (hasNext()) {
+                int offset = advance();
+                action.accept(array[offset]);
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int start = split();
+            return start == -1 ? null : new ListSpliterator(start, index);
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package com.elvinmahmudov.collectios.clist;
 
+import com.elvinmahmudov.collectios.codec.Codec;
+import com.elvinmahmudov.collectios.codec.CollectiosExternalizable;
+import com.elvinmahmudov.collectios.codec.NodeInput;
+import com.elvinmahmudov.collectios.codec.NodeOutput;
+import com.elvinmahmudov.collectios.intern.Interner;
 import com.elvinmahmudov.collectios.exception.DoubleInitializationException;
-import com.elvinmahmudov.collectios.exception.EmptyObjectException;
+import com.elvinmahmudov.collectios.metrics.CollectiosMetrics;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.AbstractSequentialList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 import static com.elvinmahmudov.collectios.enums.Constants.ONE;
 import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
@@ -17,9 +29,18 @@ import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
  *
  * @author emahmudov
  */
-public final class CollectiosList<I> extends AbstractSequentialList<I> implements CList<I> {
+public final class CollectiosList<I> extends AbstractSequentialList<I> implements CList<I>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private static final CollectiosList<Object> SINGLE_INSTANCE = new CollectiosList<>();
 
+    /**
+     * Interned cells, see {@link #intern()}
+     */
+    private static final Interner<CollectiosList<?>> POOL = new Interner<>(CollectiosList::hashCode,
+            (x, y) -> x.length == y.length && x.restItems == y.restItems && Objects.equals(x.firstItem, y.firstItem));
+
     /**
      * First item in the list
      */
@@ -35,6 +56,11 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
      */
     private final int length;
 
+    /**
+     * Hash code of the list, 0 until it is computed
+     */
+    private int hashCode;
+
     /**
      * Private constructor which is used for empty singleton
      */
@@ -72,22 +98,42 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
             return (CollectiosList<I>) list;
         }
 
-        return of(list.iterator());
+        return new TransientList<I>(list).persistent();
     }
 
     /**
-     * Method for converting iterators to collectio lists
+     * Method to link the first n items of the array in front of the rest,
+     * the rest is shared by the new list
      *
-     * @param i
+     * @param items
+     * @param n
+     * @param rest
      * @param <I>
      * @return CollectiosList
      */
-    private static <I> CollectiosList<I> of(final Iterator<? extends I> i) {
-        if (!i.hasNext()) {
-            return empty();
+    @SuppressWarnings("unchecked")
+    static <I> CollectiosList<I> link(final Object[] items, final int n, final CollectiosList<I> rest) {
+        CollectiosList<I> result = rest;
+        for (int i = n - ONE; i >= ZERO; i--) {
+            result = new CollectiosList<>((I) items[i], result);
+        }
+        return result;
+    }
+
+    /**
+     * Method to copy the first n items of the list to the array
+     *
+     * @param n
+     * @return Object[]
+     */
+    private Object[] prefix(final int n) {
+        Object[] items = new Object[n];
+        CollectiosList<I> rest = this;
+        for (int i = 0; i < n; i++) {
+            items[i] = rest.firstItem;
+            rest = rest.restItems;
         }
-        I e = i.next();
-        return CollectiosList.<I>of(i).prepend(e);
+        return items;
     }
 
     /**
@@ -111,6 +157,16 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
         return (CollectiosList<E>) SINGLE_INSTANCE;
     }
 
+    /**
+     * Method to get an empty transient for building a list
+     *
+     * @param <I>
+     * @return TransientCList
+     */
+    public static <I> TransientCList<I> builder() {
+        return CollectiosList.<I>empty().toTransient();
+    }
+
     /**
      * Method to get the first item of the list
      *
@@ -141,7 +197,46 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
             throw new IndexOutOfBoundsException();
         }
 
-        return new CollectioListIterator<>(index, subCList(index));
+        return new CollectioListIterator<>(this, index);
+    }
+
+    /**
+     * Overridden method to pass every item to the action, the cells are walked without an iterator
+     *
+     * @param action
+     */
+    @Override
+    public void forEach(final Consumer<? super I> action) {
+        for (CollectiosList<I> cell = this; cell.length > ZERO; cell = cell.restItems) {
+            action.accept(cell.firstItem);
+        }
+    }
+
+    /**
+     * Overridden method to fold the items, the cells are walked without an iterator
+     *
+     * @param identity
+     * @param folder
+     * @param <R>
+     * @return the result after the last item
+     */
+    @Override
+    public <R> R fold(final R identity, final BiFunction<R, ? super I, R> folder) {
+        R result = identity;
+        for (CollectiosList<I> cell = this; cell.length > ZERO; cell = cell.restItems) {
+            result = folder.apply(result, cell.firstItem);
+        }
+        return result;
+    }
+
+    /**
+     * Overridden method to get a spliterator splitting the list in halves of exact size
+     *
+     * @return Spliterator
+     */
+    @Override
+    public Spliterator<I> spliterator() {
+        return new ListSpliterator<>(this, length);
     }
 
     /**
@@ -162,6 +257,9 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
      */
     @Override
     public CollectiosList<I> prepend(I i) {
+        if (CollectiosMetrics.ENABLED) {
+            CollectiosMetrics.recordUpdate(CollectiosMetrics.Operation.LIST_PREPEND, ONE, length, length + ONE);
+        }
         return new CollectiosList<>(i, this);
     }
 
@@ -195,7 +293,11 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
         if (index == 0) {
             return prepend(e);
         }
-        return new CollectiosList<>(firstItem, restItems.prependTo(index - 1, e));
+        if (CollectiosMetrics.ENABLED) {
+            CollectiosMetrics.recordUpdate(CollectiosMetrics.Operation.LIST_PREPEND_TO,
+                    index + ONE, length - index, length + ONE);
+        }
+        return link(prefix(index), index, new CollectiosList<>(e, subCList(index)));
     }
 
     /**
@@ -207,16 +309,54 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
      */
     @Override
     public CollectiosList<I> prependAll(int i, Collection<? extends I> list) {
-        if (restItems == null) {
-            throw new EmptyObjectException();
-        }
         if (i < 0 || i > length) {
             throw new IndexOutOfBoundsException();
         }
         if (i == 0) {
             return prependAll(list);
         }
-        return new CollectiosList<>(firstItem, restItems.prependAll(i - 1, list));
+        if (list.isEmpty()) {
+            return this;
+        }
+        return link(prefix(i), i, subCList(i).prependAll(list));
+    }
+
+    /**
+     * Overridden method from CList to append an object to the end of the list
+     *
+     * @param e
+     * @return CollectiosList
+     */
+    @Override
+    public CollectiosList<I> append(I e) {
+        return prependTo(length, e);
+    }
+
+    /**
+     * Overridden method from CList to replace the object with the index,
+     * the rest of the list after the index is shared
+     *
+     * @param index
+     * @param e
+     * @return CollectiosList
+     */
+    @Override
+    public CollectiosList<I> update(int index, I e) {
+        if (index < ZERO || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return link(prefix(index), index, new CollectiosList<>(e, subCList(index + ONE)));
+    }
+
+    /**
+     * Overridden method from CList to get a transient of the list, it does not change this list.
+     * The items are linked into a list in one pass when the transient is made persistent.
+     *
+     * @return TransientCList
+     */
+    @Override
+    public TransientCList<I> toTransient() {
+        return new TransientList<>(this);
     }
 
     /**
@@ -227,18 +367,11 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
      */
     @Override
     public CollectiosList<I> delete(I i) {
-        if (firstItem == null || restItems == null) {
-            throw new EmptyObjectException();
-        }
-        if (firstItem.equals(i)) {
-            return restItems;
-        }
-
-        CollectiosList<I> newRest = restItems.delete(i);
-        if (newRest == restItems) {
+        int index = indexOf(i);
+        if (index == -1) {
             return this;
         }
-        return new CollectiosList<>(firstItem, newRest);
+        return delete(index);
     }
 
     /**
@@ -249,21 +382,22 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
      */
     @Override
     public CollectiosList<I> deleteAll(Collection<? extends I> list) {
-        if (restItems == null) {
-            throw new EmptyObjectException();
+        Object[] items = new Object[length];
+        int n = ZERO;
+        CollectiosList<I> sharedTail = this;
+        int sharedCount = ZERO;
+        for (CollectiosList<I> rest = this; rest.length > ZERO; rest = rest.restItems) {
+            if (list.contains(rest.firstItem)) {
+                sharedTail = rest.restItems;
+                sharedCount = n;
+            } else {
+                items[n++] = rest.firstItem;
+            }
         }
-        if (length == 0) {
+        if (sharedTail == this) {
             return this;
         }
-        if (list.contains(firstItem)) {
-            return restItems.deleteAll(list);
-        }
-
-        CollectiosList<I> newRest = restItems.deleteAll(list);
-        if (newRest == restItems) {
-            return this;
-        }
-        return new CollectiosList<>(firstItem, newRest);
+        return link(items, sharedCount, sharedTail);
     }
 
     /**
@@ -274,7 +408,117 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
      */
     @Override
     public CollectiosList<I> delete(int i) {
-        return delete(get(i));
+        if (i < ZERO || i >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (CollectiosMetrics.ENABLED) {
+            CollectiosMetrics.recordUpdate(CollectiosMetrics.Operation.LIST_DELETE, i, length - i - ONE, length - ONE);
+        }
+        return link(prefix(i), i, subCList(i + ONE));
+    }
+
+    /**
+     * Overridden method to find the first occurrence of the object
+     *
+     * @param o
+     * @return index or -1
+     */
+    @Override
+    public int indexOf(Object o) {
+        int index = ZERO;
+        for (CollectiosList<I> rest = this; rest.length > ZERO; rest = rest.restItems) {
+            if (Objects.equals(o, rest.firstItem)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Overridden method to get the hash code of the list, it is memoized by the list.
+     * Only the items before the first rest list with a known hash code are visited,
+     * so a list made by prepending items to a hashed list costs only the new items.
+     *
+     * @return int
+     */
+    @Override
+    public int hashCode() {
+        int h = hashCode;
+        if (h == ZERO) {
+            int items = ZERO;
+            CollectiosList<I> rest = this;
+            while (rest.length > ZERO && rest.hashCode == ZERO) {
+                items = 31 * items + Objects.hashCode(rest.firstItem);
+                rest = rest.restItems;
+            }
+            int power = ListHash.power(rest.length);
+            int restHash = rest.length == ZERO ? ONE : rest.hashCode;
+            h = ListHash.power(length) + items * power + restHash - power;
+            hashCode = h;
+        }
+        return h;
+    }
+
+    /**
+     * Overridden method to get the list whose cells are interned in a weak global pool, the cells are interned
+     * from the end, so every interned list shares the cells of its longest suffix with the lists interned before
+     * and equal lists are one object. A cell is found by its memoized hash code and compared by its item
+     * and the identity of its rest.
+     *
+     * @return CollectiosList
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public CollectiosList<I> intern() {
+        Object[] cells = new Object[length];
+        CollectiosList<I> cell = this;
+        for (int i = 0; i < length; i++) {
+            cells[i] = cell;
+            cell = cell.restItems;
+        }
+        CollectiosList<I> rest = empty();
+        for (int i = length - ONE; i >= ZERO; i--) {
+            cell = (CollectiosList<I>) cells[i];
+            if (cell.restItems != rest) {
+                cell = new CollectiosList<>(cell.firstItem, rest);
+            }
+            cell.hashCode();
+            rest = (CollectiosList<I>) POOL.intern(cell);
+        }
+        return rest;
+    }
+
+    /**
+     * Overridden method to compare the list with the other one, two collectio lists are compared
+     * cell by cell until they share the rest of the list
+     *
+     * @param o
+     * @return boolean
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CollectiosList)) {
+            return super.equals(o);
+        }
+        CollectiosList<?> other = (CollectiosList<?>) o;
+        if (length != other.length
+                || (hashCode != ZERO && other.hashCode != ZERO && hashCode != other.hashCode)) {
+            return false;
+        }
+        CollectiosList<?> x = this;
+        CollectiosList<?> y = other;
+        while (x != y && x.length > ZERO) {
+            if (!Objects.equals(x.firstItem, y.firstItem)) {
+                return false;
+            }
+            x = x.restItems;
+            y = y.restItems;
+        }
+        return true;
     }
 
     /**
@@ -294,15 +538,11 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
             return empty();
         }
 
+        CollectiosList<I> rest = subCList(fromIndex);
         if (toIndex == length) {
-            return subCList(fromIndex);
+            return rest;
         }
-
-        if (restItems != null && fromIndex == ZERO) {
-            return new CollectiosList<>(firstItem, restItems.subCList(ZERO, toIndex - ONE));
-        }
-
-        return restItems.subCList(fromIndex - 1, toIndex - 1);
+        return link(rest.prefix(toIndex - fromIndex), toIndex - fromIndex, empty());
     }
 
     /**
@@ -313,16 +553,168 @@ public final class CollectiosList<I> extends AbstractSequentialList<I> implement
      */
     @Override
     public CollectiosList<I> subCList(int fromIndex) {
-        if (restItems == null) {
-            throw new EmptyObjectException();
-        }
         if (fromIndex < 0 || fromIndex > length) {
             throw new IndexOutOfBoundsException();
         }
-        if (fromIndex == 0) {
+        CollectiosList<I> rest = this;
+        for (int i = 0; i < fromIndex; i++) {
+            rest = rest.restItems;
+        }
+        return rest;
+    }
+
+    /**
+     * Overridden method from CList to concatenate the list with the collection. The cells of this list
+     * are copied in front of the other one, which is shared when it is a collectio list,
+     * so it takes O(n) for the n items of this list
+     *
+     * @param list
+     * @return CollectiosList
+     */
+    @Override
+    public CollectiosList<I> concat(final Collection<? extends I> list) {
+        if (list.isEmpty()) {
             return this;
         }
-        return restItems.subCList(fromIndex - 1);
+        return link(prefix(length), length, of(list));
+    }
+
+    /**
+     * Method to write the list to the node output. The cells in front of the first cell written to it before
+     * are written in full and the rest of the list as a reference, so a list made by prepending items
+     * to a written list costs only the new items.
+     *
+     * @param out
+     * @param codec
+     * @throws IOException
+     */
+    public void write(final NodeOutput out, final Codec<? super I> codec) throws IOException {
+        if (out.writeReference(this)) {
+            return;
+        }
+        if (length == ZERO) {
+            out.writeSize(ZERO);
+            out.register(this);
+            return;
+        }
+
+        int n = ZERO;
+        CollectiosList<I> rest = this;
+        do {
+            n++;
+            rest = rest.restItems;
+        } while (rest.length > ZERO && !out.isWritten(rest));
+
+        Object[] cells = new Object[n];
+        out.writeSize(n);
+        rest = this;
+        for (int i = 0; i < n; i++) {
+            cells[i] = rest;
+            codec.encode(rest.firstItem, out.data());
+            rest = rest.restItems;
+        }
+        rest.write(out, codec);
+        for (int i = n - ONE; i >= ZERO; i--) {
+            out.register(cells[i]);
+        }
+    }
+
+    /**
+     * Method to read the list written by {@link #write}
+     *
+     * @param in
+     * @param codec
+     * @param <I>
+     * @return CollectiosList
+     * @throws IOException
+     */
+    @SuppressWarnings("unchecked")
+    public static <I> CollectiosList<I> read(final NodeInput in, final Codec<I> codec) throws IOException {
+        Object reference = in.readReference();
+        if (reference != null) {
+            return (CollectiosList<I>) reference;
+        }
+        int n = in.readSize();
+        if (n == ZERO) {
+            in.register(empty());
+            return empty();
+        }
+
+        Object[] items = new Object[n];
+        for (int i = 0; i < n; i++) {
+            items[i] = codec.decode(in.data());
+        }
+        CollectiosList<I> result = read(in, codec);
+        for (int i = n - ONE; i >= ZERO; i--) {
+            result = new CollectiosList<>((I) items[i], result);
+            in.register(result);
+        }
+        return result;
+    }
+
+    private Object writeReplace() {
+        return new CollectiosExternalizable(this);
+    }
+
+    private void readObject(final ObjectInputStream stream) throws InvalidObjectException {
+        throw new InvalidObjectException("CollectiosList is serialized by CollectiosExternalizable");
+    }
+
+    /**
+     * Spliterator over the first count items of the list, the prefix is split off by walking half of the cells
+     */
+    private static final class ListSpliterator<I> implements Spliterator<I> {
+
+        private CollectiosList<I> list;
+        private int count;
+
+        ListSpliterator(final CollectiosList<I> list, final int count) {
+            this.list = list;
+            this.count = count;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super I> action) {
+            if (count == ZERO) {
+                return false;
+            }
+            action.accept(list.firstItem);
+            list = list.restItems;
+            count--;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super I> action) {
+            for (; count > ZERO; count--) {
+                action.accept(list.firstItem);
+                list = list.restItems;
+            }
+        }
+
+        @Override
+        public Spliterator<I> trySplit() {
+            if (count < 2) {
+                return null;
+            }
+            int half = count >>> ONE;
+            ListSpliterator<I> prefix = new ListSpliterator<>(list, half);
+            for (int i = 0; i < half; i++) {
+                list = list.restItems;
+            }
+            count -= half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return count;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+        }
     }
 }
 
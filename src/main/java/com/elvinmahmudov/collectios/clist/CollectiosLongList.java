@@ -0,0 +1,292 @@
+package com.elvinmahmudov.collectios.clist;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.BITS;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * This class is analogue for CollectiosVector with primitive long items.
+ * It has the same 32-way trie with a tail buffer, see {@link PrimitiveList}, but the leaves are long arrays,
+ * so the items are never boxed and a leaf takes 256 bytes instead of 32 references.
+ * Like for the vector appends and updates copy O(1) nodes, insertions and deletions at any index copy O(log n).
+ *
+ * @author emahmudov
+ */
+public final class CollectiosLongList extends PrimitiveList<long[], CollectiosLongList> implements CLongList {
+
+    private static final long[] EMPTY_TAIL = new long[0];
+
+    private static final CollectiosLongList EMPTY =
+            new CollectiosLongList(ZERO, BITS, VectorNode.EMPTY_NODE, EMPTY_TAIL);
+
+    private CollectiosLongList(final int length, final int shift, final VectorNode root, final long[] tail) {
+        super(length, shift, root, tail);
+    }
+
+    /**
+     * Method to get empty instance
+     *
+     * @return CollectiosLongList
+     */
+    public static CollectiosLongList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Method for creating the list from the items
+     *
+     * @param items
+     * @return CollectiosLongList
+     */
+    public static CollectiosLongList of(final long... items) {
+        return EMPTY.fromArray(items.clone(), items.length);
+    }
+
+    @Override
+    CollectiosLongList list(final int length, final int shift, final VectorNode root, final long[] tail) {
+        if (length == ZERO) {
+            return EMPTY;
+        }
+        return new CollectiosLongList(length, shift, root, tail);
+    }
+
+    @Override
+    long[] newArray(final int length) {
+        return length == ZERO ? EMPTY_TAIL : new long[length];
+    }
+
+    @Override
+    long itemAt(final long[] array, final int index) {
+        return array[index];
+    }
+
+    @Override
+    void setItem(final long[] array, final int index, final long item) {
+        array[index] = item;
+    }
+
+    @Override
+    int hashOf(final long item) {
+        return Long.hashCode(item);
+    }
+
+    @Override
+    long[] itemsOf(final Object o) {
+        if (o instanceof CollectiosLongList) {
+            return ((CollectiosLongList) o).items();
+        }
+        return o instanceof CLongList ? ((CLongList) o).toArray() : null;
+    }
+
+    /**
+     * Method to get item by index
+     *
+     * @param index
+     * @return long
+     */
+    @Override
+    public long get(final int index) {
+        checkIndex(index);
+        return arrayFor(index)[leafOffset(index)];
+    }
+
+    @Override
+    public boolean contains(final long e) {
+        return indexOfItem(e) != -1;
+    }
+
+    /**
+     * Method to find the first occurrence of the item
+     *
+     * @param e
+     * @return index or -1
+     */
+    @Override
+    public int indexOf(final long e) {
+        return indexOfItem(e);
+    }
+
+    /**
+     * Method to prepend an item to the list in O(log n)
+     *
+     * @param e
+     * @return CollectiosLongList
+     */
+    @Override
+    public CollectiosLongList prepend(final long e) {
+        return insertedAt(ZERO, e);
+    }
+
+    /**
+     * Method to prepend multiple items to the list, like for CList every item is prepended in turn
+     *
+     * @param items
+     * @return CollectiosLongList
+     */
+    @Override
+    public CollectiosLongList prependAll(final long... items) {
+        if (items.length == ZERO) {
+            return this;
+        }
+        return prependedAll(items, items.length);
+    }
+
+    /**
+     * Method to prepend one item to the index of the list in O(log n)
+     *
+     * @param index
+     * @param e
+     * @return CollectiosLongList
+     */
+    @Override
+    public CollectiosLongList prependTo(final int index, final long e) {
+        return insertedAt(index, e);
+    }
+
+    /**
+     * Method to append an item to the end of the list
+     *
+     * @param e
+     * @return CollectiosLongList
+     */
+    @Override
+    public CollectiosLongList append(final long e) {
+        return appended(e);
+    }
+
+    /**
+     * Method to replace the item with the index
+     *
+     * @param index
+     * @param e
+     * @return CollectiosLongList
+     */
+    @Override
+    public CollectiosLongList update(final int index, final long e) {
+        return updatedAt(index, e);
+    }
+
+    /**
+     * Method to delete the first occurrence of the item from the list
+     *
+     * @param e
+     * @return CollectiosLongList
+     */
+    @Override
+    public CollectiosLongList deleteValue(final long e) {
+        return deletedValue(e);
+    }
+
+    /**
+     * Method to delete item by index in O(log n)
+     *
+     * @param index
+     * @return CollectiosLongList
+     */
+    @Override
+    public CollectiosLongList delete(final int index) {
+        return deletedAt(index);
+    }
+
+    /**
+     * Method to create a sub list in O(log n)
+     *
+     * @param fromIndex
+     * @param toIndex
+     * @return CollectiosLongList
+     */
+    @Override
+    public CollectiosLongList subCList(final int fromIndex, final int toIndex) {
+        return sliced(fromIndex, toIndex);
+    }
+
+    /**
+     * Method to create a sub list starting from index
+     *
+     * @param fromIndex
+     * @return CollectiosLongList
+     */
+    @Override
+    public CollectiosLongList subCList(final int fromIndex) {
+        return sliced(fromIndex, length);
+    }
+
+    @Override
+    public long[] toArray() {
+        return items();
+    }
+
+    /**
+     * Method to iterate the list leaf by leaf without boxing the items
+     *
+     * @return PrimitiveIterator.OfLong
+     */
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new ListIterator();
+    }
+
+    /**
+     * Method to get a spliterator splitting the index range in halves
+     *
+     * @return Spliterator.OfLong
+     */
+    public Spliterator.OfLong spliterator() {
+        return new ListSpliterator(ZERO, length);
+    }
+
+    @Override
+    public LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    private final class ListIterator extends Cursor implements PrimitiveIterator.OfLong {
+
+        ListIterator() {
+            super(ZERO, length);
+        }
+
+        @Override
+        public long nextLong() {
+            int offset = advance();
+            return array[offset];
+        }
+    }
+
+    private final class ListSpliterator extends Cursor implements Spliterator.OfLong {
+
+        ListSpliterator(final int index, final int end) {
+            super(index, end);
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            if (!hasNext()) {
+                return false;
+            }
+            int offset = advance();
+            action.accept(array[offset]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final LongConsumer action) {
+            while (hasNext()) {
+                int offset = advance();
+                action.accept(array[offset]);
+            }
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            int start = split();
+            return start == -1 ? null : new ListSpliterator(start, index);
+        }
+    }
+}
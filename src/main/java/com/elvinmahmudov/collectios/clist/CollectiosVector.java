@@ -0,0 +1,1106 @@
+package com.elvinmahmudov.collectios.clist;
+
+import com.elvinmahmudov.collectios.codec.Codec;
+import com.elvinmahmudov.collectios.codec.CollectiosExternalizable;
+import com.elvinmahmudov.collectios.codec.NodeInput;
+import com.elvinmahmudov.collectios.codec.NodeOutput;
+import com.elvinmahmudov.collectios.intern.Interner;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ONE;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * This class is analogue for Java ArrayList, but immutable and consistent.
+ * Items are kept in a 32-way trie with a tail buffer, so indexed read, update and append
+ * take O(log32 n) and every new version shares all untouched nodes with the previous one.
+ * Concatenation and sub vectors take O(log n) too, they leave relaxed nodes in the trie, see {@link VectorTrie}.
+ *
+ * @author emahmudov
+ */
+public final class CollectiosVector<I> extends AbstractList<I> implements CList<I>, RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of index bits consumed by each level of the trie
+     */
+    static final int BITS = 5;
+
+    /**
+     * Width of the nodes
+     */
+    static final int WIDTH = 1 << BITS;
+
+    /**
+     * Mask for one level of the index
+     */
+    static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_TAIL = new Object[0];
+
+    /**
+     * Interned nodes, see {@link #intern()}
+     */
+    private static final Interner<VectorNode> POOL =
+            new Interner<>(node -> 31 * node.hash + node.array.length, CollectiosVector::sameNode);
+
+    private static final CollectiosVector<Object> EMPTY =
+            new CollectiosVector<>(ZERO, BITS, VectorNode.EMPTY_NODE, EMPTY_TAIL);
+
+    /**
+     * Size of the vector
+     */
+    private final int length;
+
+    /**
+     * Shift of the root level
+     */
+    private final int shift;
+
+    /**
+     * Root of the trie holding all the items before the tail
+     */
+    private final VectorNode root;
+
+    /**
+     * Last items of the vector, they are moved to the trie when the tail is full
+     */
+    private final Object[] tail;
+
+    /**
+     * Hash code of the vector, 0 until it is computed
+     */
+    private int hashCode;
+
+    private CollectiosVector(final int length, final int shift, final VectorNode root, final Object[] tail) {
+        this.length = length;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Method to get empty instance
+     *
+     * @param <E>
+     * @return CollectiosVector
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> CollectiosVector<E> empty() {
+        return (CollectiosVector<E>) EMPTY;
+    }
+
+    /**
+     * Primary method for getting the instance
+     *
+     * @param i
+     * @param <I>
+     * @return CollectiosVector
+     */
+    public static <I> CollectiosVector<I> getInstance(final I i) {
+        return CollectiosVector.<I>empty().append(i);
+    }
+
+    /**
+     * Method for converting collections to collectio vectors
+     *
+     * @param list
+     * @param <I>
+     * @return CollectiosVector
+     */
+    @SuppressWarnings("unchecked")
+    public static <I> CollectiosVector<I> of(final Collection<? extends I> list) {
+        if (list instanceof CollectiosVector) {
+            return (CollectiosVector<I>) list;
+        }
+        Object[] items = list.toArray();
+        return fromArray(items, items.length);
+    }
+
+    /**
+     * Method to get an empty transient for building a vector
+     *
+     * @param <I>
+     * @return TransientCList
+     */
+    public static <I> TransientCList<I> builder() {
+        return CollectiosVector.<I>empty().toTransient();
+    }
+
+    /**
+     * Method to create the vector from the trie
+     *
+     * @return CollectiosVector
+     */
+    static <I> CollectiosVector<I> of(final int length, final int shift, final VectorNode root, final Object[] tail) {
+        if (length == ZERO) {
+            return empty();
+        }
+        return new CollectiosVector<>(length, shift, root, tail);
+    }
+
+    /**
+     * Method to build the trie bottom up from the first n items of the array
+     *
+     * @param items
+     * @param n
+     * @param <I>
+     * @return CollectiosVector
+     */
+    static <I> CollectiosVector<I> fromArray(final Object[] items, final int n) {
+        if (n == ZERO) {
+            return empty();
+        }
+
+        int tailOffset = tailOffset(n);
+        Object[] tail = Arrays.copyOfRange(items, tailOffset, n);
+        if (tailOffset == ZERO) {
+            return new CollectiosVector<>(n, BITS, VectorNode.EMPTY_NODE, tail);
+        }
+
+        int count = tailOffset >>> BITS;
+        Object[] level = new Object[count];
+        for (int i = 0; i < count; i++) {
+            level[i] = new VectorNode(Arrays.copyOfRange(items, i << BITS, (i + 1) << BITS));
+        }
+
+        int shift = BITS;
+        while (count > WIDTH) {
+            int parents = (count + MASK) >>> BITS;
+            Object[] upper = new Object[parents];
+            for (int i = 0; i < parents; i++) {
+                upper[i] = new VectorNode(Arrays.copyOfRange(level, i << BITS, Math.min(count, (i + 1) << BITS)));
+            }
+            level = upper;
+            count = parents;
+            shift += BITS;
+        }
+
+        return new CollectiosVector<>(n, shift, new VectorNode(level), tail);
+    }
+
+    private static int tailOffset(final int length) {
+        if (length < WIDTH) {
+            return ZERO;
+        }
+        return ((length - ONE) >>> BITS) << BITS;
+    }
+
+    private int tailOffset() {
+        return length - tail.length;
+    }
+
+    /**
+     * Method to create the vector from the trie made by concatenation or slicing,
+     * the root levels with one sub node are dropped
+     *
+     * @return CollectiosVector
+     */
+    private static <I> CollectiosVector<I> relaxed(final int length, final int shift, final VectorNode root,
+                                                   final Object[] tail) {
+        if (root.array.length == ZERO) {
+            return new CollectiosVector<>(length, BITS, VectorNode.EMPTY_NODE, tail);
+        }
+        VectorNode node = root;
+        int level = shift;
+        while (level > BITS && node.array.length == ONE) {
+            node = (VectorNode) node.array[ZERO];
+            level -= BITS;
+        }
+        return new CollectiosVector<>(length, level, node, tail);
+    }
+
+    /**
+     * Method to get the leaf array holding the item with the index
+     *
+     * @param index
+     * @return Object[]
+     */
+    private Object[] arrayFor(final int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        VectorNode node = root;
+        int i = index;
+        for (int level = shift; level > ZERO; level -= BITS) {
+            int slot = VectorTrie.slot(node, level, i);
+            i -= VectorTrie.before(node, level, slot);
+            node = (VectorNode) node.array[slot];
+        }
+        return node.array;
+    }
+
+    /**
+     * Method to get the index of the item in its leaf array
+     *
+     * @param index
+     * @return int
+     */
+    private int leafOffset(final int index) {
+        int tailOffset = tailOffset();
+        if (index >= tailOffset) {
+            return index - tailOffset;
+        }
+        if (root.sizes == null) {
+            return index & MASK;
+        }
+        VectorNode node = root;
+        int i = index;
+        for (int level = shift; level > ZERO; level -= BITS) {
+            int slot = VectorTrie.slot(node, level, i);
+            i -= VectorTrie.before(node, level, slot);
+            node = (VectorNode) node.array[slot];
+        }
+        return i;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < ZERO || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Overridden method from AbstractList to get item by index
+     *
+     * @param index
+     * @return I
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public I get(final int index) {
+        checkIndex(index);
+        return (I) arrayFor(index)[leafOffset(index)];
+    }
+
+    /**
+     * Overridden method from AbstractCollection to get size of the vector
+     *
+     * @return int
+     */
+    @Override
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Overridden method to iterate the vector leaf by leaf
+     *
+     * @return Iterator
+     */
+    @Override
+    public Iterator<I> iterator() {
+        return new Iterator<I>() {
+            private int index = ZERO;
+            private Object[] array = length > ZERO ? arrayFor(ZERO) : EMPTY_TAIL;
+            private int offset = ZERO;
+
+            @Override
+            public boolean hasNext() {
+                return index < length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public I next() {
+                if (index >= length) {
+                    throw new NoSuchElementException();
+                }
+                if (offset == array.length) {
+                    array = arrayFor(index);
+                    offset = ZERO;
+                }
+                index++;
+                return (I) array[offset++];
+            }
+        };
+    }
+
+    /**
+     * Overridden method to pass every item to the action, the trie is walked node by node and then the tail
+     *
+     * @param action
+     */
+    @Override
+    public void forEach(final Consumer<? super I> action) {
+        if (tailOffset() > ZERO) {
+            forEach(root, shift, action);
+        }
+        for (Object i : tail) {
+            action.accept(CollectiosVector.<I>item(i));
+        }
+    }
+
+    private static <I> void forEach(final VectorNode node, final int level, final Consumer<? super I> action) {
+        for (Object o : node.array) {
+            if (level == ZERO) {
+                action.accept(CollectiosVector.<I>item(o));
+            } else {
+                forEach((VectorNode) o, level - BITS, action);
+            }
+        }
+    }
+
+    /**
+     * Overridden method to fold the items, the trie is walked node by node and then the tail
+     *
+     * @param identity
+     * @param folder
+     * @param <R>
+     * @return the result after the last item
+     */
+    @Override
+    public <R> R fold(final R identity, final BiFunction<R, ? super I, R> folder) {
+        R result = tailOffset() > ZERO ? fold(root, shift, identity, folder) : identity;
+        for (Object i : tail) {
+            result = folder.apply(result, CollectiosVector.<I>item(i));
+        }
+        return result;
+    }
+
+    private static <I, R> R fold(final VectorNode node, final int level, final R identity,
+                                 final BiFunction<R, ? super I, R> folder) {
+        R result = identity;
+        for (Object o : node.array) {
+            if (level == ZERO) {
+                result = folder.apply(result, CollectiosVector.<I>item(o));
+            } else {
+                result = fold((VectorNode) o, level - BITS, result, folder);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Overridden method to get a spliterator splitting the index range in halves
+     *
+     * @return Spliterator
+     */
+    @Override
+    public Spliterator<I> spliterator() {
+        return new VectorSpliterator(ZERO, length);
+    }
+
+    /**
+     * Spliterator over an index range of the vector, it is traversed leaf by leaf
+     */
+    private final class VectorSpliterator implements Spliterator<I> {
+
+        private int index;
+        private final int end;
+
+        VectorSpliterator(final int index, final int end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(final Consumer<? super I> action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept((I) arrayFor(index)[leafOffset(index)]);
+            index++;
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(final Consumer<? super I> action) {
+            while (index < end) {
+                Object[] array = arrayFor(index);
+                int start = leafOffset(index);
+                int count = Math.min(array.length - start, end - index);
+                for (int j = start; j < start + count; j++) {
+                    action.accept((I) array[j]);
+                }
+                index += count;
+            }
+        }
+
+        @Override
+        public Spliterator<I> trySplit() {
+            int middle = (index + end) >>> ONE;
+            if (middle == index) {
+                return null;
+            }
+            VectorSpliterator prefix = new VectorSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+        }
+    }
+
+    /**
+     * Overridden method from CList to append an object to the end of the vector
+     *
+     * @param i
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> append(final I i) {
+        if (tail.length < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + ONE);
+            newTail[tail.length] = i;
+            return new CollectiosVector<>(length + ONE, shift, root, newTail);
+        }
+
+        VectorNode tailNode = new VectorNode(tail);
+        if (root.sizes != null) {
+            VectorNode newRoot = VectorTrie.concat(root, shift, VectorTrie.node(new Object[]{tailNode}, BITS), BITS);
+            return relaxed(length + ONE, shift + BITS, newRoot, new Object[]{i});
+        }
+        VectorNode newRoot;
+        int newShift = shift;
+        if ((length >>> BITS) > (ONE << shift)) {
+            newRoot = new VectorNode(new Object[]{root, newPath(shift, tailNode)});
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tailNode);
+        }
+        return new CollectiosVector<>(length + ONE, newShift, newRoot, new Object[]{i});
+    }
+
+    private VectorNode pushTail(final int level, final VectorNode parent, final VectorNode tailNode) {
+        int subIndex = ((length - ONE) >>> level) & MASK;
+        VectorNode nodeToInsert;
+        if (level == BITS) {
+            nodeToInsert = tailNode;
+        } else if (subIndex < parent.array.length) {
+            nodeToInsert = pushTail(level - BITS, (VectorNode) parent.array[subIndex], tailNode);
+        } else {
+            nodeToInsert = newPath(level - BITS, tailNode);
+        }
+
+        Object[] array = Arrays.copyOf(parent.array, Math.max(parent.array.length, subIndex + ONE));
+        array[subIndex] = nodeToInsert;
+        return new VectorNode(array);
+    }
+
+    private static VectorNode newPath(final int level, final VectorNode node) {
+        if (level == ZERO) {
+            return node;
+        }
+        return new VectorNode(new Object[]{newPath(level - BITS, node)});
+    }
+
+    /**
+     * Overridden method from CList to replace the object with the index
+     *
+     * @param index
+     * @param i
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> update(final int index, final I i) {
+        checkIndex(index);
+        int tailOffset = tailOffset();
+        if (index >= tailOffset) {
+            Object[] newTail = tail.clone();
+            newTail[index - tailOffset] = i;
+            return new CollectiosVector<>(length, shift, root, newTail);
+        }
+        return new CollectiosVector<>(length, shift, doUpdate(shift, root, index, i), tail);
+    }
+
+    private static VectorNode doUpdate(final int level, final VectorNode node, final int index, final Object i) {
+        Object[] array = node.array.clone();
+        if (level == ZERO) {
+            array[index] = i;
+        } else {
+            int slot = VectorTrie.slot(node, level, index);
+            array[slot] = doUpdate(level - BITS, (VectorNode) node.array[slot],
+                    index - VectorTrie.before(node, level, slot), i);
+        }
+        return new VectorNode(array, node.sizes);
+    }
+
+    /**
+     * Overridden method from CList to get a transient of the vector, it does not change this vector.
+     * The items of a vector with relaxed nodes are copied to a strict trie first.
+     *
+     * @return TransientCList
+     */
+    @Override
+    public TransientCList<I> toTransient() {
+        if (root.sizes != null) {
+            CollectiosVector<I> strict = fromArray(toArray(), length);
+            return new TransientVector<>(strict.length, strict.shift, strict.root, strict.tail);
+        }
+        return new TransientVector<>(length, shift, root, tail);
+    }
+
+    /**
+     * Method to delete the last object of the vector
+     *
+     * @return CollectiosVector
+     */
+    public CollectiosVector<I> deleteLast() {
+        if (length == ZERO) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == ONE) {
+            return empty();
+        }
+        if (tail.length > ONE) {
+            return new CollectiosVector<>(length - ONE, shift, root, Arrays.copyOf(tail, tail.length - ONE));
+        }
+        if (root.sizes != null) {
+            Object[] newTail = (Object[]) VectorTrie.lastLeaf(root, shift);
+            int rest = length - ONE - newTail.length;
+            return relaxed(length - ONE, shift,
+                    rest == ZERO ? VectorNode.EMPTY_NODE : (VectorNode) VectorTrie.take(root, shift, rest), newTail);
+        }
+
+        Object[] newTail = arrayFor(length - 2);
+        VectorNode newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = VectorNode.EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array.length == ONE) {
+            newRoot = (VectorNode) newRoot.array[ZERO];
+            newShift -= BITS;
+        }
+        return new CollectiosVector<>(length - ONE, newShift, newRoot, newTail);
+    }
+
+    private VectorNode popTail(final int level, final VectorNode node) {
+        int subIndex = ((length - 2) >>> level) & MASK;
+        if (level > BITS) {
+            VectorNode newChild = popTail(level - BITS, (VectorNode) node.array[subIndex]);
+            if (newChild == null && subIndex == ZERO) {
+                return null;
+            }
+            Object[] array = Arrays.copyOf(node.array, newChild == null ? subIndex : subIndex + ONE);
+            if (newChild != null) {
+                array[subIndex] = newChild;
+            }
+            return new VectorNode(array);
+        }
+        if (subIndex == ZERO) {
+            return null;
+        }
+        return new VectorNode(Arrays.copyOf(node.array, subIndex));
+    }
+
+    /**
+     * Overridden method from CList to prepend an object to the vector
+     *
+     * @param i
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> prepend(final I i) {
+        return prependTo(ZERO, i);
+    }
+
+    /**
+     * Overridden method from CList to prepend multiple objects to the vector,
+     * like for CollectiosList every object is prepended in turn
+     *
+     * @param list
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> prependAll(final Collection<? extends I> list) {
+        return prependAll(ZERO, list);
+    }
+
+    /**
+     * Overridden method from CList to prepend one object to the index of the vector
+     *
+     * @param index
+     * @param i
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> prependTo(final int index, final I i) {
+        if (index < ZERO || index > length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (index == length) {
+            return append(i);
+        }
+        return subCList(ZERO, index).append(i).concat(subCList(index));
+    }
+
+    /**
+     * Overridden method from CList to prepend multiple objects to the index of the vector
+     *
+     * @param index
+     * @param list
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> prependAll(final int index, final Collection<? extends I> list) {
+        if (index < ZERO || index > length) {
+            throw new IndexOutOfBoundsException();
+        }
+        Object[] added = list.toArray();
+        if (added.length == ZERO) {
+            return this;
+        }
+        Object[] items = new Object[added.length];
+        for (int j = 0; j < added.length; j++) {
+            items[added.length - ONE - j] = added[j];
+        }
+        return subCList(ZERO, index).concat(fromArray(items, items.length)).concat(subCList(index));
+    }
+
+    /**
+     * Overridden method from CList to delete the first occurrence of an object from the vector
+     *
+     * @param i
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> delete(final I i) {
+        int index = indexOf(i);
+        if (index == -1) {
+            return this;
+        }
+        return delete(index);
+    }
+
+    /**
+     * Overridden method to delete all objects from the vector, the runs of the kept items are
+     * concatenated as sub vectors, so they share their nodes with this vector
+     *
+     * @param list
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> deleteAll(final Collection<? extends I> list) {
+        CollectiosVector<I> result = empty();
+        int start = ZERO;
+        int index = ZERO;
+        for (I i : this) {
+            if (list.contains(i)) {
+                if (start < index) {
+                    result = result.concat(subCList(start, index));
+                }
+                start = index + ONE;
+            }
+            index++;
+        }
+        if (start == ZERO) {
+            return this;
+        }
+        return start < length ? result.concat(subCList(start)) : result;
+    }
+
+    /**
+     * Overridden method to delete object by index
+     *
+     * @param index
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> delete(final int index) {
+        checkIndex(index);
+        if (index == length - ONE) {
+            return deleteLast();
+        }
+        return subCList(ZERO, index).concat(subCList(index + ONE));
+    }
+
+    /**
+     * Overridden method from CList to create a sub vector, the trie is sliced along the paths to the ends
+     * of the range in O(log n) and the sub vector shares all the other nodes with this vector
+     *
+     * @param fromIndex
+     * @param toIndex
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> subCList(final int fromIndex, final int toIndex) {
+        if (fromIndex < ZERO || toIndex > length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (fromIndex == ZERO && toIndex == length) {
+            return this;
+        }
+        if (fromIndex == toIndex) {
+            return empty();
+        }
+
+        int tailOffset = tailOffset();
+        if (fromIndex >= tailOffset) {
+            return new CollectiosVector<>(toIndex - fromIndex, BITS, VectorNode.EMPTY_NODE,
+                    Arrays.copyOfRange(tail, fromIndex - tailOffset, toIndex - tailOffset));
+        }
+
+        int end = Math.min(toIndex, tailOffset);
+        VectorNode trie = end < tailOffset ? (VectorNode) VectorTrie.take(root, shift, end) : root;
+        trie = (VectorNode) VectorTrie.drop(trie, shift, fromIndex);
+        Object[] newTail;
+        if (toIndex > tailOffset) {
+            newTail = Arrays.copyOf(tail, toIndex - tailOffset);
+        } else {
+            // the last leaf of the sliced trie becomes the tail
+            newTail = (Object[]) VectorTrie.lastLeaf(trie, shift);
+            int rest = end - fromIndex - newTail.length;
+            trie = rest == ZERO ? VectorNode.EMPTY_NODE : (VectorNode) VectorTrie.take(trie, shift, rest);
+        }
+        return relaxed(toIndex - fromIndex, shift, trie, newTail);
+    }
+
+    /**
+     * Overridden method from CList to concatenate the vector with the collection. The tail of this vector
+     * and the trie of the other one are merged into the trie of this vector in O(log n), see {@link VectorTrie},
+     * collections which are not collectio vectors are converted first and short ones are appended.
+     *
+     * @param list
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> concat(final Collection<? extends I> list) {
+        if (length == ZERO) {
+            return of(list);
+        }
+        if (list.size() <= WIDTH) {
+            CollectiosVector<I> result = this;
+            for (I i : list) {
+                result = result.append(i);
+            }
+            return result;
+        }
+
+        CollectiosVector<I> other = of(list);
+        VectorNode tailNode = VectorTrie.node(new Object[]{new VectorNode(tail)}, BITS);
+        VectorNode left = tailNode;
+        int leftShift = BITS;
+        if (tailOffset() > ZERO) {
+            left = VectorTrie.concat(root, shift, tailNode, BITS);
+            leftShift = shift + BITS;
+        }
+        if (other.tailOffset() == ZERO) {
+            return relaxed(length + other.length, leftShift, left, other.tail);
+        }
+        VectorNode newRoot = VectorTrie.concat(left, leftShift, other.root, other.shift);
+        return relaxed(length + other.length, Math.max(leftShift, other.shift) + BITS, newRoot, other.tail);
+    }
+
+    /**
+     * Overridden method from CList to create a sub vector starting from index
+     *
+     * @param fromIndex
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> subCList(final int fromIndex) {
+        return subCList(fromIndex, length);
+    }
+
+    /**
+     * Overridden method to get the hash code of the vector, the hashes of the trie nodes are memoized,
+     * so only the nodes copied since the last hashed version are visited
+     *
+     * @return int
+     */
+    @Override
+    public int hashCode() {
+        int h = hashCode;
+        if (h == ZERO) {
+            int tailOffset = tailOffset();
+            int items = tailOffset == ZERO ? ZERO : hash(root, shift, tailOffset);
+            for (int i = 0; i < tail.length; i++) {
+                items = 31 * items + Objects.hashCode(tail[i]);
+            }
+            h = ListHash.power(length) + items;
+            hashCode = h;
+        }
+        return h;
+    }
+
+    /**
+     * Method to get the memoized hash of the count items below the node
+     *
+     * @param node
+     * @param level
+     * @param count
+     * @return int
+     */
+    private static int hash(final VectorNode node, final int level, final int count) {
+        int h = node.hash;
+        if (h == ZERO && !node.hashIsZero) {
+            if (level == ZERO) {
+                for (int i = 0; i < count; i++) {
+                    h = 31 * h + Objects.hashCode(node.array[i]);
+                }
+            } else {
+                int width = ONE << level;
+                for (int i = 0, remaining = count; remaining > ZERO; i++) {
+                    int n = node.sizes == null
+                            ? Math.min(remaining, width) : node.sizes[i] - VectorTrie.before(node, level, i);
+                    h = h * ListHash.power(n) + hash((VectorNode) node.array[i], level - BITS, n);
+                    remaining -= n;
+                }
+            }
+            if (h == ZERO) {
+                node.hashIsZero = true;
+            } else {
+                node.hash = h;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Overridden method to get the vector whose trie nodes and tail are interned in a weak global pool.
+     * The trie is interned bottom up, a node is found by its memoized hash and compared by its items
+     * and the identity of its sub nodes, so equal sub tries of all the interned vectors are one object.
+     *
+     * @return CollectiosVector
+     */
+    @Override
+    public CollectiosVector<I> intern() {
+        if (length == ZERO) {
+            return this;
+        }
+        VectorNode newRoot = tailOffset() == ZERO ? root : canonical(root, shift);
+        Object[] newTail = canonical(new VectorNode(tail), ZERO).array;
+        if (newRoot == root && newTail == tail) {
+            return this;
+        }
+        return new CollectiosVector<>(length, shift, newRoot, newTail);
+    }
+
+    private static VectorNode canonical(final VectorNode node, final int level) {
+        VectorNode result = node;
+        if (level > ZERO) {
+            Object[] array = null;
+            for (int i = 0; i < node.array.length; i++) {
+                VectorNode child = (VectorNode) node.array[i];
+                VectorNode canonical = canonical(child, level - BITS);
+                if (canonical != child) {
+                    if (array == null) {
+                        array = node.array.clone();
+                    }
+                    array[i] = canonical;
+                }
+            }
+            if (array != null) {
+                result = new VectorNode(array, node.sizes);
+            }
+        }
+        hash(result, level, VectorTrie.size(result, level));
+        return POOL.intern(result);
+    }
+
+    /**
+     * Method to compare the nodes for interning, items are compared by equals and sub nodes by identity
+     *
+     * @param x
+     * @param y
+     * @return boolean
+     */
+    private static boolean sameNode(final VectorNode x, final VectorNode y) {
+        if (x.array.length != y.array.length || !Arrays.equals(x.sizes, y.sizes)) {
+            return false;
+        }
+        for (int i = 0; i < x.array.length; i++) {
+            Object a = x.array[i];
+            Object b = y.array[i];
+            if (a != b && (a instanceof VectorNode || !Objects.equals(a, b))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Overridden method to compare the vector with the other one, two strict collectio vectors of the same shape
+     * are compared node by node and sub tries shared by both vectors are not visited
+     *
+     * @param o
+     * @return boolean
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CollectiosVector)) {
+            return super.equals(o);
+        }
+        CollectiosVector<?> other = (CollectiosVector<?>) o;
+        if (length != other.length
+                || (hashCode != ZERO && other.hashCode != ZERO && hashCode != other.hashCode)) {
+            return false;
+        }
+        if (other.shift != shift || root.sizes != null || other.root.sizes != null) {
+            return super.equals(o);
+        }
+        int tailOffset = tailOffset();
+        return (tailOffset == ZERO || equal(root, other.root, shift, tailOffset))
+                && equalItems(tail, other.tail, length - tailOffset);
+    }
+
+    private static boolean equal(final VectorNode x, final VectorNode y, final int level, final int count) {
+        if (x == y) {
+            return true;
+        }
+        if (x.hash != ZERO && y.hash != ZERO && x.hash != y.hash) {
+            return false;
+        }
+        if (level == ZERO) {
+            return equalItems(x.array, y.array, count);
+        }
+        int width = ONE << level;
+        for (int i = 0, remaining = count; remaining > ZERO; i++, remaining -= width) {
+            if (!equal((VectorNode) x.array[i], (VectorNode) y.array[i], level - BITS, Math.min(remaining, width))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalItems(final Object[] x, final Object[] y, final int count) {
+        if (x == y) {
+            return true;
+        }
+        for (int i = 0; i < count; i++) {
+            if (!Objects.equals(x[i], y[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Overridden method to find the first occurrence of the object
+     *
+     * @param o
+     * @return index or -1
+     */
+    @Override
+    public int indexOf(final Object o) {
+        int index = ZERO;
+        for (I i : this) {
+            if (Objects.equals(o, i)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Method to write the vector to the node output, the trie nodes written to it before,
+     * for instance by an older version of the vector, are written as references.
+     * A vector with relaxed nodes is written as the strict vector of its items.
+     *
+     * @param out
+     * @param codec
+     * @throws IOException
+     */
+    public void write(final NodeOutput out, final Codec<? super I> codec) throws IOException {
+        if (root.sizes != null) {
+            CollectiosVector.<I>fromArray(toArray(), length).write(out, codec);
+            return;
+        }
+        out.writeSize(length);
+        out.writeSize(shift);
+        writeNode(root, shift, out, codec);
+        for (int i = 0; i < tail.length; i++) {
+            codec.encode(item(tail, i), out.data());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I> I item(final Object[] array, final int index) {
+        return (I) array[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I> I item(final Object item) {
+        return (I) item;
+    }
+
+    private static <I> void writeNode(final VectorNode node, final int level, final NodeOutput out,
+                                      final Codec<? super I> codec) throws IOException {
+        if (out.writeReference(node)) {
+            return;
+        }
+        out.writeSize(node.array.length);
+        for (int i = 0; i < node.array.length; i++) {
+            if (level == ZERO) {
+                codec.encode(CollectiosVector.<I>item(node.array, i), out.data());
+            } else {
+                writeNode((VectorNode) node.array[i], level - BITS, out, codec);
+            }
+        }
+        out.register(node);
+    }
+
+    /**
+     * Method to read the vector written by {@link #write}
+     *
+     * @param in
+     * @param codec
+     * @param <I>
+     * @return CollectiosVector
+     * @throws IOException
+     */
+    public static <I> CollectiosVector<I> read(final NodeInput in, final Codec<I> codec) throws IOException {
+        int length = in.readSize();
+        int shift = in.readSize();
+        VectorNode root = readNode(in, shift, codec);
+        Object[] tail = new Object[length - tailOffset(length)];
+        for (int i = 0; i < tail.length; i++) {
+            tail[i] = codec.decode(in.data());
+        }
+        return of(length, shift, root, tail);
+    }
+
+    private static <I> VectorNode readNode(final NodeInput in, final int level, final Codec<I> codec)
+            throws IOException {
+        Object reference = in.readReference();
+        if (reference != null) {
+            return (VectorNode) reference;
+        }
+        Object[] array = new Object[in.readSize()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = level == ZERO ? codec.decode(in.data()) : readNode(in, level - BITS, codec);
+        }
+        VectorNode node = new VectorNode(array);
+        in.register(node);
+        return node;
+    }
+
+    private Object writeReplace() {
+        return new CollectiosExternalizable(this);
+    }
+
+    private void readObject(final ObjectInputStream stream) throws InvalidObjectException {
+        throw new InvalidObjectException("CollectiosVector is serialized by CollectiosExternalizable");
+    }
+}
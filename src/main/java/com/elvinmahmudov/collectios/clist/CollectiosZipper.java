@@ -0,0 +1,209 @@
+package com.elvinmahmudov.collectios.clist;
+
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * Immutable cursor over a list which moves and edits at its position in O(1). The items before the cursor
+ * are kept in a CollectiosList in reverse order, the nearest one first, and the focus with the items after it
+ * in another one, so moving the cursor moves one cell from one list to the other and an edit at the cursor
+ * changes only the head of the list after it. Every version of the zipper shares its lists with the others.
+ * <p>
+ * {@link #toList()} puts the items before the cursor back in front of the others, which takes
+ * as many steps as the cursor is far from the start.
+ *
+ * @param <I> Item
+ * @author emahmudov
+ */
+public final class CollectiosZipper<I> {
+
+    /**
+     * Items before the cursor, the nearest one first
+     */
+    private final CollectiosList<I> before;
+
+    /**
+     * The focus and the items after it
+     */
+    private final CollectiosList<I> after;
+
+    private CollectiosZipper(final CollectiosList<I> before, final CollectiosList<I> after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * Method to create the zipper at the start of the list
+     *
+     * @param list
+     * @param <I>
+     * @return CollectiosZipper
+     */
+    public static <I> CollectiosZipper<I> of(final Collection<? extends I> list) {
+        return new CollectiosZipper<>(CollectiosList.empty(), CollectiosList.of(list));
+    }
+
+    /**
+     * Method to create the zipper with the focus at the index of the list
+     *
+     * @param list
+     * @param index
+     * @param <I>
+     * @return CollectiosZipper
+     */
+    public static <I> CollectiosZipper<I> of(final Collection<? extends I> list, final int index) {
+        CollectiosList<I> items = CollectiosList.of(list);
+        if (index < ZERO || index > items.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + items.size());
+        }
+        CollectiosList<I> before = CollectiosList.empty();
+        CollectiosList<I> after = items;
+        for (int i = 0; i < index; i++) {
+            before = before.prepend(after.getFirstItem());
+            after = after.getRestItems();
+        }
+        return new CollectiosZipper<>(before, after);
+    }
+
+    /**
+     * Index of the focus
+     *
+     * @return int
+     */
+    public int index() {
+        return before.size();
+    }
+
+    /**
+     * Method to get the number of items before and after the cursor
+     *
+     * @return int
+     */
+    public int size() {
+        return before.size() + after.size();
+    }
+
+    /**
+     * Whether there is a focus, the cursor is past the last item otherwise
+     *
+     * @return boolean
+     */
+    public boolean hasNext() {
+        return !after.isEmpty();
+    }
+
+    /**
+     * Whether there are items before the focus, so the cursor can move back
+     *
+     * @return boolean
+     */
+    public boolean hasPrevious() {
+        return !before.isEmpty();
+    }
+
+    /**
+     * Method to get the item at the cursor
+     *
+     * @return I
+     * @throws NoSuchElementException when the cursor is past the last item
+     */
+    public I focus() {
+        checkFocus();
+        return after.getFirstItem();
+    }
+
+    /**
+     * Method to move the cursor to the next item
+     *
+     * @return CollectiosZipper
+     */
+    public CollectiosZipper<I> next() {
+        checkFocus();
+        return new CollectiosZipper<>(before.prepend(after.getFirstItem()), after.getRestItems());
+    }
+
+    /**
+     * Method to move the cursor to the previous item
+     *
+     * @return CollectiosZipper
+     */
+    public CollectiosZipper<I> previous() {
+        if (before.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return new CollectiosZipper<>(before.getRestItems(), after.prepend(before.getFirstItem()));
+    }
+
+    /**
+     * Method to insert the item at the cursor, it becomes the focus and the old focus follows it
+     *
+     * @param i
+     * @return CollectiosZipper
+     */
+    public CollectiosZipper<I> insert(final I i) {
+        return new CollectiosZipper<>(before, after.prepend(i));
+    }
+
+    /**
+     * Method to replace the focus
+     *
+     * @param i
+     * @return CollectiosZipper
+     */
+    public CollectiosZipper<I> replace(final I i) {
+        checkFocus();
+        return new CollectiosZipper<>(before, after.getRestItems().prepend(i));
+    }
+
+    /**
+     * Method to remove the focus, the next item becomes the focus
+     *
+     * @return CollectiosZipper
+     */
+    public CollectiosZipper<I> remove() {
+        checkFocus();
+        return new CollectiosZipper<>(before, after.getRestItems());
+    }
+
+    /**
+     * Method to get the whole list, the items before the cursor are linked in front of the others
+     *
+     * @return CollectiosList
+     */
+    public CollectiosList<I> toList() {
+        CollectiosList<I> result = after;
+        for (CollectiosList<I> rest = before; !rest.isEmpty(); rest = rest.getRestItems()) {
+            result = result.prepend(rest.getFirstItem());
+        }
+        return result;
+    }
+
+    private void checkFocus() {
+        if (after.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(before, after);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof CollectiosZipper)) {
+            return false;
+        }
+        CollectiosZipper<?> other = (CollectiosZipper<?>) o;
+        return before.equals(other.before) && after.equals(other.after);
+    }
+
+    @Override
+    public String toString() {
+        return "CollectiosZipper[index=" + index() + ", list=" + toList() + "]";
+    }
+}
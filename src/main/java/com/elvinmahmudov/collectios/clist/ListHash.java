@@ -0,0 +1,32 @@
+package com.elvinmahmudov.collectios.clist;
+
+/**
+ * Arithmetic of the List hash code. The hash of the items i0..in-1 is 31^n + sum hash(ik) * 31^(n-1-k),
+ * so the hash of a part of the list can be computed once and shifted by the power of 31
+ * for the number of the items after it.
+ *
+ * @author emahmudov
+ */
+final class ListHash {
+
+    private ListHash() {
+    }
+
+    /**
+     * Method to get 31 to the power of n, it overflows like the List hash code does
+     *
+     * @param n
+     * @return int
+     */
+    static int power(final int n) {
+        int result = 1;
+        int base = 31;
+        for (int e = n; e > 0; e >>>= 1) {
+            if ((e & 1) != 0) {
+                result *= base;
+            }
+            base *= base;
+        }
+        return result;
+    }
+}
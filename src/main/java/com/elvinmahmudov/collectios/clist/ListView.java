@@ -0,0 +1,294 @@
+package com.elvinmahmudov.collectios.clist;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * Lazy view of a list transformed by map, filter and flatMap. Nothing is computed when the view is made,
+ * the functions are applied to the items while they are iterated or got, so views of views are fused
+ * into one pass over the source and no intermediate list is allocated. The functions are applied again
+ * every time an item is read, so they should be cheap and free of side effects, materialize the view
+ * by {@link #toVector()} or {@link #toList()} when it is read many times.
+ * <p>
+ * A mapped view of a random access list gets its items by index in constant time, filtered and flat mapped
+ * views find them by iteration and count their size once.
+ *
+ * @param <E>
+ * @author emahmudov
+ */
+public abstract class ListView<E> extends AbstractList<E> {
+
+    private ListView() {
+    }
+
+    /**
+     * Method to create the view of the items of the source transformed by the mapper
+     *
+     * @param source
+     * @param mapper
+     * @param <T>
+     * @param <E>
+     * @return ListView
+     */
+    static <T, E> ListView<E> map(final List<T> source, final Function<? super T, ? extends E> mapper) {
+        return source instanceof RandomAccess ? new RandomAccessMapped<>(source, mapper) : new Mapped<>(source, mapper);
+    }
+
+    /**
+     * Method to create the view of the items of the source accepted by the predicate
+     *
+     * @param source
+     * @param predicate
+     * @param <E>
+     * @return ListView
+     */
+    static <E> ListView<E> filter(final List<E> source, final Predicate<? super E> predicate) {
+        return new Filtered<>(source, predicate);
+    }
+
+    /**
+     * Method to create the view of the items of the iterables the mapper makes of the items of the source
+     *
+     * @param source
+     * @param mapper
+     * @param <T>
+     * @param <E>
+     * @return ListView
+     */
+    static <T, E> ListView<E> flatMap(final List<T> source,
+                                      final Function<? super T, ? extends Iterable<? extends E>> mapper) {
+        return new FlatMapped<>(source, mapper);
+    }
+
+    /**
+     * Method to create the view of the items of this view transformed by the mapper,
+     * the mapper is applied after the functions of this view in the same pass
+     *
+     * @param mapper
+     * @param <R>
+     * @return ListView
+     */
+    public <R> ListView<R> mapLazy(final Function<? super E, ? extends R> mapper) {
+        return map(this, mapper);
+    }
+
+    /**
+     * Method to create the view of the items of this view accepted by the predicate
+     *
+     * @param predicate
+     * @return ListView
+     */
+    public ListView<E> filterLazy(final Predicate<? super E> predicate) {
+        return filter(this, predicate);
+    }
+
+    /**
+     * Method to create the view of the items of the iterables the mapper makes of the items of this view
+     *
+     * @param mapper
+     * @param <R>
+     * @return ListView
+     */
+    public <R> ListView<R> flatMapLazy(final Function<? super E, ? extends Iterable<? extends R>> mapper) {
+        return flatMap(this, mapper);
+    }
+
+    /**
+     * Method to materialize the view into a vector in one pass
+     *
+     * @return CollectiosVector
+     */
+    public CollectiosVector<E> toVector() {
+        TransientCList<E> result = CollectiosVector.builder();
+        for (E e : this) {
+            result.append(e);
+        }
+        return (CollectiosVector<E>) result.persistent();
+    }
+
+    /**
+     * Method to materialize the view into a list in one pass
+     *
+     * @return CollectiosList
+     */
+    public CollectiosList<E> toList() {
+        TransientCList<E> result = CollectiosList.builder();
+        for (E e : this) {
+            result.append(e);
+        }
+        return (CollectiosList<E>) result.persistent();
+    }
+
+    /**
+     * View of the mapped items of a sequential list
+     */
+    private static class Mapped<T, E> extends ListView<E> {
+        final List<T> source;
+        final Function<? super T, ? extends E> mapper;
+
+        Mapped(final List<T> source, final Function<? super T, ? extends E> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public E get(final int index) {
+            return mapper.apply(source.get(index));
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return source.isEmpty();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            Iterator<T> items = source.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return items.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    return mapper.apply(items.next());
+                }
+            };
+        }
+    }
+
+    private static final class RandomAccessMapped<T, E> extends Mapped<T, E> implements RandomAccess {
+        RandomAccessMapped(final List<T> source, final Function<? super T, ? extends E> mapper) {
+            super(source, mapper);
+        }
+    }
+
+    /**
+     * View which finds its items by iteration, the size is counted when it is first asked for
+     */
+    private abstract static class Sequential<E> extends ListView<E> {
+        private int size = -1;
+
+        @Override
+        public E get(final int index) {
+            if (index < ZERO) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            int i = ZERO;
+            for (E e : this) {
+                if (i++ == index) {
+                    return e;
+                }
+            }
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + i);
+        }
+
+        @Override
+        public int size() {
+            if (size < ZERO) {
+                int count = ZERO;
+                for (Iterator<E> it = iterator(); it.hasNext(); it.next()) {
+                    count++;
+                }
+                size = count;
+            }
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size < ZERO ? !iterator().hasNext() : size == ZERO;
+        }
+    }
+
+    private static final class Filtered<E> extends Sequential<E> {
+        private final List<E> source;
+        private final Predicate<? super E> predicate;
+
+        Filtered(final List<E> source, final Predicate<? super E> predicate) {
+            this.source = source;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            Iterator<E> items = source.iterator();
+            return new Iterator<>() {
+                private E next;
+                private boolean found;
+
+                @Override
+                public boolean hasNext() {
+                    while (!found && items.hasNext()) {
+                        E e = items.next();
+                        if (predicate.test(e)) {
+                            next = e;
+                            found = true;
+                        }
+                    }
+                    return found;
+                }
+
+                @Override
+                public E next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    found = false;
+                    E e = next;
+                    next = null;
+                    return e;
+                }
+            };
+        }
+    }
+
+    private static final class FlatMapped<T, E> extends Sequential<E> {
+        private final List<T> source;
+        private final Function<? super T, ? extends Iterable<? extends E>> mapper;
+
+        FlatMapped(final List<T> source, final Function<? super T, ? extends Iterable<? extends E>> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            Iterator<T> items = source.iterator();
+            return new Iterator<>() {
+                private Iterator<? extends E> current = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext() && items.hasNext()) {
+                        current = mapper.apply(items.next()).iterator();
+                    }
+                    return current.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return current.next();
+                }
+            };
+        }
+    }
+}
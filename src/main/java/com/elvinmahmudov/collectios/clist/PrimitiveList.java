@@ -0,0 +1,586 @@
+package com.elvinmahmudov.collectios.clist;
+
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.StringJoiner;
+
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.BITS;
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.MASK;
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.WIDTH;
+import static com.elvinmahmudov.collectios.enums.Constants.ONE;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+/**
+ * Base class for the lists of primitive items. They have the same 32-way trie with a tail buffer as
+ * CollectiosVector, inner nodes are VectorNodes but the leaves are primitive arrays, so the items are never boxed.
+ * Insertions and deletions in the middle slice and concatenate the trie like the vector, see {@link VectorTrie},
+ * so they copy O(log n) nodes and the new list shares all the other nodes with this one.
+ * <p>
+ * The subclasses choose the array of the leaves. Items are passed as longs, int items are widened,
+ * so the lists of both kinds are built and updated by the same code.
+ *
+ * @param <A> Array of the items
+ * @param <L> List
+ * @author emahmudov
+ */
+abstract class PrimitiveList<A, L extends PrimitiveList<A, L>> {
+
+    /**
+     * Size of the list
+     */
+    final int length;
+
+    /**
+     * Shift of the root level
+     */
+    final int shift;
+
+    /**
+     * Root of the trie holding all the items before the tail, leaves are primitive arrays
+     */
+    final VectorNode root;
+
+    /**
+     * Last items of the list, they are moved to the trie when the tail is full
+     */
+    final A tail;
+
+    PrimitiveList(final int length, final int shift, final VectorNode root, final A tail) {
+        this.length = length;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Method to create a list of the same kind, the empty instance when the length is 0
+     *
+     * @return L
+     */
+    abstract L list(int length, int shift, VectorNode root, A tail);
+
+    abstract A newArray(int length);
+
+    abstract long itemAt(A array, int index);
+
+    abstract void setItem(A array, int index, long item);
+
+    abstract int hashOf(long item);
+
+    /**
+     * Method to get the items of the object when it is a list of the same kind
+     *
+     * @param o
+     * @return the items or null
+     */
+    abstract A itemsOf(Object o);
+
+    /**
+     * Method to get size of the list
+     *
+     * @return int
+     */
+    public int size() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == ZERO;
+    }
+
+    private L empty() {
+        return list(ZERO, BITS, VectorNode.EMPTY_NODE, newArray(ZERO));
+    }
+
+    /**
+     * Method to build the trie bottom up from the first n items of the array
+     *
+     * @param items
+     * @param n
+     * @return L
+     */
+    L fromArray(final A items, final int n) {
+        if (n == ZERO) {
+            return empty();
+        }
+
+        int tailOffset = tailOffset(n);
+        A tail = copyOfRange(items, tailOffset, n);
+        if (tailOffset == ZERO) {
+            return list(n, BITS, VectorNode.EMPTY_NODE, tail);
+        }
+
+        int count = tailOffset >>> BITS;
+        Object[] level = new Object[count];
+        for (int i = 0; i < count; i++) {
+            level[i] = copyOfRange(items, i << BITS, (i + 1) << BITS);
+        }
+
+        int shift = BITS;
+        while (count > WIDTH) {
+            int parents = (count + MASK) >>> BITS;
+            Object[] upper = new Object[parents];
+            for (int i = 0; i < parents; i++) {
+                int end = Math.min(count, (i + 1) << BITS);
+                Object[] children = new Object[end - (i << BITS)];
+                System.arraycopy(level, i << BITS, children, ZERO, children.length);
+                upper[i] = new VectorNode(children);
+            }
+            level = upper;
+            count = parents;
+            shift += BITS;
+        }
+
+        return list(n, shift, new VectorNode(level), tail);
+    }
+
+    private A copyOfRange(final A array, final int from, final int to) {
+        A result = newArray(to - from);
+        System.arraycopy(array, from, result, ZERO, to - from);
+        return result;
+    }
+
+    private static int tailOffset(final int length) {
+        if (length < WIDTH) {
+            return ZERO;
+        }
+        return ((length - ONE) >>> BITS) << BITS;
+    }
+
+    int tailOffset() {
+        return length - VectorTrie.width(tail);
+    }
+
+    /**
+     * Method to create the list from the trie made by concatenation or slicing,
+     * the root levels with one sub node are dropped
+     *
+     * @return L
+     */
+    private L relaxed(final int length, final int shift, final VectorNode root, final A tail) {
+        if (root.array.length == ZERO) {
+            return list(length, BITS, VectorNode.EMPTY_NODE, tail);
+        }
+        VectorNode node = root;
+        int level = shift;
+        while (level > BITS && node.array.length == ONE) {
+            node = (VectorNode) node.array[ZERO];
+            level -= BITS;
+        }
+        return list(length, level, node, tail);
+    }
+
+    /**
+     * Method to get the leaf array holding the item with the index
+     *
+     * @param index
+     * @return A
+     */
+    @SuppressWarnings("unchecked")
+    A arrayFor(final int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object node = root;
+        int i = index;
+        for (int level = shift; level > ZERO; level -= BITS) {
+            VectorNode inner = (VectorNode) node;
+            int slot = VectorTrie.slot(inner, level, i);
+            i -= VectorTrie.before(inner, level, slot);
+            node = inner.array[slot];
+        }
+        return (A) node;
+    }
+
+    /**
+     * Method to get the index of the item in its leaf array
+     *
+     * @param index
+     * @return int
+     */
+    int leafOffset(final int index) {
+        int tailOffset = tailOffset();
+        if (index >= tailOffset) {
+            return index - tailOffset;
+        }
+        if (root.sizes == null) {
+            return index & MASK;
+        }
+        VectorNode node = root;
+        int i = index;
+        for (int level = shift; level > ZERO; level -= BITS) {
+            int slot = VectorTrie.slot(node, level, i);
+            i -= VectorTrie.before(node, level, slot);
+            if (level > BITS) {
+                node = (VectorNode) node.array[slot];
+            }
+        }
+        return i;
+    }
+
+    void checkIndex(final int index) {
+        if (index < ZERO || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Method to find the first occurrence of the item
+     *
+     * @param e
+     * @return index or -1
+     */
+    int indexOfItem(final long e) {
+        int index = ZERO;
+        while (index < length) {
+            A array = arrayFor(index);
+            int start = leafOffset(index);
+            int count = VectorTrie.width(array) - start;
+            for (int j = start; j < start + count; j++) {
+                if (itemAt(array, j) == e) {
+                    return index + j - start;
+                }
+            }
+            index += count;
+        }
+        return -1;
+    }
+
+    /**
+     * Method to prepend the items in turn, so the last one becomes the first item of the list.
+     * The items are put to a trie of their own which is concatenated with this list
+     *
+     * @param items
+     * @param count
+     * @return L
+     */
+    L prependedAll(final A items, final int count) {
+        A reversed = newArray(count);
+        for (int j = 0; j < count; j++) {
+            setItem(reversed, count - ONE - j, itemAt(items, j));
+        }
+        return fromArray(reversed, count).concatenated(self());
+    }
+
+    /**
+     * Method to insert the item at the index, the list is sliced at the index and the parts are
+     * concatenated around the item in O(log n)
+     *
+     * @param index
+     * @param e
+     * @return L
+     */
+    L insertedAt(final int index, final long e) {
+        if (index < ZERO || index > length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (index == length) {
+            return appended(e);
+        }
+        return sliced(ZERO, index).appended(e).concatenated(sliced(index, length));
+    }
+
+    L appended(final long e) {
+        int tailLength = VectorTrie.width(tail);
+        if (tailLength < WIDTH) {
+            A newTail = newArray(tailLength + ONE);
+            System.arraycopy(tail, ZERO, newTail, ZERO, tailLength);
+            setItem(newTail, tailLength, e);
+            return list(length + ONE, shift, root, newTail);
+        }
+
+        A newTail = newArray(ONE);
+        setItem(newTail, ZERO, e);
+        if (root.sizes != null) {
+            VectorNode newRoot = VectorTrie.concat(root, shift, VectorTrie.node(new Object[]{tail}, BITS), BITS);
+            return relaxed(length + ONE, shift + BITS, newRoot, newTail);
+        }
+        if ((length >>> BITS) > (ONE << shift)) {
+            return list(length + ONE, shift + BITS, new VectorNode(new Object[]{root, newPath(shift, tail)}),
+                    newTail);
+        }
+        return list(length + ONE, shift, pushTail(shift, root, tail), newTail);
+    }
+
+    private VectorNode pushTail(final int level, final VectorNode parent, final A tailNode) {
+        int subIndex = ((length - ONE) >>> level) & MASK;
+        Object nodeToInsert;
+        if (level == BITS) {
+            nodeToInsert = tailNode;
+        } else if (subIndex < parent.array.length) {
+            nodeToInsert = pushTail(level - BITS, (VectorNode) parent.array[subIndex], tailNode);
+        } else {
+            nodeToInsert = newPath(level - BITS, tailNode);
+        }
+
+        Object[] array = new Object[Math.max(parent.array.length, subIndex + ONE)];
+        System.arraycopy(parent.array, ZERO, array, ZERO, parent.array.length);
+        array[subIndex] = nodeToInsert;
+        return new VectorNode(array);
+    }
+
+    private static Object newPath(final int level, final Object node) {
+        if (level == ZERO) {
+            return node;
+        }
+        return new VectorNode(new Object[]{newPath(level - BITS, node)});
+    }
+
+    L updatedAt(final int index, final long e) {
+        checkIndex(index);
+        int tailOffset = tailOffset();
+        if (index >= tailOffset) {
+            A newTail = copyOfRange(tail, ZERO, length - tailOffset);
+            setItem(newTail, index - tailOffset, e);
+            return list(length, shift, root, newTail);
+        }
+        return list(length, shift, (VectorNode) doUpdate(shift, root, index, e), tail);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object doUpdate(final int level, final Object node, final int index, final long e) {
+        if (level == ZERO) {
+            A array = copyOfRange((A) node, ZERO, VectorTrie.width(node));
+            setItem(array, index, e);
+            return array;
+        }
+        VectorNode inner = (VectorNode) node;
+        Object[] array = inner.array.clone();
+        int slot = VectorTrie.slot(inner, level, index);
+        array[slot] = doUpdate(level - BITS, array[slot], index - VectorTrie.before(inner, level, slot), e);
+        return new VectorNode(array, inner.sizes);
+    }
+
+    L deletedValue(final long e) {
+        int index = indexOfItem(e);
+        if (index == -1) {
+            return self();
+        }
+        return deletedAt(index);
+    }
+
+    /**
+     * Method to delete the item with the index, the parts of the list around it are concatenated in O(log n)
+     *
+     * @param index
+     * @return L
+     */
+    L deletedAt(final int index) {
+        checkIndex(index);
+        return sliced(ZERO, index).concatenated(sliced(index + ONE, length));
+    }
+
+    /**
+     * Method to create a sub list, the trie is sliced along the paths to the ends of the range in O(log n)
+     * and the sub list shares all the other nodes with this list
+     *
+     * @param fromIndex
+     * @param toIndex
+     * @return L
+     */
+    @SuppressWarnings("unchecked")
+    L sliced(final int fromIndex, final int toIndex) {
+        if (fromIndex < ZERO || toIndex > length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (fromIndex == ZERO && toIndex == length) {
+            return self();
+        }
+        if (fromIndex == toIndex) {
+            return empty();
+        }
+
+        int tailOffset = tailOffset();
+        if (fromIndex >= tailOffset) {
+            return list(toIndex - fromIndex, BITS, VectorNode.EMPTY_NODE,
+                    copyOfRange(tail, fromIndex - tailOffset, toIndex - tailOffset));
+        }
+
+        int end = Math.min(toIndex, tailOffset);
+        VectorNode trie = end < tailOffset ? (VectorNode) VectorTrie.take(root, shift, end) : root;
+        trie = (VectorNode) VectorTrie.drop(trie, shift, fromIndex);
+        A newTail;
+        if (toIndex > tailOffset) {
+            newTail = copyOfRange(tail, ZERO, toIndex - tailOffset);
+        } else {
+            // the last leaf of the sliced trie becomes the tail
+            newTail = (A) VectorTrie.lastLeaf(trie, shift);
+            int rest = end - fromIndex - VectorTrie.width(newTail);
+            trie = rest == ZERO ? VectorNode.EMPTY_NODE : (VectorNode) VectorTrie.take(trie, shift, rest);
+        }
+        return relaxed(toIndex - fromIndex, shift, trie, newTail);
+    }
+
+    /**
+     * Method to concatenate the list with the other one, the tail of this list and the trie of the other one
+     * are merged into the trie of this list in O(log n) and short lists are appended
+     *
+     * @param other
+     * @return L
+     */
+    L concatenated(final L other) {
+        if (length == ZERO) {
+            return other;
+        }
+        if (other.length <= WIDTH) {
+            L result = self();
+            A items = other.items();
+            for (int j = 0; j < other.length; j++) {
+                result = result.appended(itemAt(items, j));
+            }
+            return result;
+        }
+
+        VectorNode tailNode = VectorTrie.node(new Object[]{tail}, BITS);
+        VectorNode left = tailNode;
+        int leftShift = BITS;
+        if (tailOffset() > ZERO) {
+            left = VectorTrie.concat(root, shift, tailNode, BITS);
+            leftShift = shift + BITS;
+        }
+        if (other.tailOffset() == ZERO) {
+            return relaxed(length + other.length, leftShift, left, other.tail);
+        }
+        VectorNode newRoot = VectorTrie.concat(left, leftShift, other.root, other.shift);
+        return relaxed(length + other.length, Math.max(leftShift, other.shift) + BITS, newRoot, other.tail);
+    }
+
+    @SuppressWarnings("unchecked")
+    private L self() {
+        return (L) this;
+    }
+
+    /**
+     * Method to copy the items from the range to the array leaf by leaf
+     *
+     * @param fromIndex
+     * @param toIndex
+     * @param items
+     * @param offset
+     */
+    void copyTo(final int fromIndex, final int toIndex, final A items, final int offset) {
+        int index = fromIndex;
+        while (index < toIndex) {
+            A array = arrayFor(index);
+            int start = leafOffset(index);
+            int count = Math.min(VectorTrie.width(array) - start, toIndex - index);
+            System.arraycopy(array, start, items, offset + index - fromIndex, count);
+            index += count;
+        }
+    }
+
+    A items() {
+        A items = newArray(length);
+        copyTo(ZERO, length, items, ZERO);
+        return items;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = ONE;
+        for (Cursor i = new Cursor(ZERO, length); i.hasNext(); ) {
+            int offset = i.advance();
+            hashCode = 31 * hashCode + hashOf(itemAt(i.array, offset));
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        A items = itemsOf(o);
+        if (items == null || VectorTrie.width(items) != length) {
+            return false;
+        }
+        for (Cursor i = new Cursor(ZERO, length); i.hasNext(); ) {
+            int index = i.index;
+            int offset = i.advance();
+            if (itemAt(i.array, offset) != itemAt(items, index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Cursor i = new Cursor(ZERO, length); i.hasNext(); ) {
+            int offset = i.advance();
+            joiner.add(String.valueOf(itemAt(i.array, offset)));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Cursor over an index range of the list, it walks the leaves in turn and the leaf holding the next item
+     * is looked up only when the items of the current one are used up. The iterators and spliterators
+     * of the subclasses read the items at the offsets it returns
+     */
+    class Cursor {
+
+        int index;
+        final int end;
+
+        /**
+         * Leaf holding the last returned item
+         */
+        A array;
+        private int offset;
+        private int width;
+
+        Cursor(final int index, final int end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        public boolean hasNext() {
+            return index < end;
+        }
+
+        /**
+         * Method to move to the next item
+         *
+         * @return the offset of the item in the leaf array
+         */
+        int advance() {
+            if (index >= end) {
+                throw new NoSuchElementException();
+            }
+            if (offset == width) {
+                array = arrayFor(index);
+                offset = leafOffset(index);
+                width = VectorTrie.width(array);
+            }
+            index++;
+            return offset++;
+        }
+
+        /**
+         * Method to cut the first half off the range, it is then traversed by a new cursor
+         * up to the new start of this one
+         *
+         * @return the start of the first half, -1 when the range can not be split
+         */
+        int split() {
+            int middle = (index + end) >>> ONE;
+            if (middle == index) {
+                return -1;
+            }
+            int start = index;
+            index = middle;
+            offset = width = ZERO;
+            return start;
+        }
+
+        public long estimateSize() {
+            return end - index;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.elvinmahmudov.collectios.clist;
+
+import java.util.Collection;
+
+/**
+ * Mutable builder of a CList, {@link #persistent()} turns it into an immutable list.
+ * A transient is not thread safe and cannot be used after persistent() has been called.
+ *
+ * @param <E> Element
+ */
+public interface TransientCList<E> {
+
+    TransientCList<E> append(E e);
+
+    TransientCList<E> appendAll(Collection<? extends E> list);
+
+    TransientCList<E> update(int i, E e);
+
+    E get(int i);
+
+    int size();
+
+    CList<E> persistent();
+}
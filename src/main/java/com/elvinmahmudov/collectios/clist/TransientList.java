@@ -0,0 +1,93 @@
+package com.elvinmahmudov.collectios.clist;
+
+import com.elvinmahmudov.collectios.exception.FrozenTransientException;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+/**
+ * Transient of CollectiosList, the items are buffered in an array and the list is linked
+ * from the last item to the first one when persistent() is called
+ *
+ * @param <I> Item
+ * @author emahmudov
+ */
+final class TransientList<I> implements TransientCList<I> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] items;
+
+    private int length;
+
+    private boolean persisted;
+
+    TransientList(final Collection<? extends I> list) {
+        items = list.isEmpty() ? new Object[INITIAL_CAPACITY] : list.toArray();
+        length = list.size();
+    }
+
+    private void ensureEditable() {
+        if (persisted) {
+            throw new FrozenTransientException();
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < ZERO || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public TransientList<I> append(final I i) {
+        ensureEditable();
+        if (length == items.length) {
+            items = Arrays.copyOf(items, Math.max(INITIAL_CAPACITY, length + (length >> 1)));
+        }
+        items[length++] = i;
+        return this;
+    }
+
+    @Override
+    public TransientList<I> appendAll(final Collection<? extends I> list) {
+        for (I i : list) {
+            append(i);
+        }
+        return this;
+    }
+
+    @Override
+    public TransientList<I> update(final int index, final I i) {
+        ensureEditable();
+        checkIndex(index);
+        items[index] = i;
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public I get(final int index) {
+        ensureEditable();
+        checkIndex(index);
+        return (I) items[index];
+    }
+
+    @Override
+    public int size() {
+        ensureEditable();
+        return length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CollectiosList<I> persistent() {
+        ensureEditable();
+        persisted = true;
+        CollectiosList<I> result = CollectiosList.link(items, length, CollectiosList.empty());
+        items = null;
+        return result;
+    }
+}
@@ -0,0 +1,178 @@
+package com.elvinmahmudov.collectios.clist;
+
+import com.elvinmahmudov.collectios.exception.FrozenTransientException;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.BITS;
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.MASK;
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.WIDTH;
+import static com.elvinmahmudov.collectios.enums.Constants.ONE;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+/**
+ * Transient of CollectiosVector, nodes copied by the first change are owned by the transient
+ * and all the following changes of these nodes are done in place
+ *
+ * @param <I> Item
+ * @author emahmudov
+ */
+final class TransientVector<I> implements TransientCList<I> {
+
+    /**
+     * Edit token of the nodes owned by the transient, null after persistent() call
+     */
+    private Object edit = new Object();
+
+    private int length;
+
+    private int shift;
+
+    private VectorNode root;
+
+    /**
+     * Tail buffer, it always has room for a full leaf
+     */
+    private Object[] tail;
+
+    TransientVector(final int length, final int shift, final VectorNode root, final Object[] tail) {
+        this.length = length;
+        this.shift = shift;
+        this.root = new VectorNode(edit, root.array.clone());
+        this.tail = Arrays.copyOf(tail, WIDTH);
+    }
+
+    private void ensureEditable() {
+        if (edit == null) {
+            throw new FrozenTransientException();
+        }
+    }
+
+    private VectorNode ensureEditable(final VectorNode node) {
+        if (node.edit == edit) {
+            return node;
+        }
+        return new VectorNode(edit, node.array.clone());
+    }
+
+    private int tailOffset() {
+        if (length < WIDTH) {
+            return ZERO;
+        }
+        return ((length - ONE) >>> BITS) << BITS;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < ZERO || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public TransientVector<I> append(final I i) {
+        ensureEditable();
+        if (length - tailOffset() < WIDTH) {
+            tail[length & MASK] = i;
+            length++;
+            return this;
+        }
+
+        VectorNode tailNode = new VectorNode(edit, tail);
+        tail = new Object[WIDTH];
+        tail[ZERO] = i;
+        if ((length >>> BITS) > (ONE << shift)) {
+            root = new VectorNode(edit, new Object[]{root, newPath(shift, tailNode)});
+            shift += BITS;
+        } else {
+            root = pushTail(shift, root, tailNode);
+        }
+        length++;
+        return this;
+    }
+
+    @Override
+    public TransientVector<I> appendAll(final Collection<? extends I> list) {
+        for (I i : list) {
+            append(i);
+        }
+        return this;
+    }
+
+    private VectorNode pushTail(final int level, final VectorNode node, final VectorNode tailNode) {
+        VectorNode parent = ensureEditable(node);
+        int subIndex = ((length - ONE) >>> level) & MASK;
+        VectorNode nodeToInsert;
+        if (level == BITS) {
+            nodeToInsert = tailNode;
+        } else if (subIndex < parent.array.length) {
+            nodeToInsert = pushTail(level - BITS, (VectorNode) parent.array[subIndex], tailNode);
+        } else {
+            nodeToInsert = newPath(level - BITS, tailNode);
+        }
+
+        if (subIndex >= parent.array.length) {
+            parent.array = Arrays.copyOf(parent.array, subIndex + ONE);
+        }
+        parent.array[subIndex] = nodeToInsert;
+        return parent;
+    }
+
+    private VectorNode newPath(final int level, final VectorNode node) {
+        if (level == ZERO) {
+            return node;
+        }
+        return new VectorNode(edit, new Object[]{newPath(level - BITS, node)});
+    }
+
+    @Override
+    public TransientVector<I> update(final int index, final I i) {
+        ensureEditable();
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            tail[index & MASK] = i;
+        } else {
+            root = doUpdate(shift, root, index, i);
+        }
+        return this;
+    }
+
+    private VectorNode doUpdate(final int level, final VectorNode node, final int index, final Object i) {
+        VectorNode result = ensureEditable(node);
+        if (level == ZERO) {
+            result.array[index & MASK] = i;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result.array[subIndex] = doUpdate(level - BITS, (VectorNode) result.array[subIndex], index, i);
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public I get(final int index) {
+        ensureEditable();
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            return (I) tail[index & MASK];
+        }
+        VectorNode node = root;
+        for (int level = shift; level > ZERO; level -= BITS) {
+            node = (VectorNode) node.array[(index >>> level) & MASK];
+        }
+        return (I) node.array[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        ensureEditable();
+        return length;
+    }
+
+    @Override
+    public CollectiosVector<I> persistent() {
+        ensureEditable();
+        edit = null;
+        return CollectiosVector.of(length, shift, root, Arrays.copyOf(tail, length - tailOffset()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.elvinmahmudov.collectios.clist;
+
+/**
+ * Node of the CollectiosVector trie, leaves hold the items and inner nodes hold sub nodes.
+ * Nodes owned by a transient carry its edit token and are changed in place.
+ * Inner nodes made by concatenation or slicing may be relaxed, see {@link VectorTrie}.
+ *
+ * @author emahmudov
+ */
+final class VectorNode {
+
+    static final VectorNode EMPTY_NODE = new VectorNode(new Object[0]);
+
+    /**
+     * Edit token of the transient owning the node, null for published nodes
+     */
+    final Object edit;
+
+    /**
+     * Items or sub nodes of the node
+     */
+    Object[] array;
+
+    /**
+     * Cumulative numbers of items below the sub nodes of a relaxed node, null when the node is strict
+     * and the sub node of an item is found by the bits of its index
+     */
+    final int[] sizes;
+
+    /**
+     * Hash of the items below the node, sum hash(ik) * 31^(n-1-k) over its n items, 0 until it is computed.
+     * It is only computed for published nodes, so vectors sharing the node compute it once.
+     */
+    int hash;
+
+    /**
+     * Whether the computed hash is 0, so that it is not computed again
+     */
+    boolean hashIsZero;
+
+    VectorNode(final Object[] array) {
+        this(null, array);
+    }
+
+    VectorNode(final Object edit, final Object[] array) {
+        this.edit = edit;
+        this.array = array;
+        this.sizes = null;
+    }
+
+    VectorNode(final Object[] array, final int[] sizes) {
+        this.edit = null;
+        this.array = array;
+        this.sizes = sizes;
+    }
+}
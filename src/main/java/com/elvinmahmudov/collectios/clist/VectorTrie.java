@@ -0,0 +1,347 @@
+package com.elvinmahmudov.collectios.clist;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.BITS;
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.MASK;
+import static com.elvinmahmudov.collectios.clist.CollectiosVector.WIDTH;
+import static com.elvinmahmudov.collectios.enums.Constants.ONE;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+/**
+ * Concatenation and slicing of the CollectiosVector tries. A trie built by appends is strict, all its leaves
+ * are full and the sub node holding an item is found by the bits of the index. Concatenation and slicing
+ * leave partly filled leaves and nodes behind, the nodes above them are relaxed and keep the cumulative
+ * sizes of their sub nodes, so the sub node holding an item is found by scanning the sizes from the slot
+ * the bits of the index point to.
+ * <p>
+ * Concatenation merges the right edge of the left trie with the left edge of the right one. The nodes of
+ * every merged level are redistributed only when they take more than {@link #EXTRAS} nodes over the
+ * optimal number, which bounds the scans of the lookups, so both operations copy O(log n) nodes.
+ * <p>
+ * The leaves of the vectors are VectorNodes holding the items, the leaves of the primitive lists are
+ * the primitive arrays of the items themselves, the methods take the leaves of both kinds.
+ *
+ * @author emahmudov
+ */
+final class VectorTrie {
+
+    /**
+     * Number of nodes a merged level may have over the optimal number before it is redistributed
+     */
+    private static final int EXTRAS = 2;
+
+    private VectorTrie() {
+    }
+
+    /**
+     * Method to get the array of the items of a leaf or of the sub nodes of an inner node
+     *
+     * @param node
+     * @return the array of the node
+     */
+    static Object arrayOf(final Object node) {
+        return node instanceof VectorNode ? ((VectorNode) node).array : node;
+    }
+
+    /**
+     * Method to get the number of items of a leaf or of sub nodes of an inner node
+     *
+     * @param node
+     * @return int
+     */
+    static int width(final Object node) {
+        return Array.getLength(arrayOf(node));
+    }
+
+    private static Object leafOf(final Object items) {
+        return items instanceof Object[] ? new VectorNode((Object[]) items) : items;
+    }
+
+    private static Object newArray(final Object array, final int length) {
+        return Array.newInstance(array.getClass().getComponentType(), length);
+    }
+
+    /**
+     * Method to copy the range of the array to a new array of the same kind
+     *
+     * @param array
+     * @param from
+     * @param to
+     * @return the copy, it is padded with the default items when the range ends past the array
+     */
+    private static Object copyOfRange(final Object array, final int from, final int to) {
+        Object result = newArray(array, to - from);
+        System.arraycopy(array, from, result, ZERO, Math.min(Array.getLength(array), to) - from);
+        return result;
+    }
+
+    /**
+     * Method to get the number of items below the node
+     *
+     * @param node
+     * @param level
+     * @return int
+     */
+    static int size(final Object node, final int level) {
+        int n = width(node);
+        if (level == ZERO || n == ZERO) {
+            return n;
+        }
+        VectorNode inner = (VectorNode) node;
+        if (inner.sizes != null) {
+            return inner.sizes[n - ONE];
+        }
+        return ((n - ONE) << level) + size(inner.array[n - ONE], level - BITS);
+    }
+
+    /**
+     * Method to get the slot of the sub node holding the item with the index relative to the node
+     *
+     * @param node
+     * @param level
+     * @param index
+     * @return int
+     */
+    static int slot(final VectorNode node, final int level, final int index) {
+        int slot = index >>> level;
+        if (node.sizes != null) {
+            while (node.sizes[slot] <= index) {
+                slot++;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Method to get the number of items below the sub nodes before the slot
+     *
+     * @param node
+     * @param level
+     * @param slot
+     * @return int
+     */
+    static int before(final VectorNode node, final int level, final int slot) {
+        if (node.sizes == null) {
+            return slot << level;
+        }
+        return slot == ZERO ? ZERO : node.sizes[slot - ONE];
+    }
+
+    /**
+     * Method to create the node of the level, it is strict when all its sub nodes but the last one are full
+     * and the last one is strict, it is relaxed otherwise
+     *
+     * @param children
+     * @param level
+     * @return VectorNode
+     */
+    static VectorNode node(final Object[] children, final int level) {
+        int full = ONE << level;
+        int childLevel = level - BITS;
+        int[] sizes = new int[children.length];
+        boolean strict = true;
+        int total = ZERO;
+        for (int i = 0; i < children.length; i++) {
+            int size = size(children[i], childLevel);
+            total += size;
+            sizes[i] = total;
+            if (size != full && (i < children.length - ONE || childLevel == ZERO
+                    || ((VectorNode) children[i]).sizes != null)) {
+                strict = false;
+            }
+        }
+        return new VectorNode(children, strict ? null : sizes);
+    }
+
+    /**
+     * Method to concatenate the tries, the lower one is raised to the level of the other
+     *
+     * @param left
+     * @param leftLevel
+     * @param right
+     * @param rightLevel
+     * @return root of the concatenation one level above the higher trie, it has one or two sub nodes
+     */
+    static VectorNode concat(final VectorNode left, final int leftLevel,
+                             final VectorNode right, final int rightLevel) {
+        int level = Math.max(leftLevel, rightLevel);
+        return node(merge(raise(left, leftLevel, level), raise(right, rightLevel, level), level), level + BITS);
+    }
+
+    private static VectorNode raise(final VectorNode node, final int from, final int to) {
+        VectorNode result = node;
+        for (int level = from + BITS; level <= to; level += BITS) {
+            result = node(new Object[]{result}, level);
+        }
+        return result;
+    }
+
+    /**
+     * Method to merge two nodes of the same level
+     *
+     * @param left
+     * @param right
+     * @param level
+     * @return one or two nodes of the level holding the items of left followed by the items of right
+     */
+    private static Object[] merge(final Object left, final Object right, final int level) {
+        int l = width(left);
+        int r = width(right);
+        if (level == ZERO) {
+            if (l + r > WIDTH) {
+                return new Object[]{left, right};
+            }
+            Object items = copyOfRange(arrayOf(left), ZERO, l + r);
+            System.arraycopy(arrayOf(right), ZERO, items, l, r);
+            return new Object[]{leafOf(items)};
+        }
+
+        Object[] leftChildren = ((VectorNode) left).array;
+        Object[] rightChildren = ((VectorNode) right).array;
+        Object[] centre = merge(leftChildren[l - ONE], rightChildren[ZERO], level - BITS);
+        Object[] children = new Object[l - ONE + centre.length + r - ONE];
+        System.arraycopy(leftChildren, ZERO, children, ZERO, l - ONE);
+        System.arraycopy(centre, ZERO, children, l - ONE, centre.length);
+        System.arraycopy(rightChildren, ONE, children, l - ONE + centre.length, r - ONE);
+        children = rebalance(children, level - BITS);
+
+        if (children.length <= WIDTH) {
+            return new Object[]{node(children, level)};
+        }
+        return new Object[]{node(Arrays.copyOf(children, WIDTH), level),
+                node(Arrays.copyOfRange(children, WIDTH, children.length), level)};
+    }
+
+    /**
+     * Method to redistribute the slots of the nodes of the level when there are too many nodes for them.
+     * Starting from the first node with room every node takes the slots of the next ones until one of
+     * them is emptied, which is repeated until the number of nodes is within the bound.
+     * Nodes whose slots do not move are kept.
+     *
+     * @param children
+     * @param level
+     * @return the nodes, the same array when nothing is moved
+     */
+    private static Object[] rebalance(final Object[] children, final int level) {
+        int n = children.length;
+        int[] plan = new int[n];
+        int total = ZERO;
+        for (int i = 0; i < n; i++) {
+            plan[i] = width(children[i]);
+            total += plan[i];
+        }
+        int optimal = (total + MASK) >>> BITS;
+        if (n <= optimal + EXTRAS) {
+            return children;
+        }
+
+        int i = ZERO;
+        while (n > optimal + EXTRAS) {
+            while (plan[i] > WIDTH - EXTRAS / 2) {
+                i++;
+            }
+            int remaining = plan[i];
+            do {
+                int size = Math.min(remaining + plan[i + ONE], WIDTH);
+                remaining += plan[i + ONE] - size;
+                plan[i] = size;
+                i++;
+            } while (remaining > ZERO);
+            System.arraycopy(plan, i + ONE, plan, i, n - i - ONE);
+            n--;
+            i--;
+        }
+
+        Object[] result = new Object[n];
+        int j = ZERO;
+        int offset = ZERO;
+        for (int k = 0; k < n; k++) {
+            if (offset == ZERO && width(children[j]) == plan[k]) {
+                result[k] = children[j];
+                j++;
+                continue;
+            }
+            Object slots = newArray(arrayOf(children[j]), plan[k]);
+            int filled = ZERO;
+            while (filled < plan[k]) {
+                Object array = arrayOf(children[j]);
+                int width = Array.getLength(array);
+                int count = Math.min(width - offset, plan[k] - filled);
+                System.arraycopy(array, offset, slots, filled, count);
+                filled += count;
+                offset += count;
+                if (offset == width) {
+                    j++;
+                    offset = ZERO;
+                }
+            }
+            result[k] = level == ZERO ? leafOf(slots) : node((Object[]) slots, level);
+        }
+        return result;
+    }
+
+    /**
+     * Method to get the first n items below the node
+     *
+     * @param node
+     * @param level
+     * @param n     between 1 and the size of the node
+     * @return node of the same level
+     */
+    static Object take(final Object node, final int level, final int n) {
+        if (level == ZERO) {
+            return n == width(node) ? node : leafOf(copyOfRange(arrayOf(node), ZERO, n));
+        }
+        VectorNode inner = (VectorNode) node;
+        int slot = slot(inner, level, n - ONE);
+        Object child = inner.array[slot];
+        Object taken = take(child, level - BITS, n - before(inner, level, slot));
+        if (taken == child && slot == inner.array.length - ONE) {
+            return node;
+        }
+        Object[] children = Arrays.copyOf(inner.array, slot + ONE);
+        children[slot] = taken;
+        return node(children, level);
+    }
+
+    /**
+     * Method to get the items below the node without the first n ones
+     *
+     * @param node
+     * @param level
+     * @param n     between 0 and the size of the node minus one
+     * @return node of the same level
+     */
+    static Object drop(final Object node, final int level, final int n) {
+        if (n == ZERO) {
+            return node;
+        }
+        if (level == ZERO) {
+            return leafOf(copyOfRange(arrayOf(node), n, width(node)));
+        }
+        VectorNode inner = (VectorNode) node;
+        int slot = slot(inner, level, n);
+        Object dropped = drop(inner.array[slot], level - BITS, n - before(inner, level, slot));
+        Object[] children = Arrays.copyOfRange(inner.array, slot, inner.array.length);
+        children[ZERO] = dropped;
+        return node(children, level);
+    }
+
+    /**
+     * Method to get the items of the last leaf below the node
+     *
+     * @param node
+     * @param level
+     * @return the array of the items
+     */
+    static Object lastLeaf(final VectorNode node, final int level) {
+        Object leaf = node;
+        for (int l = level; l > ZERO; l -= BITS) {
+            Object[] children = ((VectorNode) leaf).array;
+            leaf = children[children.length - ONE];
+        }
+        return arrayOf(leaf);
+    }
+}
@@ -0,0 +1,348 @@
+package com.elvinmahmudov.collectios.cmap;
+
+/**
+ * Trie node with up to 32 slots, present slots are tracked by two bitmaps.
+ * Entries are stored inline as key/value pairs followed by the sub nodes,
+ * so that equal maps always have the same shape.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+final class BitmapIndexedNode<K, V> extends CollectioMapNode<K, V> {
+
+    private static final BitmapIndexedNode<Object, Object> EMPTY_NODE =
+            new BitmapIndexedNode<>(null, 0, 0, new Object[0], 0);
+
+    /**
+     * Bitmap of slots holding an entry
+     */
+    int dataMap;
+
+    /**
+     * Bitmap of slots holding a sub node
+     */
+    int nodeMap;
+
+    /**
+     * Keys and values of the entries followed by the sub nodes
+     */
+    Object[] content;
+
+    /**
+     * Number of entries in the sub trie
+     */
+    int size;
+
+    BitmapIndexedNode(final Object edit, final int dataMap, final int nodeMap, final Object[] content,
+                      final int size) {
+        super(edit);
+        this.dataMap = dataMap;
+        this.nodeMap = nodeMap;
+        this.content = content;
+        this.size = size;
+    }
+
+    /**
+     * Method to get empty node
+     *
+     * @param <K>
+     * @param <V>
+     * @return BitmapIndexedNode
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> BitmapIndexedNode<K, V> empty() {
+        return (BitmapIndexedNode<K, V>) EMPTY_NODE;
+    }
+
+    /**
+     * Method to create the smallest sub trie holding two entries
+     *
+     * @return CollectioMapNode
+     */
+    static <K, V> CollectioMapNode<K, V> mergeTwo(final Object edit,
+                                                  final K key0, final V value0, final int hash0,
+                                                  final K key1, final V value1, final int hash1,
+                                                  final int shift) {
+        if (shift >= HASH_LENGTH) {
+            return new HashCollisionNode<>(edit, hash0, new Object[]{key0, key1}, new Object[]{value0, value1});
+        }
+
+        int mask0 = mask(hash0, shift);
+        int mask1 = mask(hash1, shift);
+
+        if (mask0 != mask1) {
+            int dataMap = bitpos(mask0) | bitpos(mask1);
+            if (mask0 < mask1) {
+                return new BitmapIndexedNode<>(edit, dataMap, 0, new Object[]{key0, value0, key1, value1}, 2);
+            }
+            return new BitmapIndexedNode<>(edit, dataMap, 0, new Object[]{key1, value1, key0, value0}, 2);
+        }
+
+        CollectioMapNode<K, V> node = mergeTwo(edit, key0, value0, hash0, key1, value1, hash1, shift + BITS);
+        return new BitmapIndexedNode<>(edit, 0, bitpos(mask0), new Object[]{node}, 2);
+    }
+
+    private int dataIndex(final int bit) {
+        return Integer.bitCount(dataMap & (bit - 1));
+    }
+
+    private int nodeIndex(final int bit) {
+        return 2 * Integer.bitCount(dataMap) + Integer.bitCount(nodeMap & (bit - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CollectioMapNode<K, V> nodeAt(final int bit) {
+        return (CollectioMapNode<K, V>) content[nodeIndex(bit)];
+    }
+
+    /**
+     * Method to get the sub node on the path of the hash
+     *
+     * @param hash
+     * @param shift
+     * @return CollectioMapNode or null when the hash is not in a sub node
+     */
+    CollectioMapNode<K, V> nodeOnPath(final int hash, final int shift) {
+        int bit = bitpos(mask(hash, shift));
+        return (nodeMap & bit) != 0 ? nodeAt(bit) : null;
+    }
+
+    @Override
+    Object find(final Object key, final int hash, final int shift, final Object notFound) {
+        int bit = bitpos(mask(hash, shift));
+
+        if ((dataMap & bit) != 0) {
+            int index = dataIndex(bit);
+            return key.equals(content[2 * index]) ? content[2 * index + 1] : notFound;
+        }
+
+        if ((nodeMap & bit) != 0) {
+            return nodeAt(bit).find(key, hash, shift + BITS, notFound);
+        }
+
+        return notFound;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    CollectioMapNode<K, V> updated(final Object edit, final K key, final V value, final int hash, final int shift,
+                                   final NodeChange change) {
+        int bit = bitpos(mask(hash, shift));
+
+        if ((dataMap & bit) != 0) {
+            int index = dataIndex(bit);
+            K currentKey = (K) content[2 * index];
+            V currentValue = (V) content[2 * index + 1];
+
+            if (currentKey.equals(key)) {
+                if (currentValue == value) {
+                    return this;
+                }
+                change.replaced();
+                return copyAndSet(edit, 2 * index + 1, value, size);
+            }
+
+            change.modified();
+            CollectioMapNode<K, V> node = mergeTwo(edit, currentKey, currentValue, hash(currentKey),
+                    key, value, hash, shift + BITS);
+            return copyAndMigrateFromInlineToNode(edit, bit, node);
+        }
+
+        if ((nodeMap & bit) != 0) {
+            CollectioMapNode<K, V> node = nodeAt(bit);
+            CollectioMapNode<K, V> newNode = node.updated(edit, key, value, hash, shift + BITS, change);
+            int newSize = change.modified && !change.replaced ? size + 1 : size;
+            if (newNode == node) {
+                if (newSize != size) {
+                    // the sub node has been changed in place, so this node is owned by the edit too
+                    size = newSize;
+                }
+                return this;
+            }
+            return copyAndSet(edit, nodeIndex(bit), newNode, newSize);
+        }
+
+        change.modified();
+        return copyAndInsertValue(edit, bit, key, value);
+    }
+
+    @Override
+    CollectioMapNode<K, V> removed(final Object edit, final Object key, final int hash, final int shift,
+                                   final NodeChange change) {
+        int bit = bitpos(mask(hash, shift));
+
+        if ((dataMap & bit) != 0) {
+            int index = dataIndex(bit);
+            if (!key.equals(content[2 * index])) {
+                return this;
+            }
+            change.modified();
+
+            if (payloadArity() == 2 && nodeArity() == 0) {
+                /*
+                 * The remaining entry is either the new root or it is inlined by the parent,
+                 * keys of one node share the hash prefix so the level zero bit is the same.
+                 */
+                int newDataMap = shift == 0 ? dataMap ^ bit : bitpos(mask(hash, 0));
+                int rest = index == 0 ? 1 : 0;
+                return new BitmapIndexedNode<>(edit, newDataMap, 0,
+                        new Object[]{content[2 * rest], content[2 * rest + 1]}, 1);
+            }
+
+            return copyAndRemoveValue(edit, bit, index);
+        }
+
+        if ((nodeMap & bit) != 0) {
+            CollectioMapNode<K, V> node = nodeAt(bit);
+            CollectioMapNode<K, V> newNode = node.removed(edit, key, hash, shift + BITS, change);
+            if (!change.modified) {
+                return this;
+            }
+
+            if (newNode.sizePredicate() == SIZE_ONE) {
+                if (payloadArity() == 0 && nodeArity() == 1) {
+                    return newNode;
+                }
+                return copyAndMigrateFromNodeToInline(edit, bit, newNode);
+            }
+            if (newNode == node) {
+                size--;
+                return this;
+            }
+            return copyAndSet(edit, nodeIndex(bit), newNode, size - 1);
+        }
+
+        return this;
+    }
+
+    /**
+     * Method to get the node with new content, the node is changed in place when it is owned by the edit
+     *
+     * @return BitmapIndexedNode
+     */
+    private BitmapIndexedNode<K, V> withContent(final Object edit, final int dataMap, final int nodeMap,
+                                                final Object[] content, final int size) {
+        if (isAllowedToEdit(edit)) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+            this.size = size;
+            return this;
+        }
+        return new BitmapIndexedNode<>(edit, dataMap, nodeMap, content, size);
+    }
+
+    private BitmapIndexedNode<K, V> copyAndSet(final Object edit, final int index, final Object value,
+                                               final int size) {
+        if (isAllowedToEdit(edit)) {
+            content[index] = value;
+            this.size = size;
+            return this;
+        }
+        Object[] newContent = content.clone();
+        newContent[index] = value;
+        return new BitmapIndexedNode<>(edit, dataMap, nodeMap, newContent, size);
+    }
+
+    private BitmapIndexedNode<K, V> copyAndInsertValue(final Object edit, final int bit, final K key, final V value) {
+        int index = 2 * dataIndex(bit);
+        Object[] newContent = new Object[content.length + 2];
+        System.arraycopy(content, 0, newContent, 0, index);
+        newContent[index] = key;
+        newContent[index + 1] = value;
+        System.arraycopy(content, index, newContent, index + 2, content.length - index);
+        return withContent(edit, dataMap | bit, nodeMap, newContent, size + 1);
+    }
+
+    private BitmapIndexedNode<K, V> copyAndRemoveValue(final Object edit, final int bit, final int dataIndex) {
+        int index = 2 * dataIndex;
+        Object[] newContent = new Object[content.length - 2];
+        System.arraycopy(content, 0, newContent, 0, index);
+        System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+        return withContent(edit, dataMap ^ bit, nodeMap, newContent, size - 1);
+    }
+
+    private BitmapIndexedNode<K, V> copyAndMigrateFromInlineToNode(final Object edit, final int bit,
+                                                                   final CollectioMapNode<K, V> node) {
+        int oldIndex = 2 * dataIndex(bit);
+        int newIndex = 2 * (Integer.bitCount(dataMap) - 1) + Integer.bitCount(nodeMap & (bit - 1));
+        Object[] newContent = new Object[content.length - 1];
+        System.arraycopy(content, 0, newContent, 0, oldIndex);
+        System.arraycopy(content, oldIndex + 2, newContent, oldIndex, newIndex - oldIndex);
+        newContent[newIndex] = node;
+        System.arraycopy(content, newIndex + 2, newContent, newIndex + 1, content.length - newIndex - 2);
+        return withContent(edit, dataMap ^ bit, nodeMap | bit, newContent, size + 1);
+    }
+
+    private BitmapIndexedNode<K, V> copyAndMigrateFromNodeToInline(final Object edit, final int bit,
+                                                                   final CollectioMapNode<K, V> node) {
+        int oldIndex = nodeIndex(bit);
+        int newIndex = 2 * dataIndex(bit);
+        Object[] newContent = new Object[content.length + 1];
+        System.arraycopy(content, 0, newContent, 0, newIndex);
+        newContent[newIndex] = node.getKey(0);
+        newContent[newIndex + 1] = node.getValue(0);
+        System.arraycopy(content, newIndex, newContent, newIndex + 2, oldIndex - newIndex);
+        System.arraycopy(content, oldIndex + 1, newContent, oldIndex + 2, content.length - oldIndex - 1);
+        return withContent(edit, dataMap | bit, nodeMap ^ bit, newContent, size - 1);
+    }
+
+    @Override
+    boolean hasNodes() {
+        return nodeMap != 0;
+    }
+
+    @Override
+    int nodeArity() {
+        return Integer.bitCount(nodeMap);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    CollectioMapNode<K, V> getNode(final int index) {
+        return (CollectioMapNode<K, V>) content[2 * Integer.bitCount(dataMap) + index];
+    }
+
+    @Override
+    boolean hasPayload() {
+        return dataMap != 0;
+    }
+
+    @Override
+    int payloadArity() {
+        return Integer.bitCount(dataMap);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    K getKey(final int index) {
+        return (K) content[2 * index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V getValue(final int index) {
+        return (V) content[2 * index + 1];
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    int sizePredicate() {
+        if (nodeMap != 0) {
+            return SIZE_MORE;
+        }
+        switch (Integer.bitCount(dataMap)) {
+            case 0:
+                return SIZE_EMPTY;
+            case 1:
+                return SIZE_ONE;
+            default:
+                return SIZE_MORE;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Immutable map whose values are unique as well as its keys, so it can be inverted
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public interface CBiMap<K, V> extends CMap<K, V> {
+
+    @Override
+    CBiMap<K, V> add(K key, V value);
+
+    @Override
+    CBiMap<K, V> addAll(Map<? extends K, ? extends V> map);
+
+    @Override
+    CBiMap<K, V> delete(K key);
+
+    @Override
+    CBiMap<K, V> deleteAll(Collection<? extends K> keys);
+
+    CBiMap<V, K> inverse();
+}
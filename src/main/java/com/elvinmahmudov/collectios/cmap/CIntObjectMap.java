@@ -0,0 +1,33 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Immutable map with primitive int keys, it mirrors CMap without boxing the keys
+ *
+ * @param <V> Value
+ */
+public interface CIntObjectMap<V> {
+
+    CIntObjectMap<V> add(int key, V value);
+
+    CIntObjectMap<V> addAll(CIntObjectMap<? extends V> map);
+
+    CIntObjectMap<V> delete(int key);
+
+    CIntObjectMap<V> deleteAll(int... keys);
+
+    V get(int key);
+
+    V getOrDefault(int key, V defaultValue);
+
+    boolean containsKey(int key);
+
+    int size();
+
+    boolean isEmpty();
+
+    PrimitiveIterator.OfInt keyIterator();
+
+    void forEach(IntObjectConsumer<? super V> action);
+}
@@ -0,0 +1,33 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Immutable map with primitive long keys, it mirrors CMap without boxing the keys
+ *
+ * @param <V> Value
+ */
+public interface CLongObjectMap<V> {
+
+    CLongObjectMap<V> add(long key, V value);
+
+    CLongObjectMap<V> addAll(CLongObjectMap<? extends V> map);
+
+    CLongObjectMap<V> delete(long key);
+
+    CLongObjectMap<V> deleteAll(long... keys);
+
+    V get(long key);
+
+    V getOrDefault(long key, V defaultValue);
+
+    boolean containsKey(long key);
+
+    int size();
+
+    boolean isEmpty();
+
+    PrimitiveIterator.OfLong keyIterator();
+
+    void forEach(LongObjectConsumer<? super V> action);
+}
@@ -2,6 +2,10 @@ package com.elvinmahmudov.collectios.cmap;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 public interface CMap<K, V> extends Map<K, V> {
 
@@ -12,4 +16,71 @@ public interface CMap<K, V> extends Map<K, V> {
     CMap<K, V> delete(K key);
 
     CMap<K, V> deleteAll(Collection<? extends K> keys);
+
+    TransientCMap<K, V> toTransient();
+
+    /**
+     * Method to pass every entry to the action without making an entry object
+     *
+     * @param action
+     */
+    default void forEachEntry(final BiConsumer<? super K, ? super V> action) {
+        forEach(action);
+    }
+
+    /**
+     * Method to pass every key to the action
+     *
+     * @param action
+     */
+    default void forEachKey(final Consumer<? super K> action) {
+        keySet().forEach(action);
+    }
+
+    /**
+     * Method to fold the entries in the order of the iteration, starting from the identity
+     *
+     * @param identity
+     * @param folder
+     * @param <R>
+     * @return the result after the last entry
+     */
+    default <R> R fold(final R identity, final MapFolder<R, ? super K, ? super V> folder) {
+        R result = identity;
+        for (Entry<K, V> entry : entrySet()) {
+            result = folder.apply(result, entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Method to get the map whose nodes are shared with all the equal maps canonicalized before,
+     * maps without an interning pool return themselves
+     *
+     * @return CMap
+     */
+    default CMap<K, V> canonicalize() {
+        return this;
+    }
+
+    /**
+     * Lazy view of the map with the values transformed by the mapper, see {@link MapView}
+     *
+     * @param mapper
+     * @param <R>
+     * @return MapView
+     */
+    default <R> MapView<K, R> mapValuesView(final Function<? super V, ? extends R> mapper) {
+        return MapView.mapValues(this, mapper);
+    }
+
+    /**
+     * Lazy view of the entries with the keys accepted by the predicate, see {@link MapView}
+     *
+     * @param predicate
+     * @return MapView
+     */
+    default MapView<K, V> filterKeysView(final Predicate<? super K> predicate) {
+        return MapView.filterKeys(this, predicate);
+    }
 }
@@ -0,0 +1,47 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Immutable map ordered by its keys, the range views share the tree of the map they come from
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public interface CSortedMap<K, V> extends CMap<K, V>, NavigableMap<K, V> {
+
+    @Override
+    CSortedMap<K, V> add(K key, V value);
+
+    @Override
+    CSortedMap<K, V> addAll(Map<? extends K, ? extends V> map);
+
+    @Override
+    CSortedMap<K, V> delete(K key);
+
+    @Override
+    CSortedMap<K, V> deleteAll(Collection<? extends K> keys);
+
+    @Override
+    CSortedMap<K, V> descendingMap();
+
+    @Override
+    CSortedMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive);
+
+    @Override
+    CSortedMap<K, V> headMap(K toKey, boolean inclusive);
+
+    @Override
+    CSortedMap<K, V> tailMap(K fromKey, boolean inclusive);
+
+    @Override
+    CSortedMap<K, V> subMap(K fromKey, K toKey);
+
+    @Override
+    CSortedMap<K, V> headMap(K toKey);
+
+    @Override
+    CSortedMap<K, V> tailMap(K fromKey);
+}
@@ -0,0 +1,201 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Immutable bidirectional map made of a CollectioMap of the keys to the values and a CollectioMap
+ * of the values to the keys. Both of them are updated together, so the inverse is the same two maps
+ * swapped and it is made in O(1). Adding a value which is mapped to another key moves it to the new key.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+public final class CollectioBiMap<K, V> extends AbstractMap<K, V> implements CBiMap<K, V> {
+
+    private static final CollectioBiMap<Object, Object> EMPTY =
+            new CollectioBiMap<>(CollectioMap.empty(), CollectioMap.empty());
+
+    private final CollectioMap<K, V> forward;
+
+    private final CollectioMap<V, K> backward;
+
+    private CollectioBiMap(final CollectioMap<K, V> forward, final CollectioMap<V, K> backward) {
+        this.forward = forward;
+        this.backward = backward;
+    }
+
+    /**
+     * Empty map
+     *
+     * @param <K>
+     * @param <V>
+     * @return CollectioBiMap
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> CollectioBiMap<K, V> empty() {
+        return (CollectioBiMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Method to make the bidirectional map of the map, of the keys mapped to the same value the last one
+     * iterated keeps it
+     *
+     * @param map
+     * @param <K>
+     * @param <V>
+     * @return CollectioBiMap
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> CollectioBiMap<K, V> of(final Map<? extends K, ? extends V> map) {
+        if (map instanceof CollectioBiMap) {
+            return (CollectioBiMap<K, V>) map;
+        }
+        return CollectioBiMap.<K, V>empty().addAll(map);
+    }
+
+    /**
+     * Method to get an empty transient for building a map
+     *
+     * @param <K>
+     * @param <V>
+     * @return TransientCMap
+     */
+    public static <K, V> TransientCMap<K, V> builder() {
+        return CollectioBiMap.<K, V>empty().toTransient();
+    }
+
+    @Override
+    public int size() {
+        return forward.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return forward.containsKey(key);
+    }
+
+    /**
+     * Overridden method for checking whether some key is mapped to the value, it is a lookup of the inverse map
+     *
+     * @param value
+     * @return boolean
+     */
+    @Override
+    public boolean containsValue(final Object value) {
+        return backward.containsKey(value);
+    }
+
+    @Override
+    public V get(final Object key) {
+        return forward.get(key);
+    }
+
+    /**
+     * Method to get the key mapped to the value
+     *
+     * @param value
+     * @return K or null when there is no such value
+     */
+    public K getKey(final Object value) {
+        return backward.get(value);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return forward.entrySet();
+    }
+
+    /**
+     * Method to map the key to the value, the old value of the key and the old key of the value are deleted
+     *
+     * @param key
+     * @param value
+     * @return CollectioBiMap
+     */
+    @Override
+    public CollectioBiMap<K, V> add(final K key, final V value) {
+        CollectioMap<K, V> newForward = forward;
+        CollectioMap<V, K> newBackward = backward;
+        if (forward.containsKey(key)) {
+            V oldValue = forward.get(key);
+            if (oldValue == value) {
+                return this;
+            }
+            newBackward = newBackward.delete(oldValue);
+        }
+        if (backward.containsKey(value)) {
+            newForward = newForward.delete(backward.get(value));
+        }
+        return new CollectioBiMap<>(newForward.add(key, value), newBackward.add(value, key));
+    }
+
+    @Override
+    public CollectioBiMap<K, V> addAll(final Map<? extends K, ? extends V> map) {
+        CollectioBiMap<K, V> result = this;
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.add(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Method to delete the key and its value
+     *
+     * @param key
+     * @return CollectioBiMap
+     */
+    @Override
+    public CollectioBiMap<K, V> delete(final Object key) {
+        if (!forward.containsKey(key)) {
+            return this;
+        }
+        return new CollectioBiMap<>(forward.delete(key), backward.delete(forward.get(key)));
+    }
+
+    @Override
+    public CollectioBiMap<K, V> deleteAll(final Collection<? extends K> keys) {
+        CollectioBiMap<K, V> result = this;
+        for (K key : keys) {
+            result = result.delete(key);
+        }
+        return result;
+    }
+
+    /**
+     * Method to get the map of the values to the keys, it shares both maps with this one
+     *
+     * @return CollectioBiMap
+     */
+    @Override
+    public CollectioBiMap<V, K> inverse() {
+        return new CollectioBiMap<>(backward, forward);
+    }
+
+    @Override
+    public TransientCMap<K, V> toTransient() {
+        return new TransientBiMap<>(this);
+    }
+
+    @Override
+    public CollectioBiMap<K, V> canonicalize() {
+        return new CollectioBiMap<>(forward.canonicalize(), backward.canonicalize());
+    }
+
+    @Override
+    public int hashCode() {
+        return forward.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o instanceof CollectioBiMap) {
+            return forward.equals(((CollectioBiMap<?, ?>) o).forward);
+        }
+        return forward.equals(o);
+    }
+}
@@ -0,0 +1,263 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.StringJoiner;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ONE;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * This class is analogue for CollectioMap with primitive int keys.
+ * Keys are kept unboxed in the nodes of a hash array mapped trie, so lookups and updates
+ * take O(log32 n) and allocate no Integer objects.
+ *
+ * @param <V> Value
+ * @author emahmudov
+ */
+public final class CollectioIntObjectMap<V> implements CIntObjectMap<V> {
+
+    private static final CollectioIntObjectMap<Object> EMPTY = new CollectioIntObjectMap<>(IntMapNode.empty(), ZERO);
+
+    /**
+     * Marker returned by the trie lookup when there is no such key
+     */
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * Root node of the trie
+     */
+    private final PrimitiveMapNode<V, int[]> root;
+
+    /**
+     * Length of the map
+     */
+    private final int length;
+
+    private CollectioIntObjectMap(final PrimitiveMapNode<V, int[]> root, final int length) {
+        this.root = root;
+        this.length = length;
+    }
+
+    /**
+     * Method for getting empty map
+     *
+     * @param <V>
+     * @return CollectioIntObjectMap
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> CollectioIntObjectMap<V> empty() {
+        return (CollectioIntObjectMap<V>) EMPTY;
+    }
+
+    /**
+     * Method for converting maps with Integer keys to collectio int maps
+     *
+     * @param map
+     * @param <V>
+     * @return CollectioIntObjectMap
+     */
+    public static <V> CollectioIntObjectMap<V> of(final Map<Integer, ? extends V> map) {
+        CollectioIntObjectMap<V> result = empty();
+        for (Map.Entry<Integer, ? extends V> entry : map.entrySet()) {
+            result = result.add(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Method to add value by key
+     *
+     * @param key
+     * @param value
+     * @return CollectioIntObjectMap
+     */
+    @Override
+    public CollectioIntObjectMap<V> add(final int key, final V value) {
+        NodeChange change = new NodeChange();
+        PrimitiveMapNode<V, int[]> newRoot = root.updated(key, value, IntMapNode.hash(key), ZERO, change);
+        if (!change.modified) {
+            return this;
+        }
+        return new CollectioIntObjectMap<>(newRoot, change.replaced ? length : length + ONE);
+    }
+
+    /**
+     * Method to add multiple key values to the map
+     *
+     * @param map
+     * @return CollectioIntObjectMap
+     */
+    @Override
+    public CollectioIntObjectMap<V> addAll(final CIntObjectMap<? extends V> map) {
+        NodeChange change = new NodeChange();
+        PrimitiveMapNode<V, int[]>[] newRoot = PrimitiveMapNode.array(root);
+        int[] newLength = {length};
+        map.forEach((key, value) -> {
+            change.reset();
+            newRoot[ZERO] = newRoot[ZERO].updated(key, value, IntMapNode.hash(key), ZERO, change);
+            if (change.modified && !change.replaced) {
+                newLength[ZERO]++;
+            }
+        });
+        return newRoot[ZERO] == root ? this : new CollectioIntObjectMap<>(newRoot[ZERO], newLength[ZERO]);
+    }
+
+    /**
+     * Method to delete the key from the map
+     *
+     * @param key
+     * @return CollectioIntObjectMap
+     */
+    @Override
+    public CollectioIntObjectMap<V> delete(final int key) {
+        NodeChange change = new NodeChange();
+        PrimitiveMapNode<V, int[]> newRoot = root.removed(key, IntMapNode.hash(key), ZERO, change);
+        if (!change.modified) {
+            return this;
+        }
+        if (length == ONE) {
+            return empty();
+        }
+        return new CollectioIntObjectMap<>(newRoot, length - ONE);
+    }
+
+    /**
+     * Method to delete multiple keys from the map
+     *
+     * @param keys
+     * @return CollectioIntObjectMap
+     */
+    @Override
+    public CollectioIntObjectMap<V> deleteAll(final int... keys) {
+        CollectioIntObjectMap<V> result = this;
+        for (int key : keys) {
+            result = result.delete(key);
+        }
+        return result;
+    }
+
+    /**
+     * Method to get value by key
+     *
+     * @param key
+     * @return V or null
+     */
+    @Override
+    public V get(final int key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Method to get value by key or the default value when there is no such key
+     *
+     * @param key
+     * @param defaultValue
+     * @return V
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(final int key, final V defaultValue) {
+        Object value = root.find(key, IntMapNode.hash(key), ZERO, NOT_FOUND);
+        return value == NOT_FOUND ? defaultValue : (V) value;
+    }
+
+    /**
+     * Method for checking whether there is an object for specified key
+     *
+     * @param key
+     * @return boolean
+     */
+    @Override
+    public boolean containsKey(final int key) {
+        return root.find(key, IntMapNode.hash(key), ZERO, NOT_FOUND) != NOT_FOUND;
+    }
+
+    /**
+     * Method to get size of the map
+     *
+     * @return int
+     */
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == ZERO;
+    }
+
+    /**
+     * Method to iterate the keys without boxing them
+     *
+     * @return PrimitiveIterator.OfInt
+     */
+    @Override
+    public PrimitiveIterator.OfInt keyIterator() {
+        return new KeyIterator<>(root);
+    }
+
+    /**
+     * Method to pass every entry to the action
+     *
+     * @param action
+     */
+    @Override
+    public void forEach(final IntObjectConsumer<? super V> action) {
+        root.forEach((key, value) -> action.accept((int) key, value));
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hashCode = {ZERO};
+        forEach((key, value) -> hashCode[ZERO] += Integer.hashCode(key) ^ Objects.hashCode(value));
+        return hashCode[ZERO];
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CIntObjectMap)) {
+            return false;
+        }
+        CIntObjectMap<?> other = (CIntObjectMap<?>) o;
+        if (other.size() != length) {
+            return false;
+        }
+        for (PrimitiveIterator.OfInt i = keyIterator(); i.hasNext(); ) {
+            int key = i.nextInt();
+            if (!other.containsKey(key) || !Objects.equals(get(key), other.get(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        forEach((key, value) -> joiner.add(key + "=" + value));
+        return joiner.toString();
+    }
+
+    /**
+     * Depth first iterator over the keys of the trie
+     */
+    private static final class KeyIterator<V> extends PrimitiveMapNode.KeyIterator<V, int[]>
+            implements PrimitiveIterator.OfInt {
+
+        KeyIterator(final PrimitiveMapNode<V, int[]> root) {
+            super(root);
+        }
+
+        @Override
+        public int nextInt() {
+            return (int) nextKey();
+        }
+    }
+}
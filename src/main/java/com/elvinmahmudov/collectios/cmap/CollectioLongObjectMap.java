@@ -0,0 +1,263 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.StringJoiner;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ONE;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * This class is analogue for CollectioMap with primitive long keys.
+ * Keys are kept unboxed in the nodes of a hash array mapped trie, so lookups and updates
+ * take O(log32 n) and allocate no Long objects.
+ *
+ * @param <V> Value
+ * @author emahmudov
+ */
+public final class CollectioLongObjectMap<V> implements CLongObjectMap<V> {
+
+    private static final CollectioLongObjectMap<Object> EMPTY = new CollectioLongObjectMap<>(LongMapNode.empty(), ZERO);
+
+    /**
+     * Marker returned by the trie lookup when there is no such key
+     */
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * Root node of the trie
+     */
+    private final PrimitiveMapNode<V, long[]> root;
+
+    /**
+     * Length of the map
+     */
+    private final int length;
+
+    private CollectioLongObjectMap(final PrimitiveMapNode<V, long[]> root, final int length) {
+        this.root = root;
+        this.length = length;
+    }
+
+    /**
+     * Method for getting empty map
+     *
+     * @param <V>
+     * @return CollectioLongObjectMap
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> CollectioLongObjectMap<V> empty() {
+        return (CollectioLongObjectMap<V>) EMPTY;
+    }
+
+    /**
+     * Method for converting maps with Long keys to collectio long maps
+     *
+     * @param map
+     * @param <V>
+     * @return CollectioLongObjectMap
+     */
+    public static <V> CollectioLongObjectMap<V> of(final Map<Long, ? extends V> map) {
+        CollectioLongObjectMap<V> result = empty();
+        for (Map.Entry<Long, ? extends V> entry : map.entrySet()) {
+            result = result.add(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Method to add value by key
+     *
+     * @param key
+     * @param value
+     * @return CollectioLongObjectMap
+     */
+    @Override
+    public CollectioLongObjectMap<V> add(final long key, final V value) {
+        NodeChange change = new NodeChange();
+        PrimitiveMapNode<V, long[]> newRoot = root.updated(key, value, LongMapNode.hash(key), ZERO, change);
+        if (!change.modified) {
+            return this;
+        }
+        return new CollectioLongObjectMap<>(newRoot, change.replaced ? length : length + ONE);
+    }
+
+    /**
+     * Method to add multiple key values to the map
+     *
+     * @param map
+     * @return CollectioLongObjectMap
+     */
+    @Override
+    public CollectioLongObjectMap<V> addAll(final CLongObjectMap<? extends V> map) {
+        NodeChange change = new NodeChange();
+        PrimitiveMapNode<V, long[]>[] newRoot = PrimitiveMapNode.array(root);
+        int[] newLength = {length};
+        map.forEach((key, value) -> {
+            change.reset();
+            newRoot[ZERO] = newRoot[ZERO].updated(key, value, LongMapNode.hash(key), ZERO, change);
+            if (change.modified && !change.replaced) {
+                newLength[ZERO]++;
+            }
+        });
+        return newRoot[ZERO] == root ? this : new CollectioLongObjectMap<>(newRoot[ZERO], newLength[ZERO]);
+    }
+
+    /**
+     * Method to delete the key from the map
+     *
+     * @param key
+     * @return CollectioLongObjectMap
+     */
+    @Override
+    public CollectioLongObjectMap<V> delete(final long key) {
+        NodeChange change = new NodeChange();
+        PrimitiveMapNode<V, long[]> newRoot = root.removed(key, LongMapNode.hash(key), ZERO, change);
+        if (!change.modified) {
+            return this;
+        }
+        if (length == ONE) {
+            return empty();
+        }
+        return new CollectioLongObjectMap<>(newRoot, length - ONE);
+    }
+
+    /**
+     * Method to delete multiple keys from the map
+     *
+     * @param keys
+     * @return CollectioLongObjectMap
+     */
+    @Override
+    public CollectioLongObjectMap<V> deleteAll(final long... keys) {
+        CollectioLongObjectMap<V> result = this;
+        for (long key : keys) {
+            result = result.delete(key);
+        }
+        return result;
+    }
+
+    /**
+     * Method to get value by key
+     *
+     * @param key
+     * @return V or null
+     */
+    @Override
+    public V get(final long key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Method to get value by key or the default value when there is no such key
+     *
+     * @param key
+     * @param defaultValue
+     * @return V
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(final long key, final V defaultValue) {
+        Object value = root.find(key, LongMapNode.hash(key), ZERO, NOT_FOUND);
+        return value == NOT_FOUND ? defaultValue : (V) value;
+    }
+
+    /**
+     * Method for checking whether there is an object for specified key
+     *
+     * @param key
+     * @return boolean
+     */
+    @Override
+    public boolean containsKey(final long key) {
+        return root.find(key, LongMapNode.hash(key), ZERO, NOT_FOUND) != NOT_FOUND;
+    }
+
+    /**
+     * Method to get size of the map
+     *
+     * @return int
+     */
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == ZERO;
+    }
+
+    /**
+     * Method to iterate the keys without boxing them
+     *
+     * @return PrimitiveIterator.OfLong
+     */
+    @Override
+    public PrimitiveIterator.OfLong keyIterator() {
+        return new KeyIterator<>(root);
+    }
+
+    /**
+     * Method to pass every entry to the action
+     *
+     * @param action
+     */
+    @Override
+    public void forEach(final LongObjectConsumer<? super V> action) {
+        root.forEach(action);
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hashCode = {ZERO};
+        forEach((key, value) -> hashCode[ZERO] += Long.hashCode(key) ^ Objects.hashCode(value));
+        return hashCode[ZERO];
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CLongObjectMap)) {
+            return false;
+        }
+        CLongObjectMap<?> other = (CLongObjectMap<?>) o;
+        if (other.size() != length) {
+            return false;
+        }
+        for (PrimitiveIterator.OfLong i = keyIterator(); i.hasNext(); ) {
+            long key = i.nextLong();
+            if (!other.containsKey(key) || !Objects.equals(get(key), other.get(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        forEach((key, value) -> joiner.add(key + "=" + value));
+        return joiner.toString();
+    }
+
+    /**
+     * Depth first iterator over the keys of the trie
+     */
+    private static final class KeyIterator<V> extends PrimitiveMapNode.KeyIterator<V, long[]>
+            implements PrimitiveIterator.OfLong {
+
+        KeyIterator(final PrimitiveMapNode<V, long[]> root) {
+            super(root);
+        }
+
+        @Override
+        public long nextLong() {
+            return nextKey();
+        }
+    }
+}
@@ -1,46 +1,83 @@
 package com.elvinmahmudov.collectios.cmap;
 
-import com.elvinmahmudov.collectios.clist.Collectios;
-import com.elvinmahmudov.collectios.clist.CollectiosList;
+import com.elvinmahmudov.collectios.codec.Codec;
+import com.elvinmahmudov.collectios.codec.CollectiosExternalizable;
+import com.elvinmahmudov.collectios.codec.NodeInput;
+import com.elvinmahmudov.collectios.codec.NodeOutput;
+import com.elvinmahmudov.collectios.metrics.CollectiosMetrics;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
 
+import static com.elvinmahmudov.collectios.enums.Constants.ONE;
 import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
 
 
 /**
- * This class is analogue for Java HashMap, but immutable and consistent
+ * This class is analogue for Java HashMap, but immutable and consistent.
+ * Entries are kept in a hash array mapped trie, so lookups and updates take O(log32 n)
+ * and every new version shares all untouched nodes with the previous one.
  *
  * @param <K> Key
  * @param <V> Value
  */
-public final class CollectioMap<K, V> extends AbstractMap<K, V> implements CMap<K, V> {
+public final class CollectioMap<K, V> extends AbstractMap<K, V> implements CMap<K, V>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final CollectioMap<Object, Object> EMPTY = new CollectioMap<>();
+
+    /**
+     * Marker returned by the trie lookup when there is no such key
+     */
+    private static final Object NOT_FOUND = new Object();
 
     /**
-     * Internal integer map
+     * Root node of the trie
      */
-    private CMap<Integer, Collectios<Entry<K, V>>> integerMap;
+    private final CollectioMapNode<K, V> root;
 
     /**
      * Length of the map
      */
-    private int length;
+    private final int length;
 
     /**
      * Set of entries
      */
     private Set<Entry<K, V>> entrySet = null;
 
+    /**
+     * Set of keys
+     */
+    private Set<K> keySet = null;
+
+    /**
+     * Collection of values
+     */
+    private Collection<V> values = null;
+
     public CollectioMap() {
+        this(BitmapIndexedNode.empty(), ZERO);
     }
 
-    private CollectioMap(final CMap<Integer, Collectios<Entry<K, V>>> integerMap, final int length) {
-        this.integerMap = integerMap;
+    private CollectioMap(final CollectioMapNode<K, V> root, final int length) {
+        this.root = root;
         this.length = length;
     }
 
@@ -51,40 +88,136 @@ public final class CollectioMap<K, V> extends AbstractMap<K, V> implements CMap<
      * @param <V>
      * @return CollectioMap
      */
+    @SuppressWarnings("unchecked")
     public static <K, V> CollectioMap<K, V> empty() {
-        return new CollectioMap<>();
+        return (CollectioMap<K, V>) EMPTY;
     }
 
     /**
-     * Method to clear all values from the map
+     * Method for converting maps to collectio maps
      *
      * @param map
      * @param <K>
      * @param <V>
-     * @return CollectioMap with keys
+     * @return CollectioMap
      */
-    public static <K, V> CollectioMap<K, V> clearAllValues(final CMap<Integer, Collectios<Entry<K, V>>> map) {
-        return new CollectioMap<>(map.deleteAll(map.keySet()), ZERO);
+    @SuppressWarnings("unchecked")
+    public static <K, V> CollectioMap<K, V> of(final Map<? extends K, ? extends V> map) {
+        if (map instanceof CollectioMap) {
+            return (CollectioMap<K, V>) map;
+        }
+        return CollectioMap.<K, V>empty().addAll(map);
     }
 
     /**
-     * Private method to get key index in the entrie set
+     * Method to get an empty transient for building a map
      *
-     * @param entries
-     * @param key
      * @param <K>
      * @param <V>
-     * @return index of key int
+     * @return TransientCMap
      */
-    private static <K, V> int getKeyIndex(final Collectios<Entry<K, V>> entries, final Object key) {
-        int i = 0;
-        for (Entry<K, V> entry : entries) {
-            if (entry.getKey().equals(key)) {
-                return i;
-            }
-            i++;
+    public static <K, V> TransientCMap<K, V> builder() {
+        return CollectioMap.<K, V>empty().toTransient();
+    }
+
+    /**
+     * Method to convert the map to a CollectioMap, the entries are partitioned by hash and the sub tries
+     * are built in parallel on the common fork-join pool
+     *
+     * @param map
+     * @param <K>
+     * @param <V>
+     * @return CollectioMap
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> CollectioMap<K, V> fromParallel(final Map<? extends K, ? extends V> map) {
+        if (map instanceof CollectioMap) {
+            return (CollectioMap<K, V>) map;
+        }
+        Object[] entries = map.entrySet().toArray();
+        Object[] keys = new Object[entries.length];
+        Object[] values = new Object[entries.length];
+        Arrays.parallelSetAll(keys, i -> ((Entry<?, ?>) entries[i]).getKey());
+        Arrays.parallelSetAll(values, i -> ((Entry<?, ?>) entries[i]).getValue());
+        CollectioMapNode<K, V> root = TrieParallel.build(keys, values, entries.length);
+        return of(root, root.size());
+    }
+
+    /**
+     * Method to create the map of the keys to the values the mapper makes of them, the values are made
+     * and the sub tries are built in parallel on the common fork-join pool
+     *
+     * @param keys
+     * @param valueMapper
+     * @param <K>
+     * @param <V>
+     * @return CollectioMap
+     */
+    public static <K, V> CollectioMap<K, V> fromParallel(final Collection<? extends K> keys,
+                                                         final Function<? super K, ? extends V> valueMapper) {
+        Object[] items = keys.toArray();
+        Object[] values = new Object[items.length];
+        Arrays.parallelSetAll(values, i -> valueMapper.apply(item(items, i)));
+        CollectioMapNode<K, V> root = TrieParallel.build(items, values, items.length);
+        return of(root, root.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K item(final Object[] items, final int index) {
+        return (K) items[index];
+    }
+
+    /**
+     * Collector of the elements into a CollectioMap, in a parallel stream every thread builds its own trie
+     * and the tries are merged node by node. The last value of a key in the order of the stream wins.
+     *
+     * @param keyMapper
+     * @param valueMapper
+     * @param <T>
+     * @param <K>
+     * @param <V>
+     * @return Collector
+     */
+    public static <T, K, V> Collector<T, ?, CollectioMap<K, V>> toCollectioMap(
+            final Function<? super T, ? extends K> keyMapper, final Function<? super T, ? extends V> valueMapper) {
+        return Collector.<T, TransientMap<K, V>, CollectioMap<K, V>>of(
+                () -> new TransientMap<>(BitmapIndexedNode.empty(), ZERO),
+                (result, t) -> result.add(keyMapper.apply(t), valueMapper.apply(t)),
+                (left, right) -> {
+                    CollectioMap<K, V> union = left.persistent().union(right.persistent());
+                    return new TransientMap<>(union.root, union.length);
+                },
+                TransientMap::persistent);
+    }
+
+    /**
+     * Method to create the map from the trie
+     *
+     * @param root
+     * @param length
+     * @param <K>
+     * @param <V>
+     * @return CollectioMap
+     */
+    static <K, V> CollectioMap<K, V> of(final CollectioMapNode<K, V> root, final int length) {
+        if (length == ZERO) {
+            return empty();
         }
-        return -1;
+        return new CollectioMap<>(root, length);
+    }
+
+    /**
+     * Method to clear all values from the map
+     *
+     * @param map
+     * @param <K>
+     * @param <V>
+     * @return empty CollectioMap
+     * @deprecated buckets are not kept in a separate map anymore, use {@link #empty()}
+     */
+    @Deprecated
+    public static <K, V> CollectioMap<K, V> clearAllValues(final CMap<Integer, ?> map) {
+        return empty();
     }
 
     /**
@@ -113,7 +246,12 @@ public final class CollectioMap<K, V> extends AbstractMap<K, V> implements CMap<
 
                 @Override
                 public Iterator<Entry<K, V>> iterator() {
-                    return new CollectioMapIterator<>(integerMap.values().iterator());
+                    return new CollectioMapIterator<>(root);
+                }
+
+                @Override
+                public Spliterator<Entry<K, V>> spliterator() {
+                    return new CollectioMapSpliterator<>(root, SimpleImmutableEntry::new);
                 }
 
                 @Override
@@ -129,6 +267,125 @@ public final class CollectioMap<K, V> extends AbstractMap<K, V> implements CMap<
         return entrySet;
     }
 
+    /**
+     * Overridden method to get set of keys, its spliterator splits the trie like the one of the entry set
+     * and its hash code is memoized by the nodes of the trie
+     *
+     * @return Set of keys
+     */
+    @Override
+    public Set<K> keySet() {
+        if (keySet == null) {
+            keySet = new AbstractSet<>() {
+
+                @Override
+                public int size() {
+                    return length;
+                }
+
+                @Override
+                public Iterator<K> iterator() {
+                    return new TrieIterator<>(root, (key, value) -> key);
+                }
+
+                @Override
+                public void forEach(final Consumer<? super K> action) {
+                    forEachKey(action);
+                }
+
+                @Override
+                public Spliterator<K> spliterator() {
+                    return new CollectioMapSpliterator<K, V, K>(root, (key, value) -> key);
+                }
+
+                @Override
+                public boolean contains(final Object key) {
+                    return containsKey(key);
+                }
+
+                @Override
+                public int hashCode() {
+                    return root.keysHash();
+                }
+            };
+        }
+        return keySet;
+    }
+
+    /**
+     * Overridden method to get the values, they are iterated without making entries
+     *
+     * @return Collection of values
+     */
+    @Override
+    public Collection<V> values() {
+        if (values == null) {
+            values = new AbstractCollection<>() {
+
+                @Override
+                public int size() {
+                    return length;
+                }
+
+                @Override
+                public Iterator<V> iterator() {
+                    return new TrieIterator<>(root, (key, value) -> value);
+                }
+
+                @Override
+                public void forEach(final Consumer<? super V> action) {
+                    root.forEach((key, value) -> action.accept(value));
+                }
+            };
+        }
+        return values;
+    }
+
+    /**
+     * Overridden method to pass every entry to the action, the trie is walked node by node
+     * and nothing is allocated per entry
+     *
+     * @param action
+     */
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        root.forEach(action);
+    }
+
+    /**
+     * Overridden method to pass every entry to the action without making an entry object,
+     * the trie is walked node by node like in {@link #forEach(BiConsumer)}
+     *
+     * @param action
+     */
+    @Override
+    public void forEachEntry(final BiConsumer<? super K, ? super V> action) {
+        root.forEach(action);
+    }
+
+    /**
+     * Overridden method to pass every key to the action, the trie is walked node by node
+     *
+     * @param action
+     */
+    @Override
+    public void forEachKey(final Consumer<? super K> action) {
+        root.forEach((key, value) -> action.accept(key));
+    }
+
+    /**
+     * Overridden method to fold the entries, the trie is walked node by node
+     *
+     * @param identity
+     * @param folder
+     * @param <R>
+     * @return the result after the last entry
+     */
+    @Override
+    public <R> R fold(final R identity, final MapFolder<R, ? super K, ? super V> folder) {
+        return root.fold(identity, folder);
+    }
+
     /**
      * Method to add value by key
      *
@@ -138,30 +395,31 @@ public final class CollectioMap<K, V> extends AbstractMap<K, V> implements CMap<
      */
     @Override
     public CollectioMap<K, V> add(K key, V value) {
-        Collectios<Entry<K, V>> entries = getEntries(key.hashCode());
-        int localLength = entries.size();
-        int i = getKeyIndex(entries, key);
-        if (i != -1) {
-            entries = entries.delete(i);
+        NodeChange change = new NodeChange();
+        int hash = CollectioMapNode.hash(key);
+        CollectioMapNode<K, V> newRoot = root.updated(null, key, value, hash, ZERO, change);
+        if (!change.modified) {
+            return this;
         }
-        entries = entries.prepend(new SimpleImmutableEntry<>(key, value));
-        return new CollectioMap<>(integerMap.add(key.hashCode(), entries),
-                length - localLength + entries.size());
+        int newLength = change.replaced ? length : length + ONE;
+        if (CollectiosMetrics.ENABLED) {
+            recordUpdate(CollectiosMetrics.Operation.MAP_ADD, root, newRoot, hash, newLength);
+        }
+        return new CollectioMap<>(newRoot, newLength);
     }
 
     /**
-     * Method to add multiple key values to the map
+     * Method to add multiple key values to the map, all of them are added through one transient
      *
      * @param map
      * @return CollectioMap
      */
     @Override
     public CollectioMap<K, V> addAll(Map<? extends K, ? extends V> map) {
-        CollectioMap<K, V> result = this;
-        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
-            result = result.add(entry.getKey(), entry.getValue());
+        if (map.isEmpty()) {
+            return this;
         }
-        return result;
+        return new TransientMap<>(root, length).addAll(map).persistent();
     }
 
     /**
@@ -171,7 +429,18 @@ public final class CollectioMap<K, V> extends AbstractMap<K, V> implements CMap<
      * @return boolean
      */
     public boolean contains(final Object key) {
-        return getKeyIndex(getEntries(key.hashCode()), key) != -1;
+        return root.find(key, CollectioMapNode.hash(key), ZERO, NOT_FOUND) != NOT_FOUND;
+    }
+
+    /**
+     * Overridden method for checking whether there is an object for specified key
+     *
+     * @param key
+     * @return boolean
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return contains(key);
     }
 
     /**
@@ -181,15 +450,10 @@ public final class CollectioMap<K, V> extends AbstractMap<K, V> implements CMap<
      * @return
      */
     @Override
+    @SuppressWarnings("unchecked")
     public V get(final Object key) {
-        Collectios<Entry<K, V>> entries = getEntries(key.hashCode());
-
-        for (Entry<K, V> entry : entries)
-            if (entry.getKey().equals(key)) {
-                return entry.getValue();
-            }
-
-        return null;
+        Object value = root.find(key, CollectioMapNode.hash(key), ZERO, NOT_FOUND);
+        return value == NOT_FOUND ? null : (V) value;
     }
 
     /**
@@ -200,18 +464,46 @@ public final class CollectioMap<K, V> extends AbstractMap<K, V> implements CMap<
      */
     @Override
     public CollectioMap<K, V> delete(Object key) {
-        Collectios<Entry<K, V>> entries = getEntries(key.hashCode());
-        int i = getKeyIndex(entries, key);
-        if (i == -1) {
+        NodeChange change = new NodeChange();
+        int hash = CollectioMapNode.hash(key);
+        CollectioMapNode<K, V> newRoot = root.removed(null, key, hash, ZERO, change);
+        if (!change.modified) {
             return this;
         }
-        entries = entries.delete(i);
-        if (entries.size() == 0) {
-            return new CollectioMap<>(integerMap.delete(key.hashCode()), length - 1);
+        if (CollectiosMetrics.ENABLED) {
+            recordUpdate(CollectiosMetrics.Operation.MAP_DELETE, root, newRoot, hash, length - ONE);
+        }
+        return new CollectioMap<>(newRoot, length - ONE);
+    }
+
+    /**
+     * Method to record the nodes copied on the path of the hash, the entries out of them are held
+     * by the nodes shared with the previous version
+     *
+     * @param operation
+     * @param oldRoot
+     * @param newRoot
+     * @param hash
+     * @param size
+     */
+    private static void recordUpdate(final CollectiosMetrics.Operation operation, final CollectioMapNode<?, ?> oldRoot,
+                                     final CollectioMapNode<?, ?> newRoot, final int hash, final int size) {
+        int allocated = ZERO;
+        int copiedEntries = ZERO;
+        CollectioMapNode<?, ?> oldNode = oldRoot;
+        CollectioMapNode<?, ?> newNode = newRoot;
+        for (int shift = ZERO; newNode != null && newNode != oldNode; shift += CollectioMapNode.BITS) {
+            allocated++;
+            copiedEntries += newNode.payloadArity();
+            oldNode = nodeOnPath(oldNode, hash, shift);
+            newNode = nodeOnPath(newNode, hash, shift);
         }
+        CollectiosMetrics.recordUpdate(operation, allocated, size - copiedEntries, size);
+    }
 
-        return new CollectioMap<>(integerMap.add(key.hashCode(), entries),
-                length - 1);
+    private static CollectioMapNode<?, ?> nodeOnPath(final CollectioMapNode<?, ?> node, final int hash,
+                                                     final int shift) {
+        return node instanceof BitmapIndexedNode ? ((BitmapIndexedNode<?, ?>) node).nodeOnPath(hash, shift) : null;
     }
 
     /**
@@ -222,24 +514,234 @@ public final class CollectioMap<K, V> extends AbstractMap<K, V> implements CMap<
      */
     @Override
     public CollectioMap<K, V> deleteAll(Collection<? extends K> keys) {
-        CollectioMap<K, V> result = this;
+        if (keys.isEmpty()) {
+            return this;
+        }
+        TransientMap<K, V> result = new TransientMap<>(root, length);
         for (Object key : keys) {
-            result = result.delete(key);
+            result.delete(key);
         }
-        return result;
+        return result.size() == length ? this : result.persistent();
     }
 
     /**
-     * Method to get entries
+     * Method to get a transient of the map, it does not change this map
      *
-     * @param hash
-     * @return Collectios
+     * @return TransientCMap
+     */
+    @Override
+    public TransientCMap<K, V> toTransient() {
+        return new TransientMap<>(root, length);
+    }
+
+    /**
+     * Method to get the map with the entries of both maps, the values of the other map win.
+     * The tries are merged node by node, sub tries which are the same in both maps are taken as they are.
+     *
+     * @param other
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> union(final CollectioMap<K, V> other) {
+        return union(other, null);
+    }
+
+    /**
+     * Method to get the union of the maps, the entries added or changed in this map are reported to the visitor
+     *
+     * @param other
+     * @param visitor
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> union(final CollectioMap<K, V> other,
+                                    final MapDiffVisitor<? super K, ? super V> visitor) {
+        return withRoot(TrieMerge.union(root, other.root, ZERO, visitor), other);
+    }
+
+    /**
+     * Method to get the entries of this map whose keys are in the other map, the tries are merged node by node
+     *
+     * @param other
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> intersect(final CollectioMap<K, V> other) {
+        return intersect(other, null);
+    }
+
+    /**
+     * Method to get the intersection of the maps, the entries removed from this map are reported to the visitor
+     *
+     * @param other
+     * @param visitor
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> intersect(final CollectioMap<K, V> other,
+                                        final MapDiffVisitor<? super K, ? super V> visitor) {
+        return withRoot(TrieMerge.intersect(root, other.root, ZERO, visitor), other);
+    }
+
+    /**
+     * Method to get the entries of this map whose keys are not in the other map, the tries are merged node by node
+     *
+     * @param other
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> difference(final CollectioMap<K, V> other) {
+        return difference(other, null);
+    }
+
+    /**
+     * Method to get the difference of the maps, the entries removed from this map are reported to the visitor
+     *
+     * @param other
+     * @param visitor
+     * @return CollectioMap
      */
-    private Collectios<Entry<K, V>> getEntries(final int hash) {
-        Collectios<Entry<K, V>> entries = integerMap.get(hash);
-        if (entries == null) {
-            return CollectiosList.empty();
+    public CollectioMap<K, V> difference(final CollectioMap<K, V> other,
+                                         final MapDiffVisitor<? super K, ? super V> visitor) {
+        return withRoot(TrieMerge.difference(root, other.root, ZERO, visitor), other);
+    }
+
+    /**
+     * Method to check whether all the keys of this map are in the other map,
+     * sub tries which are the same in both maps are not visited
+     *
+     * @param other
+     * @return boolean
+     */
+    public boolean isKeySubsetOf(final CollectioMap<?, ?> other) {
+        return TrieMerge.isKeySubset(root, other.root, ZERO);
+    }
+
+    private CollectioMap<K, V> withRoot(final CollectioMapNode<K, V> newRoot, final CollectioMap<K, V> other) {
+        if (newRoot == root) {
+            return this;
         }
-        return entries;
+        if (newRoot == other.root) {
+            return other;
+        }
+        return of(newRoot, newRoot.size());
+    }
+
+    /**
+     * Method to report the differences between this map and the newer one to the visitor.
+     * Sub tries shared by both maps are skipped, so the cost is proportional to the size of the change
+     * when the other map has been derived from this one.
+     *
+     * @param other
+     * @param visitor
+     */
+    public void diff(final CollectioMap<K, V> other, final MapDiffVisitor<? super K, ? super V> visitor) {
+        TrieDiff.diff(root, other.root, ZERO, visitor);
+    }
+
+    /**
+     * Method to get the differences between this map and the newer one
+     *
+     * @param other
+     * @return MapDiff
+     */
+    public MapDiff<K, V> diff(final CollectioMap<K, V> other) {
+        TransientMap<K, V> added = new TransientMap<>(BitmapIndexedNode.empty(), ZERO);
+        TransientMap<K, V> removed = new TransientMap<>(BitmapIndexedNode.empty(), ZERO);
+        TransientMap<K, V> changed = new TransientMap<>(BitmapIndexedNode.empty(), ZERO);
+        diff(other, new MapDiffVisitor<K, V>() {
+            @Override
+            public void added(final K key, final V value) {
+                added.add(key, value);
+            }
+
+            @Override
+            public void removed(final K key, final V value) {
+                removed.add(key, value);
+            }
+
+            @Override
+            public void changed(final K key, final V oldValue, final V newValue) {
+                changed.add(key, newValue);
+            }
+        });
+        return new MapDiff<>(added.persistent(), removed.persistent(), changed.persistent());
+    }
+
+    /**
+     * Overridden method to get the map whose sub tries are interned in a weak global pool, so equal
+     * sub tries of all the canonicalized maps are one object and are compared by reference.
+     * The trie is interned bottom up in O(n), sub tries already canonical are kept.
+     *
+     * @return CollectioMap
+     */
+    @Override
+    public CollectioMap<K, V> canonicalize() {
+        CollectioMapNode<K, V> canonical = TrieIntern.canonical(root);
+        return canonical == root ? this : new CollectioMap<>(canonical, length);
+    }
+
+    /**
+     * Overridden method to get the hash code of the map, it is memoized by the nodes of the trie,
+     * so only the nodes copied since the last computed version are visited
+     *
+     * @return int
+     */
+    @Override
+    public int hashCode() {
+        return root.entriesHash();
+    }
+
+    /**
+     * Overridden method to compare the map with the other one, two collectio maps are compared
+     * node by node and sub tries shared by both maps are not visited
+     *
+     * @param o
+     * @return boolean
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof CollectioMap) {
+            CollectioMap<?, ?> other = (CollectioMap<?, ?>) o;
+            return length == other.length && TrieDiff.equal(root, other.root, ZERO);
+        }
+        return super.equals(o);
+    }
+
+    /**
+     * Method to write the map to the node output, the sub tries written to it before,
+     * for instance by an older version of the map, are written as references
+     *
+     * @param out
+     * @param keyCodec
+     * @param valueCodec
+     * @throws IOException
+     */
+    public void write(final NodeOutput out, final Codec<? super K> keyCodec, final Codec<? super V> valueCodec)
+            throws IOException {
+        TrieCodec.write(root, out, keyCodec, valueCodec);
+    }
+
+    /**
+     * Method to read the map written by {@link #write}
+     *
+     * @param in
+     * @param keyCodec
+     * @param valueCodec
+     * @param <K>
+     * @param <V>
+     * @return CollectioMap
+     * @throws IOException
+     */
+    public static <K, V> CollectioMap<K, V> read(final NodeInput in, final Codec<K> keyCodec,
+                                                 final Codec<V> valueCodec) throws IOException {
+        CollectioMapNode<K, V> root = TrieCodec.read(in, keyCodec, valueCodec);
+        return of(root, root.size());
+    }
+
+    private Object writeReplace() {
+        return new CollectiosExternalizable(this);
+    }
+
+    private void readObject(final ObjectInputStream stream) throws InvalidObjectException {
+        throw new InvalidObjectException("CollectioMap is serialized by CollectiosExternalizable");
     }
 }
@@ -1,32 +1,17 @@
 package com.elvinmahmudov.collectios.cmap;
 
-import com.elvinmahmudov.collectios.clist.Collectios;
-import com.elvinmahmudov.collectios.clist.CollectiosList;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map.Entry;
 
-import java.util.Iterator;
+/**
+ * Depth first iterator over the entries of the trie, see {@link TrieIterator}
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public class CollectioMapIterator<K, V> extends TrieIterator<K, V, Entry<K, V>> {
 
-public class CollectioMapIterator<E> implements Iterator<E> {
-    private final Iterator<Collectios<E>> i;
-    private Collectios<E> seq = CollectiosList.empty();
-
-    CollectioMapIterator(Iterator<Collectios<E>> i) {
-        this.i = i;
-    }
-
-    public boolean hasNext() {
-        return seq.size() > 0 || i.hasNext();
-    }
-
-    public E next() {
-        if (seq.size() == 0) {
-            seq = i.next();
-        }
-        final E result = seq.stream().findFirst().get();
-        seq = seq.subCList(1, seq.size());
-        return result;
-    }
-
-    public void remove() {
-        throw new UnsupportedOperationException();
+    CollectioMapIterator(final CollectioMapNode<K, V> root) {
+        super(root, SimpleImmutableEntry::new);
     }
 }
@@ -0,0 +1,257 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Base class for the nodes of the hash array mapped trie behind CollectioMap.
+ * Every level consumes {@link #BITS} bits of the key hash, nodes are never changed
+ * after they are published, updates copy the path from the root to the changed node.
+ * The only exception are the nodes owned by a transient, they carry its edit token
+ * and are changed in place until the transient is made persistent.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+abstract class CollectioMapNode<K, V> {
+
+    /**
+     * Number of hash bits consumed by each level of the trie
+     */
+    static final int BITS = 5;
+
+    /**
+     * Mask for one level of the hash
+     */
+    static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * Number of bits in the hash, deeper levels hold colliding keys
+     */
+    static final int HASH_LENGTH = 32;
+
+    /**
+     * Maximal depth of the trie including the collision level
+     */
+    static final int MAX_DEPTH = (HASH_LENGTH + BITS - 1) / BITS + 1;
+
+    static final int SIZE_EMPTY = 0;
+    static final int SIZE_ONE = 1;
+    static final int SIZE_MORE = 2;
+
+    /**
+     * Edit token of the transient owning the node, null for published nodes
+     */
+    final Object edit;
+
+    /**
+     * Sum of the hash codes of the entries in the sub trie, 0 until it is computed.
+     * It is only computed for published nodes, so a new version of the map computes it
+     * for the copied nodes and takes it from the shared ones.
+     */
+    int entriesHash;
+
+    /**
+     * Whether the computed sum is 0, so that it is not computed again
+     */
+    boolean entriesHashIsZero;
+
+    /**
+     * Sum of the hash codes of the keys in the sub trie, memoized like the one of the entries,
+     * it is the hash code of the key set and so of the sets backed by the map
+     */
+    int keysHash;
+
+    boolean keysHashIsZero;
+
+    CollectioMapNode(final Object edit) {
+        this.edit = edit;
+    }
+
+    /**
+     * Method to check whether the node can be changed in place
+     *
+     * @param edit
+     * @return boolean
+     */
+    boolean isAllowedToEdit(final Object edit) {
+        return edit != null && this.edit == edit;
+    }
+
+    /**
+     * Method to calculate the trie hash of the key
+     *
+     * @param key
+     * @return int
+     */
+    static int hash(final Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Method to get the part of the hash used on the given level
+     *
+     * @param hash
+     * @param shift
+     * @return int
+     */
+    static int mask(final int hash, final int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    /**
+     * Method to get the bit of the bitmap for the given mask
+     *
+     * @param mask
+     * @return int
+     */
+    static int bitpos(final int mask) {
+        return 1 << mask;
+    }
+
+    /**
+     * Method to find the value by key
+     *
+     * @param key
+     * @param hash
+     * @param shift
+     * @param notFound returned when there is no such key
+     * @return value or notFound
+     */
+    abstract Object find(Object key, int hash, int shift, Object notFound);
+
+    /**
+     * Method to get the node with the key mapped to value
+     *
+     * @param edit token of the transient doing the update or null
+     * @param key
+     * @param value
+     * @param hash
+     * @param shift
+     * @param change
+     * @return CollectioMapNode, this when nothing has changed or the node has been changed in place
+     */
+    abstract CollectioMapNode<K, V> updated(Object edit, K key, V value, int hash, int shift, NodeChange change);
+
+    /**
+     * Method to get the node without the key
+     *
+     * @param edit token of the transient doing the update or null
+     * @param key
+     * @param hash
+     * @param shift
+     * @param change
+     * @return CollectioMapNode, this when nothing has changed or the node has been changed in place
+     */
+    abstract CollectioMapNode<K, V> removed(Object edit, Object key, int hash, int shift, NodeChange change);
+
+    abstract boolean hasNodes();
+
+    abstract int nodeArity();
+
+    abstract CollectioMapNode<K, V> getNode(int index);
+
+    abstract boolean hasPayload();
+
+    abstract int payloadArity();
+
+    abstract K getKey(int index);
+
+    abstract V getValue(int index);
+
+    /**
+     * Method to get the number of entries in the sub trie, it is kept by every node
+     * so that the trie can be split by sub tries of known size
+     *
+     * @return int
+     */
+    abstract int size();
+
+    /**
+     * Method to get the sum of the hash codes of the entries in the sub trie, it is memoized by the node
+     *
+     * @return int
+     */
+    final int entriesHash() {
+        int h = entriesHash;
+        if (h == 0 && !entriesHashIsZero) {
+            for (int i = 0; i < payloadArity(); i++) {
+                h += Objects.hashCode(getKey(i)) ^ Objects.hashCode(getValue(i));
+            }
+            for (int i = 0; i < nodeArity(); i++) {
+                h += getNode(i).entriesHash();
+            }
+            if (h == 0) {
+                entriesHashIsZero = true;
+            } else {
+                entriesHash = h;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Method to get the sum of the hash codes of the keys in the sub trie, it is memoized by the node
+     *
+     * @return int
+     */
+    final int keysHash() {
+        int h = keysHash;
+        if (h == 0 && !keysHashIsZero) {
+            for (int i = 0; i < payloadArity(); i++) {
+                h += Objects.hashCode(getKey(i));
+            }
+            for (int i = 0; i < nodeArity(); i++) {
+                h += getNode(i).keysHash();
+            }
+            if (h == 0) {
+                keysHashIsZero = true;
+            } else {
+                keysHash = h;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Method to pass the entries of the sub trie to the action, the entries of the node come first
+     * and then the ones of the sub nodes in their order, like in the iterators
+     *
+     * @param action
+     */
+    void forEach(final BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < payloadArity(); i++) {
+            action.accept(getKey(i), getValue(i));
+        }
+        for (int i = 0; i < nodeArity(); i++) {
+            getNode(i).forEach(action);
+        }
+    }
+
+    /**
+     * Method to fold the entries of the sub trie in the order of {@link #forEach}
+     *
+     * @param result
+     * @param folder
+     * @return the result after the last entry
+     */
+    <R> R fold(final R result, final MapFolder<R, ? super K, ? super V> folder) {
+        R r = result;
+        for (int i = 0; i < payloadArity(); i++) {
+            r = folder.apply(r, getKey(i), getValue(i));
+        }
+        for (int i = 0; i < nodeArity(); i++) {
+            r = getNode(i).fold(r, folder);
+        }
+        return r;
+    }
+
+    /**
+     * Method to tell whether the node is empty, holds a single entry or more
+     *
+     * @return SIZE_EMPTY, SIZE_ONE or SIZE_MORE
+     */
+    abstract int sizePredicate();
+}
@@ -0,0 +1,160 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the entries of the trie, it is split along the sub tries.
+ * Every node knows the number of entries below it, so both halves of a split report the exact size.
+ * A spliterator covers the entries of a node from payloadIndex and its sub nodes from nodeIndex to nodeEnd.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @param <T> Element made of the key and the value
+ * @author emahmudov
+ */
+final class CollectioMapSpliterator<K, V, T> implements Spliterator<T> {
+
+    private final BiFunction<? super K, ? super V, ? extends T> element;
+
+    private CollectioMapNode<K, V> node;
+    private int payloadIndex;
+    private int payloadEnd;
+    private int nodeIndex;
+    private int nodeEnd;
+
+    /**
+     * Spliterator of the sub node being traversed
+     */
+    private CollectioMapSpliterator<K, V, T> current;
+
+    /**
+     * Exact number of the elements left
+     */
+    private long remaining;
+
+    CollectioMapSpliterator(final CollectioMapNode<K, V> node, final BiFunction<? super K, ? super V, ? extends T> element) {
+        this(node, element, 0, node.payloadArity(), 0, node.nodeArity(), node.size());
+    }
+
+    private CollectioMapSpliterator(final CollectioMapNode<K, V> node,
+                                    final BiFunction<? super K, ? super V, ? extends T> element,
+                                    final int payloadIndex, final int payloadEnd,
+                                    final int nodeIndex, final int nodeEnd, final long remaining) {
+        this.node = node;
+        this.element = element;
+        this.payloadIndex = payloadIndex;
+        this.payloadEnd = payloadEnd;
+        this.nodeIndex = nodeIndex;
+        this.nodeEnd = nodeEnd;
+        this.remaining = remaining;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        while (true) {
+            if (payloadIndex < payloadEnd) {
+                action.accept(element.apply(node.getKey(payloadIndex), node.getValue(payloadIndex)));
+                payloadIndex++;
+                remaining--;
+                return true;
+            }
+            if (current != null) {
+                if (current.tryAdvance(action)) {
+                    remaining--;
+                    return true;
+                }
+                current = null;
+            }
+            if (nodeIndex >= nodeEnd) {
+                return false;
+            }
+            current = new CollectioMapSpliterator<>(node.getNode(nodeIndex++), element);
+        }
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        for (; payloadIndex < payloadEnd; payloadIndex++) {
+            action.accept(element.apply(node.getKey(payloadIndex), node.getValue(payloadIndex)));
+        }
+        if (current != null) {
+            current.forEachRemaining(action);
+            current = null;
+        }
+        for (; nodeIndex < nodeEnd; nodeIndex++) {
+            forEach(node.getNode(nodeIndex), action);
+        }
+        remaining = 0;
+    }
+
+    private void forEach(final CollectioMapNode<K, V> node, final Consumer<? super T> action) {
+        for (int i = 0; i < node.payloadArity(); i++) {
+            action.accept(element.apply(node.getKey(i), node.getValue(i)));
+        }
+        for (int i = 0; i < node.nodeArity(); i++) {
+            forEach(node.getNode(i), action);
+        }
+    }
+
+    /**
+     * Method to split the spliterator, the sub node being traversed is given away first,
+     * then the half of the sub nodes, a spliterator left with a single sub node descends into it
+     *
+     * @return Spliterator or null when there is nothing to split
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (current != null) {
+            CollectioMapSpliterator<K, V, T> prefix = current;
+            current = null;
+            remaining -= prefix.remaining;
+            return prefix;
+        }
+
+        int nodes = nodeEnd - nodeIndex;
+        if (nodes >= 2) {
+            int middle = nodeIndex + nodes / 2;
+            long size = payloadEnd - payloadIndex;
+            for (int i = nodeIndex; i < middle; i++) {
+                size += node.getNode(i).size();
+            }
+            CollectioMapSpliterator<K, V, T> prefix =
+                    new CollectioMapSpliterator<>(node, element, payloadIndex, payloadEnd, nodeIndex, middle, size);
+            payloadIndex = payloadEnd;
+            nodeIndex = middle;
+            remaining -= size;
+            return prefix;
+        }
+
+        if (nodes == 1) {
+            if (payloadIndex < payloadEnd) {
+                long size = payloadEnd - payloadIndex;
+                CollectioMapSpliterator<K, V, T> prefix =
+                        new CollectioMapSpliterator<>(node, element, payloadIndex, payloadEnd, nodeIndex, nodeIndex, size);
+                payloadIndex = payloadEnd;
+                remaining -= size;
+                return prefix;
+            }
+            node = node.getNode(nodeIndex);
+            payloadIndex = 0;
+            payloadEnd = node.payloadArity();
+            nodeIndex = 0;
+            nodeEnd = node.nodeArity();
+            return trySplit();
+        }
+
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+    }
+}
@@ -0,0 +1,890 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * This class is analogue for Java TreeMap, but immutable and consistent.
+ * Entries are kept in an AVL tree, lookups, floor and ceiling take O(log n) and every new version
+ * shares all untouched nodes with the previous one.
+ * The range views and the descending view share the tree of this map, they only keep their bounds,
+ * so creating them and getting their sizes takes O(log n) without copying any entry.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public final class CollectioSortedMap<K, V> extends AbstractMap<K, V> implements CSortedMap<K, V> {
+
+    private static final CollectioSortedMap<Object, Object> EMPTY = new CollectioSortedMap<>(null);
+
+    /**
+     * Root node of the tree, it is shared by all the views of the map
+     */
+    private final SortedMapNode<K, V> root;
+
+    /**
+     * Comparator of the keys, null for the natural ordering
+     */
+    private final Comparator<? super K> comparator;
+
+    /**
+     * Whether the map is a descending view of the tree
+     */
+    private final boolean descending;
+
+    /**
+     * Lower bound of the view in the ascending order of the tree, there is none when fromStart is true
+     */
+    private final boolean fromStart;
+    private final K lo;
+    private final boolean loInclusive;
+
+    /**
+     * Upper bound of the view in the ascending order of the tree, there is none when toEnd is true
+     */
+    private final boolean toEnd;
+    private final K hi;
+    private final boolean hiInclusive;
+
+    /**
+     * Length of the map
+     */
+    private final int length;
+
+    /**
+     * Set of entries
+     */
+    private Set<Entry<K, V>> entrySet = null;
+
+    /**
+     * Set of keys
+     */
+    private NavigableSet<K> keySet = null;
+
+    private CollectioSortedMap(final Comparator<? super K> comparator) {
+        this(null, comparator, false, true, null, false, true, null, false);
+    }
+
+    private CollectioSortedMap(final SortedMapNode<K, V> root, final Comparator<? super K> comparator,
+                               final boolean descending,
+                               final boolean fromStart, final K lo, final boolean loInclusive,
+                               final boolean toEnd, final K hi, final boolean hiInclusive) {
+        this.root = root;
+        this.comparator = comparator;
+        this.descending = descending;
+        this.fromStart = fromStart;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.toEnd = toEnd;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+        this.length = emptyRange() ? ZERO : (toEnd ? SortedMapNode.size(root) : rank(hi, hiInclusive))
+                - (fromStart ? ZERO : rank(lo, !loInclusive));
+    }
+
+    /**
+     * Whether both bounds are the same key and one of them excludes it, the ranks of the bounds
+     * then count the key on the wrong sides
+     *
+     * @return boolean
+     */
+    private boolean emptyRange() {
+        return !fromStart && !toEnd && !(loInclusive && hiInclusive) && compare(lo, hi) == 0;
+    }
+
+    /**
+     * Method for getting empty map ordered by the natural ordering of the keys
+     *
+     * @param <K>
+     * @param <V>
+     * @return CollectioSortedMap
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> CollectioSortedMap<K, V> empty() {
+        return (CollectioSortedMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Method for getting empty map ordered by the comparator
+     *
+     * @param comparator
+     * @param <K>
+     * @param <V>
+     * @return CollectioSortedMap
+     */
+    public static <K, V> CollectioSortedMap<K, V> empty(final Comparator<? super K> comparator) {
+        if (comparator == null) {
+            return empty();
+        }
+        return new CollectioSortedMap<>(comparator);
+    }
+
+    /**
+     * Method for converting maps to sorted collectio maps, sorted maps keep their comparator
+     *
+     * @param map
+     * @param <K>
+     * @param <V>
+     * @return CollectioSortedMap
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> CollectioSortedMap<K, V> of(final Map<? extends K, ? extends V> map) {
+        if (map instanceof CollectioSortedMap) {
+            return (CollectioSortedMap<K, V>) map;
+        }
+        if (map instanceof SortedMap) {
+            Comparator<? super K> comparator = (Comparator<? super K>) ((SortedMap<K, V>) map).comparator();
+            return CollectioSortedMap.<K, V>empty(comparator).addAll(map);
+        }
+        return CollectioSortedMap.<K, V>empty().addAll(map);
+    }
+
+    /**
+     * Method to get an empty transient for building a map
+     *
+     * @param <K>
+     * @param <V>
+     * @return TransientCMap
+     */
+    public static <K, V> TransientCMap<K, V> builder() {
+        return CollectioSortedMap.<K, V>empty().toTransient();
+    }
+
+    /**
+     * Method to get size of the map
+     *
+     * @return int
+     */
+    @Override
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Overridden method to get set of entries, they are iterated in the order of the map
+     *
+     * @return Set of entries
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+
+                @Override
+                public int size() {
+                    return length;
+                }
+
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public boolean contains(final Object e) {
+                    if (!(e instanceof Entry)) {
+                        return false;
+                    }
+                    SortedMapNode<K, V> node = find(((Entry<?, ?>) e).getKey());
+                    return node != null && node.equals(e);
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        if (keySet == null) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    /**
+     * Method to add value by key, the key has to be in the range of the view
+     *
+     * @param key
+     * @param value
+     * @return CollectioSortedMap
+     */
+    @Override
+    public CollectioSortedMap<K, V> add(final K key, final V value) {
+        if (!inRange(key)) {
+            throw new IllegalArgumentException("key out of range");
+        }
+        NodeChange change = new NodeChange();
+        SortedMapNode<K, V> newRoot = SortedMapNode.updated(root, key, value, comparator, change);
+        if (!change.modified) {
+            return this;
+        }
+        return withRoot(newRoot);
+    }
+
+    /**
+     * Method to add multiple key values to the map
+     *
+     * @param map
+     * @return CollectioSortedMap
+     */
+    @Override
+    public CollectioSortedMap<K, V> addAll(final Map<? extends K, ? extends V> map) {
+        CollectioSortedMap<K, V> result = this;
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.add(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Overridden method to delete specified key from map, keys out of the range of the view are ignored
+     *
+     * @param key
+     * @return CollectioSortedMap
+     */
+    @Override
+    public CollectioSortedMap<K, V> delete(final Object key) {
+        if (!inRange(key)) {
+            return this;
+        }
+        NodeChange change = new NodeChange();
+        SortedMapNode<K, V> newRoot = SortedMapNode.removed(root, key, comparator, change);
+        if (!change.modified) {
+            return this;
+        }
+        return withRoot(newRoot);
+    }
+
+    /**
+     * Overridden method to delete multiple keys from the map
+     *
+     * @param keys
+     * @return CollectioSortedMap
+     */
+    @Override
+    public CollectioSortedMap<K, V> deleteAll(final Collection<? extends K> keys) {
+        CollectioSortedMap<K, V> result = this;
+        for (Object key : keys) {
+            result = result.delete(key);
+        }
+        return result;
+    }
+
+    /**
+     * Method to get a transient of the map, it does not change this map
+     *
+     * @return TransientCMap
+     */
+    @Override
+    public TransientCMap<K, V> toTransient() {
+        return new TransientSortedMap<>(this);
+    }
+
+    /**
+     * Overridden method for checking whether there is an object for specified key
+     *
+     * @param key
+     * @return boolean
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Overridden method to get value by key
+     *
+     * @param key
+     * @return V
+     */
+    @Override
+    public V get(final Object key) {
+        SortedMapNode<K, V> node = find(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Method to get the entry at the index in the order of the map
+     *
+     * @param index
+     * @return Entry
+     */
+    public Entry<K, V> entryAt(final int index) {
+        if (index < ZERO || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+        }
+        int offset = fromStart ? ZERO : rank(lo, !loInclusive);
+        int position = descending ? offset + length - 1 - index : offset + index;
+        return SortedMapNode.at(root, position);
+    }
+
+    /**
+     * Method to get the index of the key in the order of the map
+     *
+     * @param key
+     * @return int, -1 when there is no such key
+     */
+    public int indexOfKey(final Object key) {
+        if (find(key) == null) {
+            return -1;
+        }
+        int index = rank(key, false) - (fromStart ? ZERO : rank(lo, !loInclusive));
+        return descending ? length - 1 - index : index;
+    }
+
+    /**
+     * Overridden method to get the hash code of the map, the hash codes of the sub trees are memoized
+     * by the nodes, so only the nodes copied since the last hashed version are visited
+     *
+     * @return int
+     */
+    @Override
+    public int hashCode() {
+        if (fromStart && toEnd) {
+            return SortedMapNode.entriesHash(root);
+        }
+        return super.hashCode();
+    }
+
+    /**
+     * Overridden method to compare the map with the other one, views of the same tree with the same
+     * bounds are equal and whole maps with different hash codes are not
+     *
+     * @param o
+     * @return boolean
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof CollectioSortedMap) {
+            CollectioSortedMap<?, ?> other = (CollectioSortedMap<?, ?>) o;
+            if (length != other.length) {
+                return false;
+            }
+            if (root == other.root && fromStart == other.fromStart && toEnd == other.toEnd
+                    && (fromStart || (lo == other.lo && loInclusive == other.loInclusive))
+                    && (toEnd || (hi == other.hi && hiInclusive == other.hiInclusive))) {
+                return true;
+            }
+            if (fromStart && toEnd && other.fromStart && other.toEnd && hashCode() != other.hashCode()) {
+                return false;
+            }
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return descending ? Collections.reverseOrder(comparator) : comparator;
+    }
+
+    @Override
+    public K firstKey() {
+        return key(firstEntry());
+    }
+
+    @Override
+    public K lastKey() {
+        return key(lastEntry());
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return descending ? absHighest() : absLowest();
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        return descending ? absLowest() : absHighest();
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(final K key) {
+        return descending ? absHigher(key) : absLower(key);
+    }
+
+    @Override
+    public K lowerKey(final K key) {
+        return keyOrNull(lowerEntry(key));
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(final K key) {
+        return descending ? absCeiling(key) : absFloor(key);
+    }
+
+    @Override
+    public K floorKey(final K key) {
+        return keyOrNull(floorEntry(key));
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(final K key) {
+        return descending ? absFloor(key) : absCeiling(key);
+    }
+
+    @Override
+    public K ceilingKey(final K key) {
+        return keyOrNull(ceilingEntry(key));
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(final K key) {
+        return descending ? absLower(key) : absHigher(key);
+    }
+
+    @Override
+    public K higherKey(final K key) {
+        return keyOrNull(higherEntry(key));
+    }
+
+    @Override
+    public Entry<K, V> pollFirstEntry() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Entry<K, V> pollLastEntry() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Method to get the view of the map in the reverse order, it shares the tree of this map
+     *
+     * @return CollectioSortedMap
+     */
+    @Override
+    public CollectioSortedMap<K, V> descendingMap() {
+        return new CollectioSortedMap<>(root, comparator, !descending,
+                fromStart, lo, loInclusive, toEnd, hi, hiInclusive);
+    }
+
+    /**
+     * Method to get the view of the keys from fromKey to toKey, it shares the tree of this map
+     *
+     * @param fromKey
+     * @param fromInclusive
+     * @param toKey
+     * @param toInclusive
+     * @return CollectioSortedMap
+     */
+    @Override
+    public CollectioSortedMap<K, V> subMap(final K fromKey, final boolean fromInclusive,
+                                           final K toKey, final boolean toInclusive) {
+        if (descending) {
+            return range(false, toKey, toInclusive, false, fromKey, fromInclusive);
+        }
+        return range(false, fromKey, fromInclusive, false, toKey, toInclusive);
+    }
+
+    @Override
+    public CollectioSortedMap<K, V> headMap(final K toKey, final boolean inclusive) {
+        if (descending) {
+            return range(false, toKey, inclusive, true, null, false);
+        }
+        return range(true, null, false, false, toKey, inclusive);
+    }
+
+    @Override
+    public CollectioSortedMap<K, V> tailMap(final K fromKey, final boolean inclusive) {
+        if (descending) {
+            return range(true, null, false, false, fromKey, inclusive);
+        }
+        return range(false, fromKey, inclusive, true, null, false);
+    }
+
+    @Override
+    public CollectioSortedMap<K, V> subMap(final K fromKey, final K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public CollectioSortedMap<K, V> headMap(final K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public CollectioSortedMap<K, V> tailMap(final K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    /**
+     * Method to create the view with the new bounds, missing bounds are taken from this view
+     *
+     * @return CollectioSortedMap
+     */
+    private CollectioSortedMap<K, V> range(final boolean fromStart, final K lo, final boolean loInclusive,
+                                           final boolean toEnd, final K hi, final boolean hiInclusive) {
+        if (!fromStart && !toEnd && compare(lo, hi) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        if (!fromStart && !inRange(lo, loInclusive)) {
+            throw new IllegalArgumentException("fromKey out of range");
+        }
+        if (!toEnd && !inRange(hi, hiInclusive)) {
+            throw new IllegalArgumentException("toKey out of range");
+        }
+        return new CollectioSortedMap<>(root, comparator, descending,
+                fromStart && this.fromStart, fromStart ? this.lo : lo, fromStart ? this.loInclusive : loInclusive,
+                toEnd && this.toEnd, toEnd ? this.hi : hi, toEnd ? this.hiInclusive : hiInclusive);
+    }
+
+    private CollectioSortedMap<K, V> withRoot(final SortedMapNode<K, V> newRoot) {
+        return new CollectioSortedMap<>(newRoot, comparator, descending,
+                fromStart, lo, loInclusive, toEnd, hi, hiInclusive);
+    }
+
+    private int compare(final Object k0, final Object k1) {
+        return SortedMapNode.compare(comparator, k0, k1);
+    }
+
+    private boolean tooLow(final Object key) {
+        if (fromStart) {
+            return false;
+        }
+        int c = compare(key, lo);
+        return c < 0 || (c == 0 && !loInclusive);
+    }
+
+    private boolean tooHigh(final Object key) {
+        if (toEnd) {
+            return false;
+        }
+        int c = compare(key, hi);
+        return c > 0 || (c == 0 && !hiInclusive);
+    }
+
+    private boolean inRange(final Object key) {
+        return !tooLow(key) && !tooHigh(key);
+    }
+
+    /**
+     * Whether the bound of a new view is in the range of this view, exclusive bounds may be
+     * equal to the bounds of this view
+     */
+    private boolean inRange(final Object key, final boolean inclusive) {
+        if (inclusive) {
+            return inRange(key);
+        }
+        return (fromStart || compare(key, lo) >= 0) && (toEnd || compare(key, hi) <= 0);
+    }
+
+    private SortedMapNode<K, V> find(final Object key) {
+        if (root == null || !inRange(key)) {
+            return null;
+        }
+        return SortedMapNode.find(root, key, comparator);
+    }
+
+    /**
+     * Method to count the keys of the whole tree which are less than the key, or equal to it when inclusive
+     *
+     * @return int
+     */
+    private int rank(final Object key, final boolean inclusive) {
+        int result = ZERO;
+        SortedMapNode<K, V> node = root;
+        while (node != null) {
+            int c = compare(key, node.key);
+            if (c < 0) {
+                node = node.left;
+            } else if (c > 0) {
+                result += SortedMapNode.size(node.left) + 1;
+                node = node.right;
+            } else {
+                return result + SortedMapNode.size(node.left) + (inclusive ? 1 : ZERO);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method to get the node of the least key of the whole tree which is greater than the key,
+     * or equal to it when inclusive
+     */
+    private SortedMapNode<K, V> ceilingNode(final Object key, final boolean inclusive) {
+        SortedMapNode<K, V> result = null;
+        SortedMapNode<K, V> node = root;
+        while (node != null) {
+            int c = compare(key, node.key);
+            if (c == 0 && inclusive) {
+                return node;
+            }
+            if (c < 0) {
+                result = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method to get the node of the greatest key of the whole tree which is less than the key,
+     * or equal to it when inclusive
+     */
+    private SortedMapNode<K, V> floorNode(final Object key, final boolean inclusive) {
+        SortedMapNode<K, V> result = null;
+        SortedMapNode<K, V> node = root;
+        while (node != null) {
+            int c = compare(key, node.key);
+            if (c == 0 && inclusive) {
+                return node;
+            }
+            if (c > 0) {
+                result = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    private SortedMapNode<K, V> absLowest() {
+        SortedMapNode<K, V> node = fromStart ? SortedMapNode.first(root) : ceilingNode(lo, loInclusive);
+        return node == null || tooHigh(node.key) ? null : node;
+    }
+
+    private SortedMapNode<K, V> absHighest() {
+        SortedMapNode<K, V> node = toEnd ? SortedMapNode.last(root) : floorNode(hi, hiInclusive);
+        return node == null || tooLow(node.key) ? null : node;
+    }
+
+    private SortedMapNode<K, V> absCeiling(final K key) {
+        if (tooLow(key)) {
+            return absLowest();
+        }
+        SortedMapNode<K, V> node = ceilingNode(key, true);
+        return node == null || tooHigh(node.key) ? null : node;
+    }
+
+    private SortedMapNode<K, V> absHigher(final K key) {
+        if (tooLow(key)) {
+            return absLowest();
+        }
+        SortedMapNode<K, V> node = ceilingNode(key, false);
+        return node == null || tooHigh(node.key) ? null : node;
+    }
+
+    private SortedMapNode<K, V> absFloor(final K key) {
+        if (tooHigh(key)) {
+            return absHighest();
+        }
+        SortedMapNode<K, V> node = floorNode(key, true);
+        return node == null || tooLow(node.key) ? null : node;
+    }
+
+    private SortedMapNode<K, V> absLower(final K key) {
+        if (tooHigh(key)) {
+            return absHighest();
+        }
+        SortedMapNode<K, V> node = floorNode(key, false);
+        return node == null || tooLow(node.key) ? null : node;
+    }
+
+    private static <K> K key(final Entry<K, ?> entry) {
+        if (entry == null) {
+            throw new NoSuchElementException();
+        }
+        return entry.getKey();
+    }
+
+    private static <K> K keyOrNull(final Entry<K, ?> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * Iterator over the nodes of the view in its order, the path to the next node is kept on a stack
+     */
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+        private final Object[] stack = new Object[SortedMapNode.height(root)];
+        private int depth = ZERO;
+
+        EntryIterator() {
+            SortedMapNode<K, V> node = root;
+            while (node != null) {
+                if (descending ? tooHigh(node.key) : tooLow(node.key)) {
+                    node = descending ? node.left : node.right;
+                } else {
+                    stack[depth++] = node;
+                    node = descending ? node.right : node.left;
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            if (depth == ZERO) {
+                return false;
+            }
+            K key = ((SortedMapNode<K, V>) stack[depth - 1]).key;
+            if (descending ? tooLow(key) : tooHigh(key)) {
+                depth = ZERO;
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public SortedMapNode<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SortedMapNode<K, V> result = (SortedMapNode<K, V>) stack[--depth];
+            SortedMapNode<K, V> node = descending ? result.left : result.right;
+            while (node != null) {
+                stack[depth++] = node;
+                node = descending ? node.right : node.left;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Navigable set of the keys of the view
+     */
+    private final class KeySet extends AbstractSet<K> implements NavigableSet<K> {
+
+        @Override
+        public int size() {
+            return length;
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return containsKey(key);
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            EntryIterator entries = new EntryIterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public K next() {
+                    return entries.next().key;
+                }
+            };
+        }
+
+        @Override
+        public Iterator<K> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return CollectioSortedMap.this.comparator();
+        }
+
+        @Override
+        public K first() {
+            return firstKey();
+        }
+
+        @Override
+        public K last() {
+            return lastKey();
+        }
+
+        @Override
+        public K lower(final K key) {
+            return lowerKey(key);
+        }
+
+        @Override
+        public K floor(final K key) {
+            return floorKey(key);
+        }
+
+        @Override
+        public K ceiling(final K key) {
+            return ceilingKey(key);
+        }
+
+        @Override
+        public K higher(final K key) {
+            return higherKey(key);
+        }
+
+        @Override
+        public K pollFirst() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public K pollLast() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public NavigableSet<K> descendingSet() {
+            return descendingMap().navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> subSet(final K fromElement, final boolean fromInclusive,
+                                      final K toElement, final boolean toInclusive) {
+            return subMap(fromElement, fromInclusive, toElement, toInclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> headSet(final K toElement, final boolean inclusive) {
+            return headMap(toElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> tailSet(final K fromElement, final boolean inclusive) {
+            return tailMap(fromElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public SortedSet<K> subSet(final K fromElement, final K toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> headSet(final K toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> tailSet(final K fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import com.elvinmahmudov.collectios.metrics.CollectiosMetrics;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Trie node for the keys with equal hashes, it is used after all the hash bits are consumed.
+ * The keys are searched linearly while there are few of them. When they are many and all of them are
+ * Comparable keys of one class, like colliding Strings chosen to flood the map, they are kept in
+ * an AVL tree ordered by compareTo, so lookups and updates take O(log n) however many keys collide.
+ * The ordering of the keys has to be consistent with their equals.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+final class HashCollisionNode<K, V> extends CollectioMapNode<K, V> {
+
+    /**
+     * Number of keys above which the comparable keys are moved to the tree
+     */
+    static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * Number of keys at which the keys are moved back from the tree to the arrays
+     */
+    static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * Hash shared by all the keys
+     */
+    final int hash;
+
+    /**
+     * Keys and values searched linearly, null when the keys are in the tree
+     */
+    Object[] keys;
+
+    Object[] values;
+
+    /**
+     * Entries ordered by their keys, null when the keys are in the arrays
+     */
+    SortedMapNode<K, V> tree;
+
+    HashCollisionNode(final Object edit, final int hash, final Object[] keys, final Object[] values) {
+        super(edit);
+        this.hash = hash;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    private HashCollisionNode(final Object edit, final int hash, final SortedMapNode<K, V> tree) {
+        super(edit);
+        this.hash = hash;
+        this.tree = tree;
+    }
+
+    /**
+     * Method to create the node of the keys and values, they are moved to the tree when they are many
+     *
+     * @return HashCollisionNode
+     */
+    static <K, V> HashCollisionNode<K, V> of(final Object edit, final int hash, final Object[] keys,
+                                             final Object[] values) {
+        SortedMapNode<K, V> tree = treeOf(keys, values);
+        return tree == null ? new HashCollisionNode<>(edit, hash, keys, values) : new HashCollisionNode<>(edit, hash, tree);
+    }
+
+    /**
+     * Method to make the tree of the entries when there are more than TREEIFY_THRESHOLD
+     * and all the keys are Comparable of one class
+     *
+     * @return SortedMapNode or null when the keys are few or cannot be compared
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> SortedMapNode<K, V> treeOf(final Object[] keys, final Object[] values) {
+        if (keys.length <= TREEIFY_THRESHOLD || !(keys[0] instanceof Comparable)) {
+            return null;
+        }
+        Class<?> keyClass = keys[0].getClass();
+        for (Object key : keys) {
+            if (key.getClass() != keyClass) {
+                return null;
+            }
+        }
+        NodeChange change = new NodeChange();
+        SortedMapNode<K, V> tree = null;
+        for (int i = 0; i < keys.length; i++) {
+            tree = SortedMapNode.updated(tree, (K) keys[i], (V) values[i], null, change);
+        }
+        return tree;
+    }
+
+    /**
+     * Method to check whether the key can be compared with the keys in the tree
+     *
+     * @param key
+     * @return boolean
+     */
+    private boolean isComparable(final Object key) {
+        return key.getClass() == tree.key.getClass();
+    }
+
+    private int indexOf(final Object key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (key.equals(keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    Object find(final Object key, final int hash, final int shift, final Object notFound) {
+        if (CollectiosMetrics.ENABLED) {
+            CollectiosMetrics.recordCollision(size());
+        }
+        if (tree != null) {
+            SortedMapNode<K, V> node = isComparable(key) ? SortedMapNode.find(tree, key, null) : null;
+            return node == null ? notFound : node.value;
+        }
+        int index = indexOf(key);
+        return index == -1 ? notFound : values[index];
+    }
+
+    @Override
+    CollectioMapNode<K, V> updated(final Object edit, final K key, final V value, final int hash, final int shift,
+                                   final NodeChange change) {
+        if (tree != null) {
+            if (!isComparable(key)) {
+                // a key of another class cannot be ordered with the others, they go back to the arrays
+                return untreeified(edit).updated(edit, key, value, hash, shift, change);
+            }
+            return withTree(edit, SortedMapNode.updated(tree, key, value, null, change));
+        }
+
+        int index = indexOf(key);
+
+        if (index != -1) {
+            if (values[index] == value) {
+                return this;
+            }
+            change.replaced();
+            if (isAllowedToEdit(edit)) {
+                values[index] = value;
+                return this;
+            }
+            Object[] newValues = values.clone();
+            newValues[index] = value;
+            return new HashCollisionNode<>(edit, hash, keys, newValues);
+        }
+
+        change.modified();
+        Object[] newKeys = new Object[keys.length + 1];
+        Object[] newValues = new Object[values.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, keys.length);
+        System.arraycopy(values, 0, newValues, 0, values.length);
+        newKeys[keys.length] = key;
+        newValues[values.length] = value;
+        SortedMapNode<K, V> newTree = treeOf(newKeys, newValues);
+        if (newTree != null) {
+            return withTree(edit, newTree);
+        }
+        return withArrays(edit, newKeys, newValues);
+    }
+
+    @Override
+    CollectioMapNode<K, V> removed(final Object edit, final Object key, final int hash, final int shift,
+                                   final NodeChange change) {
+        if (tree != null) {
+            if (!isComparable(key)) {
+                return this;
+            }
+            SortedMapNode<K, V> newTree = SortedMapNode.removed(tree, key, null, change);
+            if (newTree == tree) {
+                return this;
+            }
+            HashCollisionNode<K, V> result = withTree(edit, newTree);
+            return newTree.size <= UNTREEIFY_THRESHOLD ? result.untreeified(edit) : result;
+        }
+
+        int index = indexOf(key);
+        if (index == -1) {
+            return this;
+        }
+        change.modified();
+
+        if (keys.length == 2) {
+            int rest = index == 0 ? 1 : 0;
+            return new BitmapIndexedNode<>(edit, bitpos(mask(hash, 0)), 0, new Object[]{keys[rest], values[rest]}, 1);
+        }
+
+        Object[] newKeys = new Object[keys.length - 1];
+        Object[] newValues = new Object[values.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+        return withArrays(edit, newKeys, newValues);
+    }
+
+    /**
+     * Method to move the entries of the tree to the arrays
+     *
+     * @param edit
+     * @return HashCollisionNode
+     */
+    private HashCollisionNode<K, V> untreeified(final Object edit) {
+        int n = tree.size;
+        Object[] newKeys = new Object[n];
+        Object[] newValues = new Object[n];
+        for (int i = 0; i < n; i++) {
+            SortedMapNode<K, V> node = SortedMapNode.at(tree, i);
+            newKeys[i] = node.key;
+            newValues[i] = node.value;
+        }
+        if (isAllowedToEdit(edit)) {
+            tree = null;
+        }
+        return withArrays(edit, newKeys, newValues);
+    }
+
+    private HashCollisionNode<K, V> withArrays(final Object edit, final Object[] keys, final Object[] values) {
+        if (isAllowedToEdit(edit)) {
+            this.keys = keys;
+            this.values = values;
+            return this;
+        }
+        return new HashCollisionNode<>(edit, hash, keys, values);
+    }
+
+    private HashCollisionNode<K, V> withTree(final Object edit, final SortedMapNode<K, V> newTree) {
+        if (newTree == tree) {
+            return this;
+        }
+        if (isAllowedToEdit(edit)) {
+            this.tree = newTree;
+            this.keys = null;
+            this.values = null;
+            return this;
+        }
+        return new HashCollisionNode<>(edit, hash, newTree);
+    }
+
+    @Override
+    boolean hasNodes() {
+        return false;
+    }
+
+    @Override
+    int nodeArity() {
+        return 0;
+    }
+
+    @Override
+    CollectioMapNode<K, V> getNode(final int index) {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override
+    boolean hasPayload() {
+        return true;
+    }
+
+    @Override
+    int payloadArity() {
+        return size();
+    }
+
+    /**
+     * Method to get the key at the index, the tree finds it by rank in O(log n)
+     *
+     * @param index
+     * @return K
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    K getKey(final int index) {
+        return tree != null ? SortedMapNode.at(tree, index).key : (K) keys[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V getValue(final int index) {
+        return tree != null ? SortedMapNode.at(tree, index).value : (V) values[index];
+    }
+
+    @Override
+    int size() {
+        return tree != null ? tree.size : keys.length;
+    }
+
+    /**
+     * Overridden method to pass the entries to the action, the tree is walked in order
+     * instead of finding every entry by its rank
+     *
+     * @param action
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    void forEach(final BiConsumer<? super K, ? super V> action) {
+        if (tree != null) {
+            forEach(tree, action);
+            return;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            action.accept((K) keys[i], (V) values[i]);
+        }
+    }
+
+    private static <K, V> void forEach(final SortedMapNode<K, V> node, final BiConsumer<? super K, ? super V> action) {
+        if (node != null) {
+            forEach(node.left, action);
+            action.accept(node.key, node.value);
+            forEach(node.right, action);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    <R> R fold(final R result, final MapFolder<R, ? super K, ? super V> folder) {
+        if (tree != null) {
+            return fold(tree, result, folder);
+        }
+        R r = result;
+        for (int i = 0; i < keys.length; i++) {
+            r = folder.apply(r, (K) keys[i], (V) values[i]);
+        }
+        return r;
+    }
+
+    private static <K, V, R> R fold(final SortedMapNode<K, V> node, final R result,
+                                    final MapFolder<R, ? super K, ? super V> folder) {
+        if (node == null) {
+            return result;
+        }
+        R r = fold(node.left, result, folder);
+        r = folder.apply(r, node.key, node.value);
+        return fold(node.right, r, folder);
+    }
+
+    @Override
+    int sizePredicate() {
+        return SIZE_MORE;
+    }
+}
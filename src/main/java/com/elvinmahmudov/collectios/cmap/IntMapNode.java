@@ -0,0 +1,61 @@
+package com.elvinmahmudov.collectios.cmap;
+
+/**
+ * Trie node keyed by primitive ints, the keys are kept in an int array.
+ * The trie hash is a bijection of the key, so two keys never collide.
+ *
+ * @param <V> Value
+ * @author emahmudov
+ */
+final class IntMapNode<V> extends PrimitiveMapNode<V, int[]> {
+
+    private static final int[] EMPTY_KEYS = new int[0];
+
+    private static final IntMapNode<Object> EMPTY_NODE = new IntMapNode<>(0, 0, EMPTY_KEYS, EMPTY_OBJECTS, EMPTY_OBJECTS);
+
+    IntMapNode(final int dataMap, final int nodeMap, final int[] keys, final Object[] values, final Object[] nodes) {
+        super(dataMap, nodeMap, keys, values, nodes);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> IntMapNode<V> empty() {
+        return (IntMapNode<V>) EMPTY_NODE;
+    }
+
+    /**
+     * Method to calculate the trie hash of the key, it is a bijection of the ints zero-extended to a long
+     *
+     * @param key
+     * @return long
+     */
+    static long hash(final int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & 0xFFFFFFFFL;
+    }
+
+    @Override
+    PrimitiveMapNode<V, int[]> node(final int dataMap, final int nodeMap, final int[] keys, final Object[] values,
+                                   final Object[] nodes) {
+        return new IntMapNode<>(dataMap, nodeMap, keys, values, nodes);
+    }
+
+    @Override
+    int[] newKeys(final int length) {
+        return length == 0 ? EMPTY_KEYS : new int[length];
+    }
+
+    @Override
+    void setKey(final int[] keys, final int index, final long key) {
+        keys[index] = (int) key;
+    }
+
+    @Override
+    long keyAt(final int index) {
+        return keys[index];
+    }
+
+    @Override
+    long hashOf(final long key) {
+        return hash((int) key);
+    }
+}
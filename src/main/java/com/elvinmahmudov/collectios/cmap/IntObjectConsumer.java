@@ -0,0 +1,12 @@
+package com.elvinmahmudov.collectios.cmap;
+
+/**
+ * Consumer of the entries of a CIntObjectMap, the key is not boxed
+ *
+ * @param <V> Value
+ */
+@FunctionalInterface
+public interface IntObjectConsumer<V> {
+
+    void accept(int key, V value);
+}
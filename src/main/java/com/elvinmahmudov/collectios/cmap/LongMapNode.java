@@ -0,0 +1,62 @@
+package com.elvinmahmudov.collectios.cmap;
+
+/**
+ * Trie node keyed by primitive longs, the keys are kept in a long array.
+ * The trie hash is a 64 bit bijection of the key, so two keys never collide
+ * and the trie is at most {@link #MAX_DEPTH} levels deep.
+ *
+ * @param <V> Value
+ * @author emahmudov
+ */
+final class LongMapNode<V> extends PrimitiveMapNode<V, long[]> {
+
+    private static final long[] EMPTY_KEYS = new long[0];
+
+    private static final LongMapNode<Object> EMPTY_NODE = new LongMapNode<>(0, 0, EMPTY_KEYS, EMPTY_OBJECTS, EMPTY_OBJECTS);
+
+    LongMapNode(final int dataMap, final int nodeMap, final long[] keys, final Object[] values, final Object[] nodes) {
+        super(dataMap, nodeMap, keys, values, nodes);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> LongMapNode<V> empty() {
+        return (LongMapNode<V>) EMPTY_NODE;
+    }
+
+    /**
+     * Method to calculate the trie hash of the key, it is a bijection
+     *
+     * @param key
+     * @return long
+     */
+    static long hash(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    @Override
+    PrimitiveMapNode<V, long[]> node(final int dataMap, final int nodeMap, final long[] keys, final Object[] values,
+                                    final Object[] nodes) {
+        return new LongMapNode<>(dataMap, nodeMap, keys, values, nodes);
+    }
+
+    @Override
+    long[] newKeys(final int length) {
+        return length == 0 ? EMPTY_KEYS : new long[length];
+    }
+
+    @Override
+    void setKey(final long[] keys, final int index, final long key) {
+        keys[index] = key;
+    }
+
+    @Override
+    long keyAt(final int index) {
+        return keys[index];
+    }
+
+    @Override
+    long hashOf(final long key) {
+        return hash(key);
+    }
+}
@@ -0,0 +1,12 @@
+package com.elvinmahmudov.collectios.cmap;
+
+/**
+ * Consumer of the entries of a CLongObjectMap, the key is not boxed
+ *
+ * @param <V> Value
+ */
+@FunctionalInterface
+public interface LongObjectConsumer<V> {
+
+    void accept(long key, V value);
+}
@@ -0,0 +1,62 @@
+package com.elvinmahmudov.collectios.cmap;
+
+/**
+ * Differences between two versions of a CollectioMap
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+public final class MapDiff<K, V> {
+
+    private final CollectioMap<K, V> added;
+    private final CollectioMap<K, V> removed;
+    private final CollectioMap<K, V> changed;
+
+    MapDiff(final CollectioMap<K, V> added, final CollectioMap<K, V> removed, final CollectioMap<K, V> changed) {
+        this.added = added;
+        this.removed = removed;
+        this.changed = changed;
+    }
+
+    /**
+     * Entries which are only in the new version
+     *
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> added() {
+        return added;
+    }
+
+    /**
+     * Entries which are only in the old version
+     *
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> removed() {
+        return removed;
+    }
+
+    /**
+     * Keys of both versions with changed values mapped to the new values, the old values are in the old version
+     *
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> changed() {
+        return changed;
+    }
+
+    /**
+     * Whether the versions are equal
+     *
+     * @return boolean
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "MapDiff{added=" + added + ", removed=" + removed + ", changed=" + changed + "}";
+    }
+}
@@ -0,0 +1,25 @@
+package com.elvinmahmudov.collectios.cmap;
+
+/**
+ * Callback for the differences between two versions of a CollectioMap
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public interface MapDiffVisitor<K, V> {
+
+    /**
+     * The key is only in the new version
+     */
+    void added(K key, V value);
+
+    /**
+     * The key is only in the old version
+     */
+    void removed(K key, V value);
+
+    /**
+     * The key is in both versions with values which are not equal
+     */
+    void changed(K key, V oldValue, V newValue);
+}
@@ -0,0 +1,14 @@
+package com.elvinmahmudov.collectios.cmap;
+
+/**
+ * Function folding the entries of a CMap into a result, see {@link CMap#fold(Object, MapFolder)}
+ *
+ * @param <R> Result
+ * @param <K> Key
+ * @param <V> Value
+ */
+@FunctionalInterface
+public interface MapFolder<R, K, V> {
+
+    R apply(R result, K key, V value);
+}
@@ -0,0 +1,260 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * Lazy view of a map with its values mapped or its keys filtered. Nothing is computed when the view is made,
+ * a lookup applies the functions to the one entry it finds in the source and an iteration applies them
+ * entry by entry, so views of views are fused and no intermediate map is allocated. The functions are applied
+ * again every time an entry is read, materialize the view by {@link #toCollectioMap()} when it is read many times.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+public abstract class MapView<K, V> extends AbstractMap<K, V> {
+
+    private Set<Entry<K, V>> entrySet = null;
+
+    private MapView() {
+    }
+
+    /**
+     * Method to create the view of the source with the values transformed by the mapper
+     *
+     * @param source
+     * @param mapper
+     * @param <K>
+     * @param <T>
+     * @param <V>
+     * @return MapView
+     */
+    static <K, T, V> MapView<K, V> mapValues(final Map<K, T> source, final Function<? super T, ? extends V> mapper) {
+        return new MappedValues<>(source, mapper);
+    }
+
+    /**
+     * Method to create the view of the entries of the source with the keys accepted by the predicate
+     *
+     * @param source
+     * @param predicate
+     * @param <K>
+     * @param <V>
+     * @return MapView
+     */
+    static <K, V> MapView<K, V> filterKeys(final Map<K, V> source, final Predicate<? super K> predicate) {
+        return new FilteredKeys<>(source, predicate);
+    }
+
+    /**
+     * Method to create the view of this view with the values transformed by the mapper,
+     * the mapper is applied after the functions of this view to the same entry
+     *
+     * @param mapper
+     * @param <R>
+     * @return MapView
+     */
+    public <R> MapView<K, R> mapValuesView(final Function<? super V, ? extends R> mapper) {
+        return mapValues(this, mapper);
+    }
+
+    /**
+     * Method to create the view of the entries of this view with the keys accepted by the predicate
+     *
+     * @param predicate
+     * @return MapView
+     */
+    public MapView<K, V> filterKeysView(final Predicate<? super K> predicate) {
+        return filterKeys(this, predicate);
+    }
+
+    /**
+     * Method to materialize the view into a CollectioMap in one pass
+     *
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> toCollectioMap() {
+        TransientMap<K, V> result = new TransientMap<>(BitmapIndexedNode.empty(), ZERO);
+        for (Iterator<Entry<K, V>> it = entries(); it.hasNext(); ) {
+            Entry<K, V> entry = it.next();
+            result.add(entry.getKey(), entry.getValue());
+        }
+        return result.persistent();
+    }
+
+    /**
+     * Method to iterate over the entries of the view
+     *
+     * @return Iterator
+     */
+    abstract Iterator<Entry<K, V>> entries();
+
+    /**
+     * Overridden method to get the set of the entries of the view, it is iterated lazily like the view
+     *
+     * @return Set of entries
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return entries();
+                }
+
+                @Override
+                public int size() {
+                    return MapView.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private static final class MappedValues<K, T, V> extends MapView<K, V> {
+        private final Map<K, T> source;
+        private final Function<? super T, ? extends V> mapper;
+
+        MappedValues(final Map<K, T> source, final Function<? super T, ? extends V> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return source.isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return source.containsKey(key);
+        }
+
+        @Override
+        public V get(final Object key) {
+            T value = source.get(key);
+            if (value == null && !source.containsKey(key)) {
+                return null;
+            }
+            return mapper.apply(value);
+        }
+
+        @Override
+        Iterator<Entry<K, V>> entries() {
+            Iterator<Entry<K, T>> it = source.entrySet().iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    Entry<K, T> entry = it.next();
+                    return new SimpleImmutableEntry<>(entry.getKey(), mapper.apply(entry.getValue()));
+                }
+            };
+        }
+    }
+
+    private static final class FilteredKeys<K, V> extends MapView<K, V> {
+        private final Map<K, V> source;
+        private final Predicate<? super K> predicate;
+
+        /**
+         * Size counted when it is first asked for, -1 until then
+         */
+        private int size = -1;
+
+        FilteredKeys(final Map<K, V> source, final Predicate<? super K> predicate) {
+            this.source = source;
+            this.predicate = predicate;
+        }
+
+        /**
+         * Method to test the key of a lookup, it is only called for the keys found in the source,
+         * so the key is equal to a key of the source and is passed to the predicate as one
+         *
+         * @param key
+         * @return boolean
+         */
+        @SuppressWarnings("unchecked")
+        private boolean accepts(final Object key) {
+            return predicate.test((K) key);
+        }
+
+        @Override
+        public int size() {
+            if (size < ZERO) {
+                int count = ZERO;
+                for (K key : source.keySet()) {
+                    if (predicate.test(key)) {
+                        count++;
+                    }
+                }
+                size = count;
+            }
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size < ZERO ? !entries().hasNext() : size == ZERO;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return source.containsKey(key) && accepts(key);
+        }
+
+        @Override
+        public V get(final Object key) {
+            return containsKey(key) ? source.get(key) : null;
+        }
+
+        @Override
+        Iterator<Entry<K, V>> entries() {
+            Iterator<Entry<K, V>> it = source.entrySet().iterator();
+            return new Iterator<>() {
+                private Entry<K, V> next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && it.hasNext()) {
+                        Entry<K, V> entry = it.next();
+                        if (predicate.test(entry.getKey())) {
+                            next = entry;
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Entry<K, V> entry = next;
+                    next = null;
+                    return entry;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import com.elvinmahmudov.collectios.codec.ByteBufferInput;
+import com.elvinmahmudov.collectios.codec.Codec;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * Immutable map served from a memory-mapped snapshot file. Opening the map maps the file and reads its header,
+ * lookups binary search the hashes of the keys in the mapped index and decode only the keys with the same hash
+ * and the value of the found key. The page cache holding the file is shared by all the processes mapping it.
+ * <p>
+ * The snapshot is laid out as
+ * <pre>
+ *   header   magic, version, size, length of the data, 4 ints
+ *   hashes   size ints, the hash codes of the keys in ascending order
+ *   offsets  size ints, the offsets of the entries from the start of the data
+ *   data     the encoded keys and values of the entries in the order of the hashes
+ * </pre>
+ * Keys are found by {@link Object#hashCode()}, so it has to be the same in every JVM reading the snapshot,
+ * like the one of String, Integer or Long. The snapshot is limited to the 2 GB of one mapped buffer.
+ * Updates return a CollectioMap holding all the entries of the snapshot.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public final class MappedCollectioMap<K, V> extends AbstractMap<K, V> implements CMap<K, V> {
+
+    /**
+     * "CMAP" in ASCII
+     */
+    static final int MAGIC = 0x434D4150;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_LENGTH = 16;
+
+    /**
+     * Mapped snapshot file
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Hashes followed by offsets
+     */
+    private final IntBuffer index;
+
+    /**
+     * Offset of the data in the file
+     */
+    private final int dataOffset;
+
+    /**
+     * Length of the map
+     */
+    private final int length;
+
+    private final Codec<K> keyCodec;
+
+    private final Codec<V> valueCodec;
+
+    /**
+     * Set of entries
+     */
+    private Set<Entry<K, V>> entrySet = null;
+
+    private MappedCollectioMap(final ByteBuffer buffer, final int length,
+                               final Codec<K> keyCodec, final Codec<V> valueCodec) {
+        this.buffer = buffer;
+        this.length = length;
+        this.dataOffset = HEADER_LENGTH + 8 * length;
+        this.index = buffer.duplicate().position(HEADER_LENGTH).slice().asIntBuffer();
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * Method to write the snapshot of the map to the file. The snapshot is written to a temporary file
+     * in the same directory which then replaces the file atomically, so the processes which have mapped
+     * the old snapshot keep reading it unchanged. The file gets the permissions of a newly created file
+     *
+     * @param map
+     * @param path
+     * @param keyCodec
+     * @param valueCodec
+     * @param <K>
+     * @param <V>
+     * @throws IOException
+     * @throws NullPointerException when the map has a null key
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> void write(final Map<? extends K, ? extends V> map, final Path path,
+                                    final Codec<? super K> keyCodec, final Codec<? super V> valueCodec)
+            throws IOException {
+        int size = map.size();
+        if (size > (Integer.MAX_VALUE - HEADER_LENGTH) / 8) {
+            throw new IOException("Snapshot is larger than 2 GB");
+        }
+
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+        // hash in the high half and the position in the low half, so that sorting orders the entries by hash
+        long[] order = new long[size];
+        int i = ZERO;
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new NullPointerException("Snapshot can not hold a null key");
+            }
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+            order[i] = ((long) entry.getKey().hashCode() << 32) | i;
+            i++;
+        }
+        Arrays.sort(order);
+
+        int dataOffset = HEADER_LENGTH + 8 * size;
+        ByteBuffer index = ByteBuffer.allocate(8 * size);
+        Path file = path.toAbsolutePath();
+        Path temp;
+        FileChannel created = null;
+        do {
+            temp = file.resolveSibling("." + file.getFileName() + "."
+                    + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                // created with the permissions of a new file, the umask applies unlike to Files.createTempFile
+                created = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                // another name is tried
+            }
+        } while (created == null);
+
+        try {
+            try (FileChannel channel = created) {
+                channel.position(dataOffset);
+                DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+                for (int j = 0; j < size; j++) {
+                    int entry = (int) order[j];
+                    index.putInt(4 * j, (int) (order[j] >> 32));
+                    index.putInt(4 * (size + j), out.size());
+                    keyCodec.encode((K) keys[entry], out);
+                    valueCodec.encode((V) values[entry], out);
+                    if (out.size() >= Integer.MAX_VALUE - dataOffset) {
+                        throw new IOException("Snapshot is larger than 2 GB");
+                    }
+                }
+                out.flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+                header.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(out.size()).flip();
+                writeFully(channel, header, ZERO);
+                writeFully(channel, index, HEADER_LENGTH);
+                channel.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+            throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    /**
+     * Method to open the snapshot, only the header is read, the entries are decoded when they are used
+     *
+     * @param path
+     * @param keyCodec
+     * @param valueCodec
+     * @param <K>
+     * @param <V>
+     * @return MappedCollectioMap
+     * @throws IOException when the file is not a snapshot
+     */
+    public static <K, V> MappedCollectioMap<K, V> open(final Path path, final Codec<K> keyCodec,
+                                                       final Codec<V> valueCodec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileLength = channel.size();
+            if (fileLength > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is larger than 2 GB: " + path);
+            }
+            if (fileLength < HEADER_LENGTH) {
+                throw new IOException("Not a CollectioMap snapshot: " + path);
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, ZERO, fileLength);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a CollectioMap snapshot: " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported snapshot version " + buffer.getInt(4) + ": " + path);
+            }
+            int size = buffer.getInt(8);
+            if (size < ZERO || HEADER_LENGTH + 8L * size + buffer.getInt(12) != fileLength) {
+                throw new IOException("Truncated CollectioMap snapshot: " + path);
+            }
+            return new MappedCollectioMap<>(buffer, size, keyCodec, valueCodec);
+        }
+    }
+
+    /**
+     * Method to get size of the map
+     *
+     * @return int
+     */
+    @Override
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Overridden method to get set of entries, they are decoded one by one in the order of the key hashes
+     *
+     * @return Set of entries
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+
+                @Override
+                public int size() {
+                    return length;
+                }
+
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    ByteBufferInput in = new ByteBufferInput(buffer, dataOffset);
+                    return new Iterator<>() {
+                        private int index = ZERO;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < length;
+                        }
+
+                        @Override
+                        public Entry<K, V> next() {
+                            if (index >= length) {
+                                throw new NoSuchElementException();
+                            }
+                            index++;
+                            try {
+                                K key = keyCodec.decode(in);
+                                return new SimpleImmutableEntry<>(key, valueCodec.decode(in));
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                    };
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Overridden method for checking whether there is an object for specified key
+     *
+     * @param key
+     * @return boolean
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Overridden method to get value by key, only the keys with the same hash are decoded
+     *
+     * @param key
+     * @return V
+     */
+    @Override
+    public V get(final Object key) {
+        ByteBufferInput in = find(key);
+        if (in == null) {
+            return null;
+        }
+        try {
+            return valueCodec.decode(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Method to find the entry of the key by binary search over the hashes
+     *
+     * @param key
+     * @return input positioned at the value of the key or null when there is no such key
+     */
+    private ByteBufferInput find(final Object key) {
+        if (key == null) {
+            return null;
+        }
+        int hash = key.hashCode();
+        int low = ZERO;
+        int high = length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (index.get(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        try {
+            for (int i = low; i < length && index.get(i) == hash; i++) {
+                ByteBufferInput in = new ByteBufferInput(buffer, dataOffset + index.get(length + i));
+                if (key.equals(keyCodec.decode(in))) {
+                    return in;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    /**
+     * Method to decode all the entries into a CollectioMap
+     *
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> toCollectioMap() {
+        TransientMap<K, V> result = new TransientMap<>(BitmapIndexedNode.empty(), ZERO);
+        for (Entry<K, V> entry : entrySet()) {
+            result.add(entry.getKey(), entry.getValue());
+        }
+        return result.persistent();
+    }
+
+    /**
+     * Method to add value by key, the snapshot is decoded into a CollectioMap first
+     *
+     * @param key
+     * @param value
+     * @return CollectioMap
+     */
+    @Override
+    public CollectioMap<K, V> add(final K key, final V value) {
+        return toCollectioMap().add(key, value);
+    }
+
+    @Override
+    public CollectioMap<K, V> addAll(final Map<? extends K, ? extends V> map) {
+        return toCollectioMap().addAll(map);
+    }
+
+    /**
+     * Overridden method to delete specified key from map, the snapshot is decoded into a CollectioMap first
+     *
+     * @param key
+     * @return CollectioMap
+     */
+    @Override
+    public CollectioMap<K, V> delete(final Object key) {
+        return toCollectioMap().delete(key);
+    }
+
+    @Override
+    public CollectioMap<K, V> deleteAll(final Collection<? extends K> keys) {
+        return toCollectioMap().deleteAll(keys);
+    }
+
+    @Override
+    public TransientCMap<K, V> toTransient() {
+        return toCollectioMap().toTransient();
+    }
+}
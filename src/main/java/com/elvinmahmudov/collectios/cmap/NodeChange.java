@@ -0,0 +1,33 @@
+package com.elvinmahmudov.collectios.cmap;
+
+/**
+ * Mutable result of a trie update, filled while the path is being copied
+ *
+ * @author emahmudov
+ */
+final class NodeChange {
+
+    /**
+     * Whether the trie has been changed
+     */
+    boolean modified;
+
+    /**
+     * Whether the value of an existing key has been replaced
+     */
+    boolean replaced;
+
+    void reset() {
+        modified = false;
+        replaced = false;
+    }
+
+    void modified() {
+        modified = true;
+    }
+
+    void replaced() {
+        modified = true;
+        replaced = true;
+    }
+}
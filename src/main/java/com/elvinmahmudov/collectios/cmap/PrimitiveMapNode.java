@@ -0,0 +1,370 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.NoSuchElementException;
+
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.BITS;
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.MASK;
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.SIZE_EMPTY;
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.SIZE_MORE;
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.SIZE_ONE;
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.bitpos;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+/**
+ * Base class for the trie nodes keyed by primitives, they have the same shape as BitmapIndexedNode but keep
+ * the keys in a primitive array. The subclasses choose the array and the trie hash, which is a bijection
+ * of the key, so two keys never collide. Keys and hashes are passed as longs, int keys are widened
+ * and their hashes are zero-extended, so the nodes of both kinds are updated by the same code.
+ *
+ * @param <V> Value
+ * @param <A> Array of the keys
+ * @author emahmudov
+ */
+abstract class PrimitiveMapNode<V, A> {
+
+    /**
+     * Number of bits in the trie hash of the widest keys
+     */
+    static final int HASH_LENGTH = 64;
+
+    /**
+     * Maximal depth of the trie
+     */
+    static final int MAX_DEPTH = (HASH_LENGTH + BITS - 1) / BITS;
+
+    static final Object[] EMPTY_OBJECTS = new Object[0];
+
+    final int dataMap;
+    final int nodeMap;
+    final A keys;
+
+    final Object[] values;
+
+    final Object[] nodes;
+
+    PrimitiveMapNode(final int dataMap, final int nodeMap, final A keys, final Object[] values,
+                     final Object[] nodes) {
+        this.dataMap = dataMap;
+        this.nodeMap = nodeMap;
+        this.keys = keys;
+        this.values = values;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Method to create a node of the same kind
+     *
+     * @return PrimitiveMapNode
+     */
+    abstract PrimitiveMapNode<V, A> node(int dataMap, int nodeMap, A keys, Object[] values, Object[] nodes);
+
+    /**
+     * Method to create an array of keys of the same kind
+     *
+     * @param length
+     * @return A
+     */
+    abstract A newKeys(int length);
+
+    abstract void setKey(A keys, int index, long key);
+
+    abstract long keyAt(int index);
+
+    /**
+     * Method to calculate the trie hash of the key
+     *
+     * @param key
+     * @return long
+     */
+    abstract long hashOf(long key);
+
+    /**
+     * Method to get the part of the hash used on the given level
+     *
+     * @param hash
+     * @param shift
+     * @return int
+     */
+    static int mask(final long hash, final int shift) {
+        return (int) (hash >>> shift) & MASK;
+    }
+
+    /**
+     * Method to create the array holding the node, for the lambdas updating it
+     *
+     * @param node
+     * @param <V>
+     * @param <A>
+     * @return PrimitiveMapNode[]
+     */
+    @SuppressWarnings("unchecked")
+    static <V, A> PrimitiveMapNode<V, A>[] array(final PrimitiveMapNode<V, A> node) {
+        return (PrimitiveMapNode<V, A>[]) new PrimitiveMapNode<?, ?>[]{node};
+    }
+
+    int keyCount() {
+        return Integer.bitCount(dataMap);
+    }
+
+    private A keysOf(final long key0, final long key1) {
+        A result = newKeys(2);
+        setKey(result, ZERO, key0);
+        setKey(result, 1, key1);
+        return result;
+    }
+
+    private PrimitiveMapNode<V, A> mergeTwo(final long key0, final Object value0, final long hash0,
+                                            final long key1, final Object value1, final long hash1,
+                                            final int shift) {
+        int mask0 = mask(hash0, shift);
+        int mask1 = mask(hash1, shift);
+
+        if (mask0 != mask1) {
+            int dataMap = bitpos(mask0) | bitpos(mask1);
+            if (mask0 < mask1) {
+                return node(dataMap, 0, keysOf(key0, key1), new Object[]{value0, value1}, EMPTY_OBJECTS);
+            }
+            return node(dataMap, 0, keysOf(key1, key0), new Object[]{value1, value0}, EMPTY_OBJECTS);
+        }
+
+        PrimitiveMapNode<V, A> node = mergeTwo(key0, value0, hash0, key1, value1, hash1, shift + BITS);
+        return node(0, bitpos(mask0), newKeys(ZERO), EMPTY_OBJECTS, new Object[]{node});
+    }
+
+    private int dataIndex(final int bit) {
+        return Integer.bitCount(dataMap & (bit - 1));
+    }
+
+    private int nodeIndex(final int bit) {
+        return Integer.bitCount(nodeMap & (bit - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    PrimitiveMapNode<V, A> getNode(final int index) {
+        return (PrimitiveMapNode<V, A>) nodes[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    V getValue(final int index) {
+        return (V) values[index];
+    }
+
+    Object find(final long key, final long hash, final int shift, final Object notFound) {
+        PrimitiveMapNode<V, A> node = this;
+        for (int level = shift; ; level += BITS) {
+            int bit = bitpos(mask(hash, level));
+            if ((node.dataMap & bit) != 0) {
+                int index = node.dataIndex(bit);
+                if (node.keyAt(index) != key) {
+                    return notFound;
+                }
+                return node.values[index];
+            }
+            if ((node.nodeMap & bit) == 0) {
+                return notFound;
+            }
+            node = node.getNode(node.nodeIndex(bit));
+        }
+    }
+
+    PrimitiveMapNode<V, A> updated(final long key, final V value, final long hash, final int shift,
+                                   final NodeChange change) {
+        int bit = bitpos(mask(hash, shift));
+
+        if ((dataMap & bit) != 0) {
+            int index = dataIndex(bit);
+            long currentKey = keyAt(index);
+
+            if (currentKey == key) {
+                if (values[index] == value) {
+                    return this;
+                }
+                change.replaced();
+                Object[] newValues = values.clone();
+                newValues[index] = value;
+                return node(dataMap, nodeMap, keys, newValues, nodes);
+            }
+
+            change.modified();
+            PrimitiveMapNode<V, A> node = mergeTwo(currentKey, getValue(index), hashOf(currentKey),
+                    key, value, hash, shift + BITS);
+            return copyAndMigrateFromInlineToNode(bit, index, node);
+        }
+
+        if ((nodeMap & bit) != 0) {
+            int index = nodeIndex(bit);
+            PrimitiveMapNode<V, A> node = getNode(index);
+            PrimitiveMapNode<V, A> newNode = node.updated(key, value, hash, shift + BITS, change);
+            if (newNode == node) {
+                return this;
+            }
+            Object[] newNodes = nodes.clone();
+            newNodes[index] = newNode;
+            return node(dataMap, nodeMap, keys, values, newNodes);
+        }
+
+        change.modified();
+        int index = dataIndex(bit);
+        return node(dataMap | bit, nodeMap, insertKey(index, key), insert(values, index, value), nodes);
+    }
+
+    PrimitiveMapNode<V, A> removed(final long key, final long hash, final int shift, final NodeChange change) {
+        int bit = bitpos(mask(hash, shift));
+
+        if ((dataMap & bit) != 0) {
+            int index = dataIndex(bit);
+            if (keyAt(index) != key) {
+                return this;
+            }
+            change.modified();
+
+            if (keyCount() == 2 && nodeMap == 0) {
+                int newDataMap = shift == 0 ? dataMap ^ bit : bitpos(mask(hash, 0));
+                int rest = index == 0 ? 1 : 0;
+                A newKeys = newKeys(1);
+                setKey(newKeys, ZERO, keyAt(rest));
+                return node(newDataMap, 0, newKeys, new Object[]{values[rest]}, EMPTY_OBJECTS);
+            }
+
+            return node(dataMap ^ bit, nodeMap, removeKey(index), remove(values, index), nodes);
+        }
+
+        if ((nodeMap & bit) != 0) {
+            int index = nodeIndex(bit);
+            PrimitiveMapNode<V, A> node = getNode(index);
+            PrimitiveMapNode<V, A> newNode = node.removed(key, hash, shift + BITS, change);
+            if (newNode == node) {
+                return this;
+            }
+
+            if (newNode.sizePredicate() == SIZE_ONE) {
+                if (dataMap == 0 && nodes.length == 1) {
+                    return newNode;
+                }
+                int dataIndex = dataIndex(bit);
+                return node(dataMap | bit, nodeMap ^ bit,
+                        insertKey(dataIndex, newNode.keyAt(0)), insert(values, dataIndex, newNode.values[0]),
+                        remove(nodes, index));
+            }
+            Object[] newNodes = nodes.clone();
+            newNodes[index] = newNode;
+            return node(dataMap, nodeMap, keys, values, newNodes);
+        }
+
+        return this;
+    }
+
+    private PrimitiveMapNode<V, A> copyAndMigrateFromInlineToNode(final int bit, final int dataIndex,
+                                                                  final PrimitiveMapNode<V, A> node) {
+        return node(dataMap ^ bit, nodeMap | bit, removeKey(dataIndex), remove(values, dataIndex),
+                insert(nodes, nodeIndex(bit), node));
+    }
+
+    int sizePredicate() {
+        if (nodeMap != 0) {
+            return SIZE_MORE;
+        }
+        switch (keyCount()) {
+            case 0:
+                return SIZE_EMPTY;
+            case 1:
+                return SIZE_ONE;
+            default:
+                return SIZE_MORE;
+        }
+    }
+
+    /**
+     * Method to pass every entry of the sub trie to the action, the entries of a node come before
+     * the ones of its sub nodes
+     *
+     * @param action
+     */
+    void forEach(final LongObjectConsumer<? super V> action) {
+        int count = keyCount();
+        for (int i = 0; i < count; i++) {
+            action.accept(keyAt(i), getValue(i));
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            getNode(i).forEach(action);
+        }
+    }
+
+    private A insertKey(final int index, final long key) {
+        int length = keyCount();
+        A result = newKeys(length + 1);
+        System.arraycopy(keys, 0, result, 0, index);
+        setKey(result, index, key);
+        System.arraycopy(keys, index, result, index + 1, length - index);
+        return result;
+    }
+
+    private A removeKey(final int index) {
+        int length = keyCount();
+        A result = newKeys(length - 1);
+        System.arraycopy(keys, 0, result, 0, index);
+        System.arraycopy(keys, index + 1, result, index, length - index - 1);
+        return result;
+    }
+
+    private static Object[] insert(final Object[] array, final int index, final Object value) {
+        Object[] result = new Object[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static Object[] remove(final Object[] array, final int index) {
+        Object[] result = new Object[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    /**
+     * Depth first iterator over the keys of the trie, the keys are not boxed
+     */
+    abstract static class KeyIterator<V, A> {
+
+        private final Object[] nodes = new Object[MAX_DEPTH];
+        private final int[] nodeCursors = new int[MAX_DEPTH];
+        private int depth = ZERO;
+
+        private PrimitiveMapNode<V, A> node;
+        private int keyCursor;
+
+        KeyIterator(final PrimitiveMapNode<V, A> root) {
+            nodes[ZERO] = root;
+            node = root;
+        }
+
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (keyCursor >= node.keyCount()) {
+                if (depth < ZERO) {
+                    return false;
+                }
+                PrimitiveMapNode<V, A> parent = (PrimitiveMapNode<V, A>) nodes[depth];
+                if (nodeCursors[depth] < parent.nodes.length) {
+                    PrimitiveMapNode<V, A> child = parent.getNode(nodeCursors[depth]++);
+                    depth++;
+                    nodes[depth] = child;
+                    nodeCursors[depth] = ZERO;
+                    node = child;
+                    keyCursor = ZERO;
+                } else {
+                    nodes[depth--] = null;
+                }
+            }
+            return true;
+        }
+
+        long nextKey() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return node.keyAt(keyCursor++);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Node of the AVL tree behind CollectioSortedMap. Nodes are never changed, updates copy the path
+ * from the root to the changed node and rebalance it on the way back. Every node keeps the size of
+ * its sub tree, so ranks and the sizes of the range views take O(log n).
+ * The node is the immutable entry of its key and value.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+final class SortedMapNode<K, V> implements Map.Entry<K, V> {
+
+    final K key;
+    final V value;
+    final SortedMapNode<K, V> left;
+    final SortedMapNode<K, V> right;
+
+    /**
+     * Height of the sub tree, a leaf has height one
+     */
+    final int height;
+
+    /**
+     * Number of entries in the sub tree
+     */
+    final int size;
+
+    /**
+     * Sum of the hash codes of the entries in the sub tree, 0 until it is computed
+     */
+    private int entriesHash;
+    private boolean entriesHashIsZero;
+
+    SortedMapNode(final K key, final V value, final SortedMapNode<K, V> left, final SortedMapNode<K, V> right) {
+        this.key = key;
+        this.value = value;
+        this.left = left;
+        this.right = right;
+        this.height = Math.max(height(left), height(right)) + 1;
+        this.size = size(left) + size(right) + 1;
+    }
+
+    static int height(final SortedMapNode<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    static int size(final SortedMapNode<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Method to compare the keys with the comparator or by their natural ordering when it is null
+     *
+     * @param comparator
+     * @param k0
+     * @param k1
+     * @return int
+     */
+    @SuppressWarnings("unchecked")
+    static int compare(final Comparator<?> comparator, final Object k0, final Object k1) {
+        if (comparator == null) {
+            return ((Comparable<Object>) k0).compareTo(k1);
+        }
+        return ((Comparator<Object>) comparator).compare(k0, k1);
+    }
+
+    /**
+     * Method to create the node with the sub trees whose heights differ by two at most,
+     * the node is rotated when they differ by two
+     *
+     * @return SortedMapNode
+     */
+    static <K, V> SortedMapNode<K, V> balance(final K key, final V value,
+                                              final SortedMapNode<K, V> left, final SortedMapNode<K, V> right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new SortedMapNode<>(left.key, left.value, left.left,
+                        new SortedMapNode<>(key, value, left.right, right));
+            }
+            SortedMapNode<K, V> middle = left.right;
+            return new SortedMapNode<>(middle.key, middle.value,
+                    new SortedMapNode<>(left.key, left.value, left.left, middle.left),
+                    new SortedMapNode<>(key, value, middle.right, right));
+        }
+
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new SortedMapNode<>(right.key, right.value,
+                        new SortedMapNode<>(key, value, left, right.left), right.right);
+            }
+            SortedMapNode<K, V> middle = right.left;
+            return new SortedMapNode<>(middle.key, middle.value,
+                    new SortedMapNode<>(key, value, left, middle.left),
+                    new SortedMapNode<>(right.key, right.value, middle.right, right.right));
+        }
+
+        return new SortedMapNode<>(key, value, left, right);
+    }
+
+    /**
+     * Method to get the tree with the key mapped to value
+     *
+     * @return SortedMapNode, the same node when nothing has changed
+     */
+    static <K, V> SortedMapNode<K, V> updated(final SortedMapNode<K, V> node, final K key, final V value,
+                                              final Comparator<?> comparator, final NodeChange change) {
+        if (node == null) {
+            change.modified();
+            return new SortedMapNode<>(key, value, null, null);
+        }
+
+        int c = compare(comparator, key, node.key);
+        if (c < 0) {
+            SortedMapNode<K, V> left = updated(node.left, key, value, comparator, change);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (c > 0) {
+            SortedMapNode<K, V> right = updated(node.right, key, value, comparator, change);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+
+        if (node.value == value) {
+            return node;
+        }
+        change.replaced();
+        return new SortedMapNode<>(node.key, value, node.left, node.right);
+    }
+
+    /**
+     * Method to get the tree without the key
+     *
+     * @return SortedMapNode, the same node when there is no such key
+     */
+    static <K, V> SortedMapNode<K, V> removed(final SortedMapNode<K, V> node, final Object key,
+                                              final Comparator<?> comparator, final NodeChange change) {
+        if (node == null) {
+            return null;
+        }
+
+        int c = compare(comparator, key, node.key);
+        if (c < 0) {
+            SortedMapNode<K, V> left = removed(node.left, key, comparator, change);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (c > 0) {
+            SortedMapNode<K, V> right = removed(node.right, key, comparator, change);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+
+        change.modified();
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        SortedMapNode<K, V> first = first(node.right);
+        return balance(first.key, first.value, node.left, removedFirst(node.right));
+    }
+
+    private static <K, V> SortedMapNode<K, V> removedFirst(final SortedMapNode<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, removedFirst(node.left), node.right);
+    }
+
+    /**
+     * Method to get the sum of the hash codes of the entries in the sub tree, it is memoized by the node
+     *
+     * @param node
+     * @return int
+     */
+    static int entriesHash(final SortedMapNode<?, ?> node) {
+        if (node == null) {
+            return 0;
+        }
+        int h = node.entriesHash;
+        if (h == 0 && !node.entriesHashIsZero) {
+            h = entriesHash(node.left) + node.hashCode() + entriesHash(node.right);
+            if (h == 0) {
+                node.entriesHashIsZero = true;
+            } else {
+                node.entriesHash = h;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Method to find the node of the key
+     *
+     * @return SortedMapNode or null when there is no such key
+     */
+    static <K, V> SortedMapNode<K, V> find(final SortedMapNode<K, V> root, final Object key,
+                                           final Comparator<?> comparator) {
+        SortedMapNode<K, V> node = root;
+        while (node != null) {
+            int c = compare(comparator, key, node.key);
+            if (c < 0) {
+                node = node.left;
+            } else if (c > 0) {
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method to get the node at the position in the order of the tree
+     *
+     * @return SortedMapNode
+     */
+    static <K, V> SortedMapNode<K, V> at(final SortedMapNode<K, V> root, final int position) {
+        SortedMapNode<K, V> node = root;
+        int index = position;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    static <K, V> SortedMapNode<K, V> first(final SortedMapNode<K, V> node) {
+        SortedMapNode<K, V> result = node;
+        while (result != null && result.left != null) {
+            result = result.left;
+        }
+        return result;
+    }
+
+    static <K, V> SortedMapNode<K, V> last(final SortedMapNode<K, V> node) {
+        SortedMapNode<K, V> result = node;
+        while (result != null && result.right != null) {
+            result = result.right;
+        }
+        return result;
+    }
+
+    @Override
+    public K getKey() {
+        return key;
+    }
+
+    @Override
+    public V getValue() {
+        return value;
+    }
+
+    @Override
+    public V setValue(final V value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof Map.Entry)) {
+            return false;
+        }
+        Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+        return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(key) ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return key + "=" + value;
+    }
+}
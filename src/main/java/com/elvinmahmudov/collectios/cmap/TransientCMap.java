@@ -0,0 +1,28 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Map;
+
+/**
+ * Mutable builder of a CMap, it changes the nodes it owns in place and
+ * {@link #persistent()} turns it into an immutable map without copying.
+ * A transient is not thread safe and cannot be used after persistent() has been called.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public interface TransientCMap<K, V> {
+
+    TransientCMap<K, V> add(K key, V value);
+
+    TransientCMap<K, V> addAll(Map<? extends K, ? extends V> map);
+
+    TransientCMap<K, V> delete(Object key);
+
+    V get(Object key);
+
+    boolean containsKey(Object key);
+
+    int size();
+
+    CMap<K, V> persistent();
+}
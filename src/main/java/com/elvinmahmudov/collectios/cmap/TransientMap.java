@@ -0,0 +1,100 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import com.elvinmahmudov.collectios.exception.FrozenTransientException;
+
+import java.util.Map;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ONE;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+/**
+ * Transient of CollectioMap, nodes copied by the first change are owned by the transient
+ * and all the following changes of these nodes are done in place
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+final class TransientMap<K, V> implements TransientCMap<K, V> {
+
+    private static final Object NOT_FOUND = new Object();
+
+    private final NodeChange change = new NodeChange();
+
+    /**
+     * Edit token of the nodes owned by the transient, null after persistent() call
+     */
+    private Object edit = new Object();
+
+    private CollectioMapNode<K, V> root;
+
+    private int length;
+
+    TransientMap(final CollectioMapNode<K, V> root, final int length) {
+        this.root = root;
+        this.length = length;
+    }
+
+    private void ensureEditable() {
+        if (edit == null) {
+            throw new FrozenTransientException();
+        }
+    }
+
+    @Override
+    public TransientMap<K, V> add(final K key, final V value) {
+        ensureEditable();
+        change.reset();
+        root = root.updated(edit, key, value, CollectioMapNode.hash(key), ZERO, change);
+        if (change.modified && !change.replaced) {
+            length += ONE;
+        }
+        return this;
+    }
+
+    @Override
+    public TransientMap<K, V> addAll(final Map<? extends K, ? extends V> map) {
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    @Override
+    public TransientMap<K, V> delete(final Object key) {
+        ensureEditable();
+        change.reset();
+        root = root.removed(edit, key, CollectioMapNode.hash(key), ZERO, change);
+        if (change.modified) {
+            length -= ONE;
+        }
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        ensureEditable();
+        Object value = root.find(key, CollectioMapNode.hash(key), ZERO, NOT_FOUND);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        ensureEditable();
+        return root.find(key, CollectioMapNode.hash(key), ZERO, NOT_FOUND) != NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        ensureEditable();
+        return length;
+    }
+
+    @Override
+    public CollectioMap<K, V> persistent() {
+        ensureEditable();
+        edit = null;
+        return CollectioMap.of(root, length);
+    }
+}
@@ -0,0 +1,78 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import com.elvinmahmudov.collectios.exception.FrozenTransientException;
+
+import java.util.Map;
+
+/**
+ * Transient of CollectioSortedMap, the nodes of the tree are never changed in place,
+ * so it only keeps the last version of the map
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+final class TransientSortedMap<K, V> implements TransientCMap<K, V> {
+
+    /**
+     * Last version of the map, null after persistent() call
+     */
+    private CollectioSortedMap<K, V> map;
+
+    TransientSortedMap(final CollectioSortedMap<K, V> map) {
+        this.map = map;
+    }
+
+    private void ensureEditable() {
+        if (map == null) {
+            throw new FrozenTransientException();
+        }
+    }
+
+    @Override
+    public TransientSortedMap<K, V> add(final K key, final V value) {
+        ensureEditable();
+        map = map.add(key, value);
+        return this;
+    }
+
+    @Override
+    public TransientSortedMap<K, V> addAll(final Map<? extends K, ? extends V> map) {
+        ensureEditable();
+        this.map = this.map.addAll(map);
+        return this;
+    }
+
+    @Override
+    public TransientSortedMap<K, V> delete(final Object key) {
+        ensureEditable();
+        map = map.delete(key);
+        return this;
+    }
+
+    @Override
+    public V get(final Object key) {
+        ensureEditable();
+        return map.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        ensureEditable();
+        return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        ensureEditable();
+        return map.size();
+    }
+
+    @Override
+    public CollectioSortedMap<K, V> persistent() {
+        ensureEditable();
+        CollectioSortedMap<K, V> result = map;
+        map = null;
+        return result;
+    }
+}
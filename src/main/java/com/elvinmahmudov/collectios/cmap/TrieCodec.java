@@ -0,0 +1,116 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import com.elvinmahmudov.collectios.codec.Codec;
+import com.elvinmahmudov.collectios.codec.NodeInput;
+import com.elvinmahmudov.collectios.codec.NodeOutput;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+/**
+ * Binary form of the trie, every node is written once to the node output and referenced afterwards.
+ * A bitmap node is written as its two bitmaps, the entries and the sub nodes,
+ * a collision node as its hash, the number of entries and the entries.
+ *
+ * @author emahmudov
+ */
+final class TrieCodec {
+
+    private static final int BITMAP_INDEXED = 1;
+    private static final int HASH_COLLISION = 2;
+
+    private TrieCodec() {
+    }
+
+    /**
+     * Method to write the trie, sub tries written before are written as references
+     *
+     * @param node
+     * @param out
+     * @param keyCodec
+     * @param valueCodec
+     * @throws IOException
+     */
+    static <K, V> void write(final CollectioMapNode<K, V> node, final NodeOutput out,
+                             final Codec<? super K> keyCodec, final Codec<? super V> valueCodec) throws IOException {
+        if (out.writeReference(node)) {
+            return;
+        }
+
+        DataOutput data = out.data();
+        if (node instanceof BitmapIndexedNode) {
+            BitmapIndexedNode<K, V> bitmapNode = (BitmapIndexedNode<K, V>) node;
+            data.writeByte(BITMAP_INDEXED);
+            data.writeInt(bitmapNode.dataMap);
+            data.writeInt(bitmapNode.nodeMap);
+        } else {
+            data.writeByte(HASH_COLLISION);
+            data.writeInt(((HashCollisionNode<K, V>) node).hash);
+            out.writeSize(node.payloadArity());
+        }
+
+        for (int i = 0; i < node.payloadArity(); i++) {
+            keyCodec.encode(node.getKey(i), data);
+            valueCodec.encode(node.getValue(i), data);
+        }
+        for (int i = 0; i < node.nodeArity(); i++) {
+            write(node.getNode(i), out, keyCodec, valueCodec);
+        }
+        out.register(node);
+    }
+
+    /**
+     * Method to read the trie written by {@link #write}
+     *
+     * @param in
+     * @param keyCodec
+     * @param valueCodec
+     * @return CollectioMapNode
+     * @throws IOException
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> CollectioMapNode<K, V> read(final NodeInput in, final Codec<K> keyCodec, final Codec<V> valueCodec)
+            throws IOException {
+        Object reference = in.readReference();
+        if (reference != null) {
+            return (CollectioMapNode<K, V>) reference;
+        }
+
+        DataInput data = in.data();
+        CollectioMapNode<K, V> node;
+        int type = data.readByte();
+        if (type == BITMAP_INDEXED) {
+            int dataMap = data.readInt();
+            int nodeMap = data.readInt();
+            int payloadArity = Integer.bitCount(dataMap);
+            Object[] content = new Object[2 * payloadArity + Integer.bitCount(nodeMap)];
+            for (int i = 0; i < payloadArity; i++) {
+                content[2 * i] = keyCodec.decode(data);
+                content[2 * i + 1] = valueCodec.decode(data);
+            }
+            int size = payloadArity;
+            for (int i = 2 * payloadArity; i < content.length; i++) {
+                CollectioMapNode<K, V> subNode = read(in, keyCodec, valueCodec);
+                content[i] = subNode;
+                size += subNode.size();
+            }
+            node = new BitmapIndexedNode<>(null, dataMap, nodeMap, content, size);
+        } else if (type == HASH_COLLISION) {
+            int hash = data.readInt();
+            int length = in.readSize();
+            Object[] keys = new Object[length];
+            Object[] values = new Object[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = keyCodec.decode(data);
+                values[i] = valueCodec.decode(data);
+            }
+            node = HashCollisionNode.of(null, hash, keys, values);
+        } else {
+            throw new StreamCorruptedException("Unknown trie node type " + type);
+        }
+        in.register(node);
+        return node;
+    }
+}
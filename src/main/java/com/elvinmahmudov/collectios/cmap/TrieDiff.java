@@ -0,0 +1,232 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Objects;
+
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.BITS;
+
+/**
+ * Comparison of two tries node by node. Sub tries which are the same object in both tries
+ * are skipped, so only the paths copied since the versions diverged are visited.
+ *
+ * @author emahmudov
+ */
+final class TrieDiff {
+
+    private static final Object NOT_FOUND = new Object();
+
+    private TrieDiff() {
+    }
+
+    private static int index(final int bitmap, final int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    /**
+     * Method to report the differences between the old and the new trie to the visitor
+     *
+     * @param oldNode
+     * @param newNode
+     * @param shift
+     * @param visitor
+     */
+    static <K, V> void diff(final CollectioMapNode<K, V> oldNode, final CollectioMapNode<K, V> newNode,
+                            final int shift, final MapDiffVisitor<? super K, ? super V> visitor) {
+        if (oldNode == newNode) {
+            return;
+        }
+        if (!(oldNode instanceof BitmapIndexedNode) || !(newNode instanceof BitmapIndexedNode)) {
+            diffByLookup(oldNode, newNode, shift, visitor);
+            return;
+        }
+
+        BitmapIndexedNode<K, V> x = (BitmapIndexedNode<K, V>) oldNode;
+        BitmapIndexedNode<K, V> y = (BitmapIndexedNode<K, V>) newNode;
+        int bits = x.dataMap | x.nodeMap | y.dataMap | y.nodeMap;
+
+        while (bits != 0) {
+            int bit = Integer.lowestOneBit(bits);
+            bits ^= bit;
+
+            if ((x.dataMap & bit) != 0) {
+                int i = index(x.dataMap, bit);
+                if ((y.dataMap & bit) != 0) {
+                    int j = index(y.dataMap, bit);
+                    diffEntries(x.getKey(i), x.getValue(i), y.getKey(j), y.getValue(j), visitor);
+                } else if ((y.nodeMap & bit) != 0) {
+                    diffEntryAndNode(x.getKey(i), x.getValue(i), y.getNode(index(y.nodeMap, bit)), shift + BITS, visitor);
+                } else {
+                    visitor.removed(x.getKey(i), x.getValue(i));
+                }
+            } else if ((x.nodeMap & bit) != 0) {
+                CollectioMapNode<K, V> node = x.getNode(index(x.nodeMap, bit));
+                if ((y.dataMap & bit) != 0) {
+                    int j = index(y.dataMap, bit);
+                    diffNodeAndEntry(node, y.getKey(j), y.getValue(j), shift + BITS, visitor);
+                } else if ((y.nodeMap & bit) != 0) {
+                    diff(node, y.getNode(index(y.nodeMap, bit)), shift + BITS, visitor);
+                } else {
+                    removeAll(node, visitor);
+                }
+            } else if ((y.dataMap & bit) != 0) {
+                int j = index(y.dataMap, bit);
+                visitor.added(y.getKey(j), y.getValue(j));
+            } else {
+                addAll(y.getNode(index(y.nodeMap, bit)), visitor);
+            }
+        }
+    }
+
+    /**
+     * Method to check whether the tries hold the same entries, sub tries which are the same object
+     * in both tries are equal without being visited and sub tries with different memoized hashes are not
+     *
+     * @param x
+     * @param y
+     * @param shift
+     * @return boolean
+     */
+    static boolean equal(final CollectioMapNode<?, ?> x, final CollectioMapNode<?, ?> y, final int shift) {
+        if (x == y) {
+            return true;
+        }
+        if (x.size() != y.size()
+                || (x.entriesHash != 0 && y.entriesHash != 0 && x.entriesHash != y.entriesHash)) {
+            return false;
+        }
+        if (!(x instanceof BitmapIndexedNode) || !(y instanceof BitmapIndexedNode)) {
+            return containsAllEntries(y, x, shift);
+        }
+
+        BitmapIndexedNode<?, ?> a = (BitmapIndexedNode<?, ?>) x;
+        BitmapIndexedNode<?, ?> b = (BitmapIndexedNode<?, ?>) y;
+        if (a.dataMap != b.dataMap || a.nodeMap != b.nodeMap) {
+            return false;
+        }
+        for (int i = 0; i < a.payloadArity(); i++) {
+            if (!a.getKey(i).equals(b.getKey(i)) || !Objects.equals(a.getValue(i), b.getValue(i))) {
+                return false;
+            }
+        }
+        for (int i = 0; i < a.nodeArity(); i++) {
+            if (!equal(a.getNode(i), b.getNode(i), shift + BITS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsAllEntries(final CollectioMapNode<?, ?> node, final CollectioMapNode<?, ?> entries,
+                                              final int shift) {
+        for (int i = 0; i < entries.payloadArity(); i++) {
+            Object key = entries.getKey(i);
+            Object value = node.find(key, CollectioMapNode.hash(key), shift, NOT_FOUND);
+            if (value == NOT_FOUND || !Objects.equals(value, entries.getValue(i))) {
+                return false;
+            }
+        }
+        for (int i = 0; i < entries.nodeArity(); i++) {
+            if (!containsAllEntries(node, entries.getNode(i), shift)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <K, V> void diffEntries(final K oldKey, final V oldValue, final K newKey, final V newValue,
+                                           final MapDiffVisitor<? super K, ? super V> visitor) {
+        if (oldKey.equals(newKey)) {
+            if (!Objects.equals(oldValue, newValue)) {
+                visitor.changed(oldKey, oldValue, newValue);
+            }
+            return;
+        }
+        visitor.removed(oldKey, oldValue);
+        visitor.added(newKey, newValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void diffEntryAndNode(final K oldKey, final V oldValue, final CollectioMapNode<K, V> newNode,
+                                                final int shift, final MapDiffVisitor<? super K, ? super V> visitor) {
+        Object newValue = newNode.find(oldKey, CollectioMapNode.hash(oldKey), shift, NOT_FOUND);
+        if (newValue == NOT_FOUND) {
+            visitor.removed(oldKey, oldValue);
+        } else if (!Objects.equals(oldValue, newValue)) {
+            visitor.changed(oldKey, oldValue, (V) newValue);
+        }
+        forEach(newNode, oldKey, true, visitor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void diffNodeAndEntry(final CollectioMapNode<K, V> oldNode, final K newKey, final V newValue,
+                                                final int shift, final MapDiffVisitor<? super K, ? super V> visitor) {
+        Object oldValue = oldNode.find(newKey, CollectioMapNode.hash(newKey), shift, NOT_FOUND);
+        if (oldValue == NOT_FOUND) {
+            visitor.added(newKey, newValue);
+        } else if (!Objects.equals(oldValue, newValue)) {
+            visitor.changed(newKey, (V) oldValue, newValue);
+        }
+        forEach(oldNode, newKey, false, visitor);
+    }
+
+    /**
+     * Method to compare the tries by looking up every key in the other one, it is used for the collision nodes
+     */
+    private static <K, V> void diffByLookup(final CollectioMapNode<K, V> oldNode, final CollectioMapNode<K, V> newNode,
+                                            final int shift, final MapDiffVisitor<? super K, ? super V> visitor) {
+        lookUpAll(oldNode, newNode, shift, false, visitor);
+        lookUpAll(newNode, oldNode, shift, true, visitor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void lookUpAll(final CollectioMapNode<K, V> node, final CollectioMapNode<K, V> other,
+                                         final int shift, final boolean added,
+                                         final MapDiffVisitor<? super K, ? super V> visitor) {
+        for (int i = 0; i < node.payloadArity(); i++) {
+            K key = node.getKey(i);
+            Object otherValue = other.find(key, CollectioMapNode.hash(key), shift, NOT_FOUND);
+            if (otherValue == NOT_FOUND) {
+                if (added) {
+                    visitor.added(key, node.getValue(i));
+                } else {
+                    visitor.removed(key, node.getValue(i));
+                }
+            } else if (!added && !Objects.equals(node.getValue(i), otherValue)) {
+                visitor.changed(key, node.getValue(i), (V) otherValue);
+            }
+        }
+        for (int i = 0; i < node.nodeArity(); i++) {
+            lookUpAll(node.getNode(i), other, shift, added, visitor);
+        }
+    }
+
+    private static <K, V> void addAll(final CollectioMapNode<K, V> node,
+                                      final MapDiffVisitor<? super K, ? super V> visitor) {
+        forEach(node, null, true, visitor);
+    }
+
+    private static <K, V> void removeAll(final CollectioMapNode<K, V> node,
+                                         final MapDiffVisitor<? super K, ? super V> visitor) {
+        forEach(node, null, false, visitor);
+    }
+
+    /**
+     * Method to report all the entries of the sub trie except the skipped key as added or removed
+     */
+    private static <K, V> void forEach(final CollectioMapNode<K, V> node, final Object skippedKey, final boolean added,
+                                       final MapDiffVisitor<? super K, ? super V> visitor) {
+        for (int i = 0; i < node.payloadArity(); i++) {
+            K key = node.getKey(i);
+            if (key.equals(skippedKey)) {
+                continue;
+            }
+            if (added) {
+                visitor.added(key, node.getValue(i));
+            } else {
+                visitor.removed(key, node.getValue(i));
+            }
+        }
+        for (int i = 0; i < node.nodeArity(); i++) {
+            forEach(node.getNode(i), skippedKey, added, visitor);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import com.elvinmahmudov.collectios.intern.Interner;
+
+import java.util.Objects;
+
+/**
+ * Hash consing of the trie nodes. Tries are interned bottom up, so a node is replaced by the canonical node
+ * with the same entries and the same canonical sub nodes, the sub nodes are compared by identity and
+ * the node is found by its bitmaps and its memoized {@link CollectioMapNode#entriesHash()}.
+ * Equal sub tries of canonicalized maps are the same objects, so they are compared by reference.
+ *
+ * @author emahmudov
+ */
+final class TrieIntern {
+
+    private static final Object NOT_FOUND = new Object();
+
+    private static final Interner<CollectioMapNode<?, ?>> POOL =
+            new Interner<>(TrieIntern::hash, TrieIntern::equal);
+
+    private TrieIntern() {
+    }
+
+    /**
+     * Method to get the canonical trie equal to the trie
+     *
+     * @param node
+     * @return CollectioMapNode, the same node when it is canonical
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> CollectioMapNode<K, V> canonical(final CollectioMapNode<K, V> node) {
+        CollectioMapNode<K, V> result = node;
+        if (node instanceof BitmapIndexedNode) {
+            BitmapIndexedNode<K, V> bitmapNode = (BitmapIndexedNode<K, V>) node;
+            Object[] content = null;
+            for (int i = 2 * bitmapNode.payloadArity(); i < bitmapNode.content.length; i++) {
+                CollectioMapNode<K, V> subNode = (CollectioMapNode<K, V>) bitmapNode.content[i];
+                CollectioMapNode<K, V> canonical = canonical(subNode);
+                if (canonical != subNode) {
+                    if (content == null) {
+                        content = bitmapNode.content.clone();
+                    }
+                    content[i] = canonical;
+                }
+            }
+            if (content != null) {
+                result = new BitmapIndexedNode<>(null, bitmapNode.dataMap, bitmapNode.nodeMap, content,
+                        bitmapNode.size);
+            }
+        }
+        return (CollectioMapNode<K, V>) POOL.intern(result);
+    }
+
+    private static int hash(final CollectioMapNode<?, ?> node) {
+        if (node instanceof BitmapIndexedNode) {
+            BitmapIndexedNode<?, ?> bitmapNode = (BitmapIndexedNode<?, ?>) node;
+            return 31 * (31 * bitmapNode.dataMap + bitmapNode.nodeMap) + node.entriesHash();
+        }
+        return 31 * ((HashCollisionNode<?, ?>) node).hash + node.entriesHash();
+    }
+
+    private static boolean equal(final CollectioMapNode<?, ?> x, final CollectioMapNode<?, ?> y) {
+        if (x.size() != y.size() || x.getClass() != y.getClass()) {
+            return false;
+        }
+        if (x instanceof HashCollisionNode) {
+            int hash = ((HashCollisionNode<?, ?>) x).hash;
+            if (hash != ((HashCollisionNode<?, ?>) y).hash) {
+                return false;
+            }
+            for (int i = 0; i < x.payloadArity(); i++) {
+                if (!Objects.equals(x.getValue(i), y.find(x.getKey(i), hash, 0, NOT_FOUND))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        BitmapIndexedNode<?, ?> a = (BitmapIndexedNode<?, ?>) x;
+        BitmapIndexedNode<?, ?> b = (BitmapIndexedNode<?, ?>) y;
+        if (a.dataMap != b.dataMap || a.nodeMap != b.nodeMap) {
+            return false;
+        }
+        int payload = 2 * a.payloadArity();
+        for (int i = 0; i < a.content.length; i++) {
+            if (i < payload ? !Objects.equals(a.content[i], b.content[i]) : a.content[i] != b.content[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
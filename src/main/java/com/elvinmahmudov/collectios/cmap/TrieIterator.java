@@ -0,0 +1,92 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.MAX_DEPTH;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+/**
+ * Depth first iterator over the trie, it keeps an explicit stack of nodes and visits the entries in the order
+ * of {@link CollectioMapNode#forEach}. The element made of every entry is the entry, its key or its value,
+ * so the key and value iterators allocate nothing per element.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @param <T> Element
+ */
+class TrieIterator<K, V, T> implements Iterator<T> {
+
+    private final Object[] nodes = new Object[MAX_DEPTH];
+    private final int[] nodeCursors = new int[MAX_DEPTH];
+    private final int[] nodeLengths = new int[MAX_DEPTH];
+    private int depth = -1;
+
+    private CollectioMapNode<K, V> payloadNode;
+    private int payloadCursor;
+    private int payloadLength;
+
+    private final BiFunction<? super K, ? super V, ? extends T> element;
+
+    TrieIterator(final CollectioMapNode<K, V> root, final BiFunction<? super K, ? super V, ? extends T> element) {
+        this.element = element;
+        if (root.hasNodes()) {
+            pushNode(root);
+        }
+        if (root.hasPayload()) {
+            setPayloadNode(root);
+        }
+    }
+
+    private void pushNode(final CollectioMapNode<K, V> node) {
+        depth++;
+        nodes[depth] = node;
+        nodeCursors[depth] = ZERO;
+        nodeLengths[depth] = node.nodeArity();
+    }
+
+    private void setPayloadNode(final CollectioMapNode<K, V> node) {
+        payloadNode = node;
+        payloadCursor = ZERO;
+        payloadLength = node.payloadArity();
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean searchNextPayload() {
+        while (depth >= ZERO) {
+            if (nodeCursors[depth] < nodeLengths[depth]) {
+                CollectioMapNode<K, V> node = ((CollectioMapNode<K, V>) nodes[depth]).getNode(nodeCursors[depth]++);
+                if (node.hasNodes()) {
+                    pushNode(node);
+                }
+                if (node.hasPayload()) {
+                    setPayloadNode(node);
+                    return true;
+                }
+            } else {
+                nodes[depth--] = null;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return payloadCursor < payloadLength || searchNextPayload();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int i = payloadCursor++;
+        return element.apply(payloadNode.getKey(i), payloadNode.getValue(i));
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
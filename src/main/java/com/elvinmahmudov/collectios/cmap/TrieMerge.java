@@ -0,0 +1,530 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Objects;
+
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.BITS;
+
+/**
+ * Set operations on two tries done node by node. Sub tries which are the same object in both tries
+ * are taken or dropped as a whole and every result node which ends up equal to one of its inputs
+ * is that input, so the results keep sharing structure with the operands.
+ * The entries added to or removed from the left trie are reported to the visitor when there is one.
+ *
+ * @author emahmudov
+ */
+final class TrieMerge {
+
+    private static final Object NOT_FOUND = new Object();
+
+    private TrieMerge() {
+    }
+
+    private static int index(final int bitmap, final int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private static boolean isBitmapIndexed(final CollectioMapNode<?, ?> x, final CollectioMapNode<?, ?> y) {
+        return x instanceof BitmapIndexedNode && y instanceof BitmapIndexedNode;
+    }
+
+    /**
+     * Method to get the trie with the entries of both tries, the values of the right trie win
+     *
+     * @param x
+     * @param y
+     * @param shift
+     * @param visitor
+     * @return CollectioMapNode
+     */
+    static <K, V> CollectioMapNode<K, V> union(final CollectioMapNode<K, V> x, final CollectioMapNode<K, V> y,
+                                               final int shift, final MapDiffVisitor<? super K, ? super V> visitor) {
+        if (x == y) {
+            return x;
+        }
+        if (!isBitmapIndexed(x, y)) {
+            return addAll(x, y, shift, visitor);
+        }
+
+        BitmapIndexedNode<K, V> a = (BitmapIndexedNode<K, V>) x;
+        BitmapIndexedNode<K, V> b = (BitmapIndexedNode<K, V>) y;
+        NodeBuffer<K, V> result = new NodeBuffer<>(a, b);
+        int bits = a.dataMap | a.nodeMap | b.dataMap | b.nodeMap;
+
+        while (bits != 0) {
+            int bit = Integer.lowestOneBit(bits);
+            bits ^= bit;
+
+            if ((a.dataMap & bit) != 0) {
+                int i = index(a.dataMap, bit);
+                K key = a.getKey(i);
+                V value = a.getValue(i);
+                if ((b.dataMap & bit) != 0) {
+                    int j = index(b.dataMap, bit);
+                    if (key.equals(b.getKey(j))) {
+                        if (!Objects.equals(value, b.getValue(j))) {
+                            changed(visitor, key, value, b.getValue(j));
+                        }
+                        result.addEntry(bit, key, b.getValue(j), a, b);
+                    } else {
+                        added(visitor, b.getKey(j), b.getValue(j));
+                        result.addNode(bit, BitmapIndexedNode.mergeTwo(null, key, value, CollectioMapNode.hash(key),
+                                b.getKey(j), b.getValue(j), CollectioMapNode.hash(b.getKey(j)), shift + BITS), a, b);
+                    }
+                } else if ((b.nodeMap & bit) != 0) {
+                    CollectioMapNode<K, V> node = b.getNode(index(b.nodeMap, bit));
+                    Object nodeValue = node.find(key, CollectioMapNode.hash(key), shift + BITS, NOT_FOUND);
+                    if (nodeValue == NOT_FOUND) {
+                        forEach(visitor, node, null, true);
+                        NodeChange change = new NodeChange();
+                        result.addNode(bit, node.updated(null, key, value, CollectioMapNode.hash(key),
+                                shift + BITS, change), a, b);
+                    } else {
+                        if (!Objects.equals(value, nodeValue)) {
+                            @SuppressWarnings("unchecked")
+                            V newValue = (V) nodeValue;
+                            changed(visitor, key, value, newValue);
+                        }
+                        forEach(visitor, node, key, true);
+                        result.addNode(bit, node, a, b);
+                    }
+                } else {
+                    result.addEntry(bit, key, value, a, b);
+                }
+            } else if ((a.nodeMap & bit) != 0) {
+                CollectioMapNode<K, V> node = a.getNode(index(a.nodeMap, bit));
+                if ((b.dataMap & bit) != 0) {
+                    int j = index(b.dataMap, bit);
+                    result.addNode(bit, put(node, b.getKey(j), b.getValue(j), shift + BITS, visitor), a, b);
+                } else if ((b.nodeMap & bit) != 0) {
+                    result.addNode(bit, union(node, b.getNode(index(b.nodeMap, bit)), shift + BITS, visitor), a, b);
+                } else {
+                    result.addNode(bit, node, a, b);
+                }
+            } else if ((b.dataMap & bit) != 0) {
+                int j = index(b.dataMap, bit);
+                added(visitor, b.getKey(j), b.getValue(j));
+                result.addEntry(bit, b.getKey(j), b.getValue(j), a, b);
+            } else {
+                CollectioMapNode<K, V> node = b.getNode(index(b.nodeMap, bit));
+                forEach(visitor, node, null, true);
+                result.addNode(bit, node, a, b);
+            }
+        }
+        return result.build(a, b);
+    }
+
+    /**
+     * Method to get the trie with the entries of the left trie whose keys are in the right trie
+     *
+     * @param x
+     * @param y
+     * @param shift
+     * @param visitor
+     * @return CollectioMapNode, it may hold a single entry which is inlined by the parent
+     */
+    static <K, V> CollectioMapNode<K, V> intersect(final CollectioMapNode<K, V> x, final CollectioMapNode<K, V> y,
+                                                   final int shift,
+                                                   final MapDiffVisitor<? super K, ? super V> visitor) {
+        if (x == y) {
+            return x;
+        }
+        if (!isBitmapIndexed(x, y)) {
+            return retainAll(x, y, shift, true, visitor);
+        }
+
+        BitmapIndexedNode<K, V> a = (BitmapIndexedNode<K, V>) x;
+        BitmapIndexedNode<K, V> b = (BitmapIndexedNode<K, V>) y;
+        NodeBuffer<K, V> result = new NodeBuffer<>(a, b);
+        int bits = a.dataMap | a.nodeMap;
+
+        while (bits != 0) {
+            int bit = Integer.lowestOneBit(bits);
+            bits ^= bit;
+
+            if ((a.dataMap & bit) != 0) {
+                int i = index(a.dataMap, bit);
+                K key = a.getKey(i);
+                if (containsKey(b, bit, key, shift)) {
+                    result.addEntry(bit, key, a.getValue(i), a, b);
+                } else {
+                    removed(visitor, key, a.getValue(i));
+                }
+            } else {
+                CollectioMapNode<K, V> node = a.getNode(index(a.nodeMap, bit));
+                if ((b.dataMap & bit) != 0) {
+                    K key = b.getKey(index(b.dataMap, bit));
+                    Object value = node.find(key, CollectioMapNode.hash(key), shift + BITS, NOT_FOUND);
+                    forEach(visitor, node, key, false);
+                    if (value != NOT_FOUND) {
+                        @SuppressWarnings("unchecked")
+                        V nodeValue = (V) value;
+                        result.addEntry(bit, key, nodeValue, a, b);
+                    }
+                } else if ((b.nodeMap & bit) != 0) {
+                    CollectioMapNode<K, V> other = b.getNode(index(b.nodeMap, bit));
+                    result.addSubTrie(bit, intersect(node, other, shift + BITS, visitor), a, b);
+                } else {
+                    forEach(visitor, node, null, false);
+                }
+            }
+        }
+        return result.build(a, b);
+    }
+
+    /**
+     * Method to get the trie with the entries of the left trie whose keys are not in the right trie
+     *
+     * @param x
+     * @param y
+     * @param shift
+     * @param visitor
+     * @return CollectioMapNode, it may hold a single entry which is inlined by the parent
+     */
+    static <K, V> CollectioMapNode<K, V> difference(final CollectioMapNode<K, V> x, final CollectioMapNode<K, V> y,
+                                                    final int shift,
+                                                    final MapDiffVisitor<? super K, ? super V> visitor) {
+        if (x == y) {
+            forEach(visitor, x, null, false);
+            return BitmapIndexedNode.empty();
+        }
+        if (!isBitmapIndexed(x, y)) {
+            return retainAll(x, y, shift, false, visitor);
+        }
+
+        BitmapIndexedNode<K, V> a = (BitmapIndexedNode<K, V>) x;
+        BitmapIndexedNode<K, V> b = (BitmapIndexedNode<K, V>) y;
+        NodeBuffer<K, V> result = new NodeBuffer<>(a, null);
+        int bits = a.dataMap | a.nodeMap;
+
+        while (bits != 0) {
+            int bit = Integer.lowestOneBit(bits);
+            bits ^= bit;
+
+            if ((a.dataMap & bit) != 0) {
+                int i = index(a.dataMap, bit);
+                K key = a.getKey(i);
+                if (containsKey(b, bit, key, shift)) {
+                    removed(visitor, key, a.getValue(i));
+                } else {
+                    result.addEntry(bit, key, a.getValue(i), a, null);
+                }
+            } else {
+                CollectioMapNode<K, V> node = a.getNode(index(a.nodeMap, bit));
+                if ((b.dataMap & bit) != 0) {
+                    K key = b.getKey(index(b.dataMap, bit));
+                    result.addSubTrie(bit, delete(node, key, shift + BITS, visitor), a, null);
+                } else if ((b.nodeMap & bit) != 0) {
+                    CollectioMapNode<K, V> other = b.getNode(index(b.nodeMap, bit));
+                    result.addSubTrie(bit, difference(node, other, shift + BITS, visitor), a, null);
+                } else {
+                    result.addNode(bit, node, a, null);
+                }
+            }
+        }
+        return result.build(a, null);
+    }
+
+    /**
+     * Method to check whether all the keys of the left trie are in the right trie
+     *
+     * @param x
+     * @param y
+     * @param shift
+     * @return boolean
+     */
+    static boolean isKeySubset(final CollectioMapNode<?, ?> x, final CollectioMapNode<?, ?> y, final int shift) {
+        if (x == y) {
+            return true;
+        }
+        if (x.size() > y.size()) {
+            return false;
+        }
+        if (!isBitmapIndexed(x, y)) {
+            return containsAllKeys(y, x, shift);
+        }
+
+        BitmapIndexedNode<?, ?> a = (BitmapIndexedNode<?, ?>) x;
+        BitmapIndexedNode<?, ?> b = (BitmapIndexedNode<?, ?>) y;
+        if (((a.dataMap | a.nodeMap) & ~(b.dataMap | b.nodeMap)) != 0) {
+            return false;
+        }
+
+        int bits = a.dataMap;
+        while (bits != 0) {
+            int bit = Integer.lowestOneBit(bits);
+            bits ^= bit;
+            if (!containsKey(b, bit, a.getKey(index(a.dataMap, bit)), shift)) {
+                return false;
+            }
+        }
+
+        bits = a.nodeMap;
+        while (bits != 0) {
+            int bit = Integer.lowestOneBit(bits);
+            bits ^= bit;
+            // a sub node holds at least two entries, so they cannot all be in an inline entry
+            if ((b.nodeMap & bit) == 0
+                    || !isKeySubset(a.getNode(index(a.nodeMap, bit)), b.getNode(index(b.nodeMap, bit)), shift + BITS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsKey(final BitmapIndexedNode<?, ?> node, final int bit, final Object key,
+                                       final int shift) {
+        if ((node.dataMap & bit) != 0) {
+            return key.equals(node.getKey(index(node.dataMap, bit)));
+        }
+        if ((node.nodeMap & bit) != 0) {
+            return node.getNode(index(node.nodeMap, bit))
+                    .find(key, CollectioMapNode.hash(key), shift + BITS, NOT_FOUND) != NOT_FOUND;
+        }
+        return false;
+    }
+
+    private static boolean containsAllKeys(final CollectioMapNode<?, ?> node, final CollectioMapNode<?, ?> keys,
+                                           final int shift) {
+        for (int i = 0; i < keys.payloadArity(); i++) {
+            Object key = keys.getKey(i);
+            if (node.find(key, CollectioMapNode.hash(key), shift, NOT_FOUND) == NOT_FOUND) {
+                return false;
+            }
+        }
+        for (int i = 0; i < keys.nodeArity(); i++) {
+            if (!containsAllKeys(node, keys.getNode(i), shift)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <K, V> CollectioMapNode<K, V> put(final CollectioMapNode<K, V> node, final K key, final V value,
+                                                     final int shift,
+                                                     final MapDiffVisitor<? super K, ? super V> visitor) {
+        Object oldValue = node.find(key, CollectioMapNode.hash(key), shift, NOT_FOUND);
+        if (oldValue == NOT_FOUND) {
+            added(visitor, key, value);
+        } else if (!Objects.equals(oldValue, value)) {
+            @SuppressWarnings("unchecked")
+            V nodeValue = (V) oldValue;
+            changed(visitor, key, nodeValue, value);
+        }
+        return node.updated(null, key, value, CollectioMapNode.hash(key), shift, new NodeChange());
+    }
+
+    private static <K, V> CollectioMapNode<K, V> delete(final CollectioMapNode<K, V> node, final K key,
+                                                        final int shift,
+                                                        final MapDiffVisitor<? super K, ? super V> visitor) {
+        Object oldValue = node.find(key, CollectioMapNode.hash(key), shift, NOT_FOUND);
+        if (oldValue == NOT_FOUND) {
+            return node;
+        }
+        @SuppressWarnings("unchecked")
+        V nodeValue = (V) oldValue;
+        removed(visitor, key, nodeValue);
+        return node.removed(null, key, CollectioMapNode.hash(key), shift, new NodeChange());
+    }
+
+    /**
+     * Method to put all the entries of the sub trie to the node one by one, it is used for the collision nodes
+     */
+    private static <K, V> CollectioMapNode<K, V> addAll(final CollectioMapNode<K, V> node,
+                                                        final CollectioMapNode<K, V> entries, final int shift,
+                                                        final MapDiffVisitor<? super K, ? super V> visitor) {
+        CollectioMapNode<K, V> result = node;
+        for (int i = 0; i < entries.payloadArity(); i++) {
+            result = put(result, entries.getKey(i), entries.getValue(i), shift, visitor);
+        }
+        for (int i = 0; i < entries.nodeArity(); i++) {
+            result = addAll(result, entries.getNode(i), shift, visitor);
+        }
+        return result;
+    }
+
+    /**
+     * Method to keep the entries of the node whose keys are or are not in the other node,
+     * the entries are removed one by one, it is used for the collision nodes.
+     * The last entry is never removed this way, the node holding it is dropped as a whole.
+     */
+    private static <K, V> CollectioMapNode<K, V> retainAll(final CollectioMapNode<K, V> node,
+                                                           final CollectioMapNode<K, V> other, final int shift,
+                                                           final boolean present,
+                                                           final MapDiffVisitor<? super K, ? super V> visitor) {
+        Object[] keys = keys(node);
+        boolean[] kept = new boolean[keys.length];
+        int keptCount = 0;
+        for (int i = 0; i < keys.length; i++) {
+            kept[i] = (other.find(keys[i], CollectioMapNode.hash(keys[i]), shift, NOT_FOUND) != NOT_FOUND) == present;
+            if (kept[i]) {
+                keptCount++;
+            }
+        }
+        if (keptCount == 0) {
+            forEach(visitor, node, null, false);
+            return BitmapIndexedNode.empty();
+        }
+
+        CollectioMapNode<K, V> result = node;
+        for (int i = 0; i < keys.length; i++) {
+            if (!kept[i]) {
+                @SuppressWarnings("unchecked")
+                K key = (K) keys[i];
+                result = delete(result, key, shift, visitor);
+            }
+        }
+        return result;
+    }
+
+    private static Object[] keys(final CollectioMapNode<?, ?> node) {
+        Object[] keys = new Object[node.size()];
+        int[] n = {0};
+        collectKeys(node, keys, n);
+        return keys;
+    }
+
+    private static void collectKeys(final CollectioMapNode<?, ?> node, final Object[] keys, final int[] n) {
+        for (int i = 0; i < node.payloadArity(); i++) {
+            keys[n[0]++] = node.getKey(i);
+        }
+        for (int i = 0; i < node.nodeArity(); i++) {
+            collectKeys(node.getNode(i), keys, n);
+        }
+    }
+
+    private static <K, V> void added(final MapDiffVisitor<? super K, ? super V> visitor, final K key, final V value) {
+        if (visitor != null) {
+            visitor.added(key, value);
+        }
+    }
+
+    private static <K, V> void removed(final MapDiffVisitor<? super K, ? super V> visitor, final K key, final V value) {
+        if (visitor != null) {
+            visitor.removed(key, value);
+        }
+    }
+
+    private static <K, V> void changed(final MapDiffVisitor<? super K, ? super V> visitor, final K key,
+                                       final V oldValue, final V newValue) {
+        if (visitor != null) {
+            visitor.changed(key, oldValue, newValue);
+        }
+    }
+
+    /**
+     * Method to report all the entries of the sub trie except the skipped key as added or removed
+     */
+    private static <K, V> void forEach(final MapDiffVisitor<? super K, ? super V> visitor,
+                                       final CollectioMapNode<K, V> node, final Object skippedKey,
+                                       final boolean added) {
+        if (visitor == null) {
+            return;
+        }
+        for (int i = 0; i < node.payloadArity(); i++) {
+            K key = node.getKey(i);
+            if (key.equals(skippedKey)) {
+                continue;
+            }
+            if (added) {
+                visitor.added(key, node.getValue(i));
+            } else {
+                visitor.removed(key, node.getValue(i));
+            }
+        }
+        for (int i = 0; i < node.nodeArity(); i++) {
+            forEach(visitor, node.getNode(i), skippedKey, added);
+        }
+    }
+
+    /**
+     * Slots of the node being built, it remembers whether every slot is the same as in one of the inputs
+     */
+    private static final class NodeBuffer<K, V> {
+
+        private final Object[] data;
+        private final Object[] nodes;
+        private int dataMap;
+        private int nodeMap;
+        private int dataLength;
+        private int nodeLength;
+        private int size;
+        private boolean sameAsLeft = true;
+        private boolean sameAsRight;
+
+        NodeBuffer(final BitmapIndexedNode<K, V> left, final BitmapIndexedNode<K, V> right) {
+            sameAsRight = right != null;
+            int bitmap = left.dataMap | left.nodeMap | (right == null ? 0 : right.dataMap | right.nodeMap);
+            int slots = Integer.bitCount(bitmap);
+            data = new Object[2 * slots];
+            nodes = new Object[slots];
+        }
+
+        private boolean isEntry(final BitmapIndexedNode<K, V> node, final int bit,
+                                final Object key, final Object value) {
+            if (node == null || (node.dataMap & bit) == 0) {
+                return false;
+            }
+            int i = index(node.dataMap, bit);
+            return node.getKey(i) == key && node.getValue(i) == value;
+        }
+
+        private boolean isNode(final BitmapIndexedNode<K, V> node, final int bit,
+                               final CollectioMapNode<K, V> subNode) {
+            return node != null && (node.nodeMap & bit) != 0 && node.getNode(index(node.nodeMap, bit)) == subNode;
+        }
+
+        void addEntry(final int bit, final K key, final V value,
+                      final BitmapIndexedNode<K, V> left, final BitmapIndexedNode<K, V> right) {
+            sameAsLeft &= isEntry(left, bit, key, value);
+            sameAsRight &= isEntry(right, bit, key, value);
+            dataMap |= bit;
+            data[dataLength++] = key;
+            data[dataLength++] = value;
+            size++;
+        }
+
+        void addNode(final int bit, final CollectioMapNode<K, V> node,
+                     final BitmapIndexedNode<K, V> left, final BitmapIndexedNode<K, V> right) {
+            sameAsLeft &= isNode(left, bit, node);
+            sameAsRight &= isNode(right, bit, node);
+            nodeMap |= bit;
+            nodes[nodeLength++] = node;
+            size += node.size();
+        }
+
+        /**
+         * Method to add the result of a sub trie operation,
+         * it is dropped when empty and inlined when it holds one entry
+         */
+        void addSubTrie(final int bit, final CollectioMapNode<K, V> node,
+                        final BitmapIndexedNode<K, V> left, final BitmapIndexedNode<K, V> right) {
+            switch (node.sizePredicate()) {
+                case CollectioMapNode.SIZE_EMPTY:
+                    sameAsLeft = false;
+                    sameAsRight = false;
+                    return;
+                case CollectioMapNode.SIZE_ONE:
+                    addEntry(bit, node.getKey(0), node.getValue(0), left, right);
+                    return;
+                default:
+                    addNode(bit, node, left, right);
+            }
+        }
+
+        CollectioMapNode<K, V> build(final BitmapIndexedNode<K, V> left, final BitmapIndexedNode<K, V> right) {
+            if (sameAsLeft && dataMap == left.dataMap && nodeMap == left.nodeMap) {
+                return left;
+            }
+            if (sameAsRight && dataMap == right.dataMap && nodeMap == right.nodeMap) {
+                return right;
+            }
+            if (size == 0) {
+                return BitmapIndexedNode.empty();
+            }
+            Object[] content = new Object[dataLength + nodeLength];
+            System.arraycopy(data, 0, content, 0, dataLength);
+            System.arraycopy(nodes, 0, content, dataLength, nodeLength);
+            return new BitmapIndexedNode<>(null, dataMap, nodeMap, content, size);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.BITS;
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.bitpos;
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.hash;
+import static com.elvinmahmudov.collectios.cmap.CollectioMapNode.mask;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+/**
+ * Parallel construction of the trie on the common fork-join pool. The entries are partitioned by the first
+ * BITS bits of their hashes, which choose the slot of the root they go to, the sub trie of every slot is built
+ * by its own task and the sub tries are put into the root as they are, without hashing the keys again.
+ * The trie is the same as the one built by adding the entries one by one, the last value of a key wins.
+ *
+ * @author emahmudov
+ */
+final class TrieParallel {
+
+    /**
+     * Number of entries below which the trie is built sequentially
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private static final int SLOTS = 1 << BITS;
+
+    private TrieParallel() {
+    }
+
+    /**
+     * Method to build the trie of the first n keys and values
+     *
+     * @param keys
+     * @param values
+     * @param n
+     * @return root of the trie
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> CollectioMapNode<K, V> build(final Object[] keys, final Object[] values, final int n) {
+        if (n < PARALLEL_THRESHOLD) {
+            return slot(keys, values, null, IntStream.range(ZERO, n).toArray(), ZERO, n, ZERO);
+        }
+
+        int[] hashes = new int[n];
+        Arrays.parallelSetAll(hashes, i -> hash(keys[i]));
+
+        // counting sort of the entries by slot, keeping their order inside the slot
+        int[] start = new int[SLOTS + 1];
+        for (int i = 0; i < n; i++) {
+            start[mask(hashes[i], ZERO) + 1]++;
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            start[slot + 1] += start[slot];
+        }
+        int[] next = Arrays.copyOf(start, SLOTS);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[next[mask(hashes[i], ZERO)]++] = i;
+        }
+
+        CollectioMapNode<K, V>[] slots = newSlots();
+        IntStream.range(ZERO, SLOTS).parallel().forEach(slot ->
+                slots[slot] = slot(keys, values, hashes, order, start[slot], start[slot + 1], BITS));
+        return root(slots);
+    }
+
+    /**
+     * Method to build the sub trie of the entries from start to end of the order
+     *
+     * @return CollectioMapNode
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> CollectioMapNode<K, V> slot(final Object[] keys, final Object[] values, final int[] hashes,
+                                                      final int[] order, final int start, final int end,
+                                                      final int shift) {
+        Object edit = new Object();
+        NodeChange change = new NodeChange();
+        CollectioMapNode<K, V> node = BitmapIndexedNode.empty();
+        for (int i = start; i < end; i++) {
+            int entry = order[i];
+            K key = (K) keys[entry];
+            int hash = hashes == null ? hash(key) : hashes[entry];
+            node = node.updated(edit, key, values == null ? null : (V) values[entry], hash, shift, change);
+        }
+        return node;
+    }
+
+    /**
+     * Method to create the array of the sub tries of the root slots
+     *
+     * @return CollectioMapNode[]
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> CollectioMapNode<K, V>[] newSlots() {
+        return (CollectioMapNode<K, V>[]) new CollectioMapNode<?, ?>[SLOTS];
+    }
+
+    /**
+     * Method to put the sub tries of the slots into the root, a sub trie of one entry is inlined
+     *
+     * @param slots
+     * @return BitmapIndexedNode
+     */
+    private static <K, V> BitmapIndexedNode<K, V> root(final CollectioMapNode<K, V>[] slots) {
+        int dataMap = ZERO;
+        int nodeMap = ZERO;
+        int size = ZERO;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int slotSize = slots[slot].size();
+            if (slotSize == 1) {
+                dataMap |= bitpos(slot);
+            } else if (slotSize > 1) {
+                nodeMap |= bitpos(slot);
+            }
+            size += slotSize;
+        }
+
+        int payload = Integer.bitCount(dataMap);
+        Object[] content = new Object[2 * payload + Integer.bitCount(nodeMap)];
+        int data = ZERO;
+        int nodes = 2 * payload;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            CollectioMapNode<K, V> node = slots[slot];
+            if ((dataMap & bitpos(slot)) != 0) {
+                content[data++] = node.getKey(ZERO);
+                content[data++] = node.getValue(ZERO);
+            } else if ((nodeMap & bitpos(slot)) != 0) {
+                content[nodes++] = node;
+            }
+        }
+        return new BitmapIndexedNode<>(null, dataMap, nodeMap, content, size);
+    }
+}
@@ -0,0 +1,294 @@
+package com.elvinmahmudov.collectios.cmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * Persistent map which keeps its versions. Every commit of a new CollectioMap gets the next version number,
+ * the versions are kept in a sorted map of the version numbers, so {@link #at(long)} finds the map of any
+ * retained version in O(log n) and the maps share all their untouched nodes with each other.
+ * The changes of every key are kept in a sorted map of the versions which changed it, which is updated
+ * from the diff of the committed map with the current one, so the cost of a commit is proportional to
+ * the size of the change and {@link #history(Object)} and {@link #get(Object, long)} take O(log n).
+ * <p>
+ * {@link #compact(long)} drops the versions older than the given one, the nodes used only by the dropped
+ * versions are then released to the garbage collector. Like every collectio the store is immutable,
+ * a {@link com.elvinmahmudov.collectios.cref.CRef} can hold the current store for readers and writers.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+public final class VersionedCMap<K, V> {
+
+    private static final VersionedCMap<Object, Object> EMPTY = new VersionedCMap<>(ZERO, ZERO, CollectioMap.empty(),
+            CollectioSortedMap.<Long, CollectioMap<Object, Object>>empty().add(0L, CollectioMap.empty()),
+            CollectioMap.empty());
+
+    /**
+     * Version of the current map
+     */
+    private final long version;
+
+    /**
+     * Oldest retained version
+     */
+    private final long oldestVersion;
+
+    private final CollectioMap<K, V> current;
+
+    /**
+     * Maps of the retained versions by the version which committed them
+     */
+    private final CollectioSortedMap<Long, CollectioMap<K, V>> versions;
+
+    /**
+     * Values of the keys by the versions which changed them, null for the versions which deleted them
+     */
+    private final CollectioMap<K, CollectioSortedMap<Long, V>> histories;
+
+    private VersionedCMap(final long version, final long oldestVersion, final CollectioMap<K, V> current,
+                          final CollectioSortedMap<Long, CollectioMap<K, V>> versions,
+                          final CollectioMap<K, CollectioSortedMap<Long, V>> histories) {
+        this.version = version;
+        this.oldestVersion = oldestVersion;
+        this.current = current;
+        this.versions = versions;
+        this.histories = histories;
+    }
+
+    /**
+     * Empty store, its version is 0
+     *
+     * @param <K>
+     * @param <V>
+     * @return VersionedCMap
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> VersionedCMap<K, V> empty() {
+        return (VersionedCMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Version of the current map
+     *
+     * @return long
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Oldest version which can be read
+     *
+     * @return long
+     */
+    public long oldestVersion() {
+        return oldestVersion;
+    }
+
+    /**
+     * Map of the current version
+     *
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> current() {
+        return current;
+    }
+
+    /**
+     * Method to get the value of the key in the current version
+     *
+     * @param key
+     * @return V
+     */
+    public V get(final K key) {
+        return current.get(key);
+    }
+
+    /**
+     * Method to get the value the key had in the version
+     *
+     * @param key
+     * @param version
+     * @return V or null when the key was not in the map
+     */
+    public V get(final K key, final long version) {
+        checkVersion(version);
+        CollectioSortedMap<Long, V> history = histories.get(key);
+        if (history == null) {
+            return null;
+        }
+        Map.Entry<Long, V> change = history.floorEntry(version);
+        return change == null ? null : change.getValue();
+    }
+
+    /**
+     * Method to get the map of the version
+     *
+     * @param version between the oldest and the current version
+     * @return CollectioMap
+     */
+    public CollectioMap<K, V> at(final long version) {
+        checkVersion(version);
+        return versions.floorEntry(version).getValue();
+    }
+
+    /**
+     * Method to get the values of the key by the versions which changed it, the versions which deleted
+     * the key map to null. The first entry is the value the key had in the oldest version, when it had one.
+     *
+     * @param key
+     * @return CollectioSortedMap
+     */
+    public CollectioSortedMap<Long, V> history(final K key) {
+        CollectioSortedMap<Long, V> history = histories.get(key);
+        return history == null ? CollectioSortedMap.empty() : history;
+    }
+
+    private void checkVersion(final long version) {
+        if (version < oldestVersion || version > this.version) {
+            throw new IllegalArgumentException("Version " + version + " is not between "
+                    + oldestVersion + " and " + this.version);
+        }
+    }
+
+    /**
+     * Method to commit the map as the next version, the histories of the keys are updated from its diff
+     * with the current map
+     *
+     * @param map derived from the current map, so that the diff skips the shared sub tries
+     * @return VersionedCMap, the same store when the map has the same entries as the current one
+     */
+    public VersionedCMap<K, V> commit(final CollectioMap<K, V> map) {
+        if (map == current) {
+            return this;
+        }
+        long next = version + 1;
+        TransientCMap<K, CollectioSortedMap<Long, V>> newHistories = histories.toTransient();
+        boolean[] changed = {false};
+        current.diff(map, new MapDiffVisitor<K, V>() {
+            @Override
+            public void added(final K key, final V value) {
+                record(key, value);
+            }
+
+            @Override
+            public void removed(final K key, final V value) {
+                record(key, null);
+            }
+
+            @Override
+            public void changed(final K key, final V oldValue, final V newValue) {
+                record(key, newValue);
+            }
+
+            private void record(final K key, final V value) {
+                newHistories.add(key, history(key).add(next, value));
+                changed[0] = true;
+            }
+        });
+        if (!changed[0]) {
+            return this;
+        }
+        return new VersionedCMap<>(next, oldestVersion, map, versions.add(next, map),
+                (CollectioMap<K, CollectioSortedMap<Long, V>>) newHistories.persistent());
+    }
+
+    /**
+     * Method to commit the current map with the key mapped to the value as the next version
+     *
+     * @param key
+     * @param value
+     * @return VersionedCMap
+     */
+    public VersionedCMap<K, V> add(final K key, final V value) {
+        return commit(current.add(key, value));
+    }
+
+    /**
+     * Method to commit the current map with all the entries as one version
+     *
+     * @param map
+     * @return VersionedCMap
+     */
+    public VersionedCMap<K, V> addAll(final Map<? extends K, ? extends V> map) {
+        return commit(current.addAll(map));
+    }
+
+    /**
+     * Method to commit the current map without the key as the next version
+     *
+     * @param key
+     * @return VersionedCMap
+     */
+    public VersionedCMap<K, V> delete(final K key) {
+        return commit(current.delete(key));
+    }
+
+    /**
+     * Method to commit the current map without all the keys as one version
+     *
+     * @param keys
+     * @return VersionedCMap
+     */
+    public VersionedCMap<K, V> deleteAll(final Collection<? extends K> keys) {
+        return commit(current.deleteAll(keys));
+    }
+
+    /**
+     * Method to drop the versions older than the given one. The maps of the dropped versions and
+     * the changes of the keys made before the given version, but the last one, are deleted,
+     * so the nodes used only by them can be collected. It visits the history of every key.
+     *
+     * @param oldestVersion the oldest version to keep, at most the current version
+     * @return VersionedCMap
+     */
+    public VersionedCMap<K, V> compact(final long oldestVersion) {
+        if (oldestVersion <= this.oldestVersion) {
+            return this;
+        }
+        checkVersion(oldestVersion);
+
+        Long base = versions.floorKey(oldestVersion);
+        CollectioSortedMap<Long, CollectioMap<K, V>> newVersions =
+                versions.deleteAll(new ArrayList<>(versions.headMap(base, false).keySet()));
+
+        TransientCMap<K, CollectioSortedMap<Long, V>> newHistories = histories.toTransient();
+        for (Map.Entry<K, CollectioSortedMap<Long, V>> entry : histories.entrySet()) {
+            CollectioSortedMap<Long, V> history = entry.getValue();
+            Long first = history.floorKey(oldestVersion);
+            if (first == null) {
+                continue;
+            }
+            List<Long> dropped = new ArrayList<>(history.headMap(first, false).keySet());
+            if (history.size() - dropped.size() == 1 && history.get(first) == null) {
+                newHistories.delete(entry.getKey());
+            } else if (!dropped.isEmpty()) {
+                newHistories.add(entry.getKey(), history.deleteAll(dropped));
+            }
+        }
+        return new VersionedCMap<>(version, oldestVersion, current, newVersions,
+                (CollectioMap<K, CollectioSortedMap<Long, V>>) newHistories.persistent());
+    }
+
+    /**
+     * Method to keep only the given number of the last versions
+     *
+     * @param count
+     * @return VersionedCMap
+     */
+    public VersionedCMap<K, V> retainLast(final int count) {
+        return compact(Math.max(oldestVersion, version - count + 1));
+    }
+
+    @Override
+    public String toString() {
+        return "VersionedCMap[version=" + version + ", oldestVersion=" + oldestVersion + ", " + current + "]";
+    }
+}
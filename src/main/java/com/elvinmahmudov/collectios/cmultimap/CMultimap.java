@@ -0,0 +1,33 @@
+package com.elvinmahmudov.collectios.cmultimap;
+
+import com.elvinmahmudov.collectios.cmap.CMap;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface CMultimap<K, V> {
+
+    CMultimap<K, V> add(K key, V value);
+
+    CMultimap<K, V> addAll(K key, Collection<? extends V> values);
+
+    CMultimap<K, V> delete(K key, V value);
+
+    CMultimap<K, V> deleteAll(K key);
+
+    Collection<V> get(K key);
+
+    boolean containsKey(Object key);
+
+    boolean containsEntry(Object key, Object value);
+
+    int size();
+
+    boolean isEmpty();
+
+    Set<K> keySet();
+
+    CMap<K, ? extends Collection<V>> asMap();
+
+    CMultimap<V, K> inverse();
+}
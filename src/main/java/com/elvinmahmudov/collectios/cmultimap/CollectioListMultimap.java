@@ -0,0 +1,229 @@
+package com.elvinmahmudov.collectios.cmultimap;
+
+import com.elvinmahmudov.collectios.clist.CollectiosVector;
+import com.elvinmahmudov.collectios.cmap.CollectioMap;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * Immutable multimap holding a list of values for every key in the order they have been added,
+ * the lists are CollectiosVectors held by a CollectioMap. An update copies the path to the vector of the key
+ * in the map and the tail or the path of the vector, the rest is shared. The number of values is kept
+ * with the map, so the size is known without counting the lists.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+public final class CollectioListMultimap<K, V> implements CMultimap<K, V> {
+
+    private static final CollectioListMultimap<Object, Object> EMPTY =
+            new CollectioListMultimap<>(CollectioMap.empty(), ZERO);
+
+    /**
+     * Non-empty lists of values by key
+     */
+    private final CollectioMap<K, CollectiosVector<V>> map;
+
+    /**
+     * Number of key value pairs
+     */
+    private final int length;
+
+    private CollectioListMultimap(final CollectioMap<K, CollectiosVector<V>> map, final int length) {
+        this.map = map;
+        this.length = length;
+    }
+
+    /**
+     * Empty multimap
+     *
+     * @param <K>
+     * @param <V>
+     * @return CollectioListMultimap
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> CollectioListMultimap<K, V> empty() {
+        return (CollectioListMultimap<K, V>) EMPTY;
+    }
+
+    /**
+     * Method to make the multimap of the values of the map
+     *
+     * @param map
+     * @param <K>
+     * @param <V>
+     * @return CollectioListMultimap
+     */
+    public static <K, V> CollectioListMultimap<K, V> of(final Map<? extends K, ? extends Collection<? extends V>> map) {
+        CollectioListMultimap<K, V> result = empty();
+        for (Map.Entry<? extends K, ? extends Collection<? extends V>> entry : map.entrySet()) {
+            result = result.addAll(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Method to append the value to the list of the key
+     *
+     * @param key
+     * @param value
+     * @return CollectioListMultimap
+     */
+    @Override
+    public CollectioListMultimap<K, V> add(final K key, final V value) {
+        return new CollectioListMultimap<>(map.add(key, get(key).append(value)), length + 1);
+    }
+
+    /**
+     * Method to append the values to the list of the key, they are appended through one transient
+     *
+     * @param key
+     * @param values
+     * @return CollectioListMultimap
+     */
+    @Override
+    public CollectioListMultimap<K, V> addAll(final K key, final Collection<? extends V> values) {
+        if (values.isEmpty()) {
+            return this;
+        }
+        CollectiosVector<V> newValues = (CollectiosVector<V>) get(key).toTransient().appendAll(values).persistent();
+        return new CollectioListMultimap<>(map.add(key, newValues), length + values.size());
+    }
+
+    /**
+     * Method to delete the first occurrence of the value from the list of the key,
+     * the key is deleted with its last value
+     *
+     * @param key
+     * @param value
+     * @return CollectioListMultimap
+     */
+    @Override
+    public CollectioListMultimap<K, V> delete(final K key, final V value) {
+        CollectiosVector<V> values = map.get(key);
+        if (values == null) {
+            return this;
+        }
+        CollectiosVector<V> newValues = values.delete(value);
+        if (newValues == values) {
+            return this;
+        }
+        if (newValues.isEmpty()) {
+            return new CollectioListMultimap<>(map.delete(key), length - 1);
+        }
+        return new CollectioListMultimap<>(map.add(key, newValues), length - 1);
+    }
+
+    /**
+     * Method to delete the key with all its values
+     *
+     * @param key
+     * @return CollectioListMultimap
+     */
+    @Override
+    public CollectioListMultimap<K, V> deleteAll(final K key) {
+        CollectiosVector<V> values = map.get(key);
+        if (values == null) {
+            return this;
+        }
+        return new CollectioListMultimap<>(map.delete(key), length - values.size());
+    }
+
+    /**
+     * Method to get the values of the key
+     *
+     * @param key
+     * @return CollectiosVector, empty when there is no such key
+     */
+    @Override
+    public CollectiosVector<V> get(final K key) {
+        CollectiosVector<V> values = map.get(key);
+        return values == null ? CollectiosVector.empty() : values;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsEntry(final Object key, final Object value) {
+        CollectiosVector<V> values = map.get(key);
+        return values != null && values.contains(value);
+    }
+
+    /**
+     * Number of key value pairs
+     *
+     * @return int
+     */
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == ZERO;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return map.keySet();
+    }
+
+    /**
+     * Map of the keys to their lists of values
+     *
+     * @return CollectioMap
+     */
+    @Override
+    public CollectioMap<K, CollectiosVector<V>> asMap() {
+        return map;
+    }
+
+    /**
+     * Multimap of the values to the lists of their keys, a key is in the list of a value as many times
+     * as the value is in the list of the key
+     *
+     * @return CollectioListMultimap
+     */
+    @Override
+    public CollectioListMultimap<V, K> inverse() {
+        CollectioListMultimap<V, K> result = empty();
+        for (Map.Entry<K, CollectiosVector<V>> entry : map.entrySet()) {
+            for (V value : entry.getValue()) {
+                result = result.add(value, entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CollectioListMultimap)) {
+            return false;
+        }
+        CollectioListMultimap<?, ?> other = (CollectioListMultimap<?, ?>) o;
+        return length == other.length && map.equals(other.map);
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
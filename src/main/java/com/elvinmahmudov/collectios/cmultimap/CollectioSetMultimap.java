@@ -0,0 +1,230 @@
+package com.elvinmahmudov.collectios.cmultimap;
+
+import com.elvinmahmudov.collectios.cmap.CollectioMap;
+import com.elvinmahmudov.collectios.cset.CollectiosSet;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * Immutable multimap holding a set of values for every key, the sets are the values of a CollectioMap.
+ * An update copies the path to the set of the key in the map and the path to the value in the set,
+ * the other sets and the rest of the set are shared. The number of values is kept with the map,
+ * so the size is known without counting the sets.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @author emahmudov
+ */
+public final class CollectioSetMultimap<K, V> implements CMultimap<K, V> {
+
+    private static final CollectioSetMultimap<Object, Object> EMPTY =
+            new CollectioSetMultimap<>(CollectioMap.empty(), ZERO);
+
+    /**
+     * Non-empty sets of values by key
+     */
+    private final CollectioMap<K, CollectiosSet<V>> map;
+
+    /**
+     * Number of key value pairs
+     */
+    private final int length;
+
+    private CollectioSetMultimap(final CollectioMap<K, CollectiosSet<V>> map, final int length) {
+        this.map = map;
+        this.length = length;
+    }
+
+    /**
+     * Empty multimap
+     *
+     * @param <K>
+     * @param <V>
+     * @return CollectioSetMultimap
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> CollectioSetMultimap<K, V> empty() {
+        return (CollectioSetMultimap<K, V>) EMPTY;
+    }
+
+    /**
+     * Method to make the multimap of the values of the map
+     *
+     * @param map
+     * @param <K>
+     * @param <V>
+     * @return CollectioSetMultimap
+     */
+    public static <K, V> CollectioSetMultimap<K, V> of(final Map<? extends K, ? extends Collection<? extends V>> map) {
+        CollectioSetMultimap<K, V> result = empty();
+        for (Map.Entry<? extends K, ? extends Collection<? extends V>> entry : map.entrySet()) {
+            result = result.addAll(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Method to add the value to the set of the key
+     *
+     * @param key
+     * @param value
+     * @return CollectioSetMultimap, the same one when the key has the value already
+     */
+    @Override
+    public CollectioSetMultimap<K, V> add(final K key, final V value) {
+        CollectiosSet<V> values = get(key);
+        CollectiosSet<V> newValues = values.prepend(value);
+        if (newValues == values) {
+            return this;
+        }
+        return new CollectioSetMultimap<>(map.add(key, newValues), length + 1);
+    }
+
+    /**
+     * Method to add the values to the set of the key, they are added through one transient
+     *
+     * @param key
+     * @param values
+     * @return CollectioSetMultimap
+     */
+    @Override
+    public CollectioSetMultimap<K, V> addAll(final K key, final Collection<? extends V> values) {
+        CollectiosSet<V> oldValues = get(key);
+        CollectiosSet<V> newValues = oldValues.prependAll(values);
+        if (newValues.size() == oldValues.size()) {
+            return this;
+        }
+        return new CollectioSetMultimap<>(map.add(key, newValues), length + newValues.size() - oldValues.size());
+    }
+
+    /**
+     * Method to delete the value from the set of the key, the key is deleted with its last value
+     *
+     * @param key
+     * @param value
+     * @return CollectioSetMultimap
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public CollectioSetMultimap<K, V> delete(final K key, final V value) {
+        CollectiosSet<V> values = map.get(key);
+        if (values == null || !values.contains(value)) {
+            return this;
+        }
+        if (values.size() == 1) {
+            return new CollectioSetMultimap<>(map.delete(key), length - 1);
+        }
+        return new CollectioSetMultimap<>(map.add(key, (CollectiosSet<V>) values.delete(value)), length - 1);
+    }
+
+    /**
+     * Method to delete the key with all its values
+     *
+     * @param key
+     * @return CollectioSetMultimap
+     */
+    @Override
+    public CollectioSetMultimap<K, V> deleteAll(final K key) {
+        CollectiosSet<V> values = map.get(key);
+        if (values == null) {
+            return this;
+        }
+        return new CollectioSetMultimap<>(map.delete(key), length - values.size());
+    }
+
+    /**
+     * Method to get the values of the key
+     *
+     * @param key
+     * @return CollectiosSet, empty when there is no such key
+     */
+    @Override
+    public CollectiosSet<V> get(final K key) {
+        CollectiosSet<V> values = map.get(key);
+        return values == null ? CollectiosSet.empty() : values;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsEntry(final Object key, final Object value) {
+        CollectiosSet<V> values = map.get(key);
+        return values != null && values.contains(value);
+    }
+
+    /**
+     * Number of key value pairs
+     *
+     * @return int
+     */
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == ZERO;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return map.keySet();
+    }
+
+    /**
+     * Map of the keys to their sets of values
+     *
+     * @return CollectioMap
+     */
+    @Override
+    public CollectioMap<K, CollectiosSet<V>> asMap() {
+        return map;
+    }
+
+    /**
+     * Multimap of the values to the sets of their keys
+     *
+     * @return CollectioSetMultimap
+     */
+    @Override
+    public CollectioSetMultimap<V, K> inverse() {
+        CollectioSetMultimap<V, K> result = empty();
+        for (Map.Entry<K, CollectiosSet<V>> entry : map.entrySet()) {
+            for (V value : entry.getValue()) {
+                result = result.add(value, entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CollectioSetMultimap)) {
+            return false;
+        }
+        CollectioSetMultimap<?, ?> other = (CollectioSetMultimap<?, ?>) o;
+        return length == other.length && map.equals(other.map);
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
@@ -0,0 +1,152 @@
+package com.elvinmahmudov.collectios.codec;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * DataInput reading a byte buffer from the offset, the buffer is shared and its position is not changed,
+ * so any number of inputs can read one mapped buffer at the same time
+ *
+ * @author emahmudov
+ */
+public final class ByteBufferInput implements DataInput {
+
+    private final ByteBuffer buffer;
+
+    public ByteBufferInput(final ByteBuffer buffer, final int offset) {
+        this.buffer = buffer.duplicate();
+        this.buffer.position(offset);
+    }
+
+    /**
+     * Method to get the offset of the next byte to read
+     *
+     * @return int
+     */
+    public int position() {
+        return buffer.position();
+    }
+
+    @Override
+    public void readFully(final byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(final byte[] b, final int off, final int len) throws IOException {
+        if (buffer.remaining() < len) {
+            throw new EOFException();
+        }
+        buffer.get(b, off, len);
+    }
+
+    @Override
+    public int skipBytes(final int n) {
+        int skipped = Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        try {
+            return buffer.get();
+        } catch (BufferUnderflowException e) {
+            throw new EOFException();
+        }
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        try {
+            return buffer.getShort();
+        } catch (BufferUnderflowException e) {
+            throw new EOFException();
+        }
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return (char) readShort();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        try {
+            return buffer.getInt();
+        } catch (BufferUnderflowException e) {
+            throw new EOFException();
+        }
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        try {
+            return buffer.getLong();
+        } catch (BufferUnderflowException e) {
+            throw new EOFException();
+        }
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Method to read the bytes up to the end of the line like {@link DataInputStream#readLine()},
+     * every byte is converted to a char and the line ends with "\n", "\r" or "\r\n"
+     *
+     * @return the line without the terminator, null at the end of the buffer
+     */
+    @Override
+    public String readLine() {
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+        StringBuilder line = new StringBuilder();
+        while (buffer.hasRemaining()) {
+            int c = buffer.get() & 0xFF;
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                if (buffer.hasRemaining() && buffer.get(buffer.position()) == '\n') {
+                    buffer.get();
+                }
+                break;
+            }
+            line.append((char) c);
+        }
+        return line.toString();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+}
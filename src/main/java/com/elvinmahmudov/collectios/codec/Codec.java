@@ -0,0 +1,18 @@
+package com.elvinmahmudov.collectios.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary form of the keys, values and items stored in snapshots. The encoding has to be self-delimiting,
+ * decode reads exactly the bytes written by encode.
+ *
+ * @param <T> Type of the encoded objects
+ */
+public interface Codec<T> {
+
+    void encode(T value, DataOutput out) throws IOException;
+
+    T decode(DataInput in) throws IOException;
+}
@@ -0,0 +1,113 @@
+package com.elvinmahmudov.collectios.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codecs of the common types, none of them accepts null, use {@link #nullable(Codec)} for that
+ *
+ * @author emahmudov
+ */
+public final class Codecs {
+
+    private Codecs() {
+    }
+
+    /**
+     * Strings as the length followed by the UTF-8 bytes, unlike writeUTF it has no length limit
+     */
+    public static final Codec<String> STRING = new Codec<>() {
+        @Override
+        public void encode(final String value, final DataOutput out) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public String decode(final DataInput in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    public static final Codec<Integer> INTEGER = new Codec<>() {
+        @Override
+        public void encode(final Integer value, final DataOutput out) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        public Integer decode(final DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    public static final Codec<Long> LONG = new Codec<>() {
+        @Override
+        public void encode(final Long value, final DataOutput out) throws IOException {
+            out.writeLong(value);
+        }
+
+        @Override
+        public Long decode(final DataInput in) throws IOException {
+            return in.readLong();
+        }
+    };
+
+    /**
+     * Any serializable objects and null, it is written by Java serialization,
+     * so it works only with ObjectOutput and ObjectInput like the ones given to Externalizable
+     */
+    public static final Codec<Object> OBJECT = new Codec<>() {
+        @Override
+        public void encode(final Object value, final DataOutput out) throws IOException {
+            if (!(out instanceof ObjectOutput)) {
+                throw new IllegalArgumentException("OBJECT codec needs ObjectOutput");
+            }
+            ((ObjectOutput) out).writeObject(value);
+        }
+
+        @Override
+        public Object decode(final DataInput in) throws IOException {
+            if (!(in instanceof ObjectInput)) {
+                throw new IllegalArgumentException("OBJECT codec needs ObjectInput");
+            }
+            try {
+                return ((ObjectInput) in).readObject();
+            } catch (ClassNotFoundException e) {
+                throw new InvalidClassException(e.getMessage());
+            }
+        }
+    };
+
+    /**
+     * Method to get the codec accepting null, the value is preceded by a presence flag
+     *
+     * @param codec
+     * @param <T>
+     * @return Codec
+     */
+    public static <T> Codec<T> nullable(final Codec<T> codec) {
+        return new Codec<>() {
+            @Override
+            public void encode(final T value, final DataOutput out) throws IOException {
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    codec.encode(value, out);
+                }
+            }
+
+            @Override
+            public T decode(final DataInput in) throws IOException {
+                return in.readBoolean() ? codec.decode(in) : null;
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.elvinmahmudov.collectios.codec;
+
+import com.elvinmahmudov.collectios.clist.CollectiosList;
+import com.elvinmahmudov.collectios.clist.CollectiosVector;
+import com.elvinmahmudov.collectios.cmap.CollectioMap;
+import com.elvinmahmudov.collectios.cset.CollectiosSet;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+
+/**
+ * Serialized form of the persistent collections. The collection is written by its node codec with
+ * the items written by {@link Codecs#OBJECT}, so the nodes it shares with itself are written once.
+ *
+ * @author emahmudov
+ */
+public final class CollectiosExternalizable implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte LIST = 1;
+    private static final byte VECTOR = 2;
+    private static final byte MAP = 3;
+    private static final byte SET = 4;
+
+    private Object collection;
+
+    /**
+     * Constructor for deserialization
+     */
+    public CollectiosExternalizable() {
+    }
+
+    public CollectiosExternalizable(final Object collection) {
+        this.collection = collection;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        NodeOutput nodes = new NodeOutput(out);
+        if (collection instanceof CollectiosList) {
+            out.writeByte(LIST);
+            ((CollectiosList<?>) collection).write(nodes, Codecs.OBJECT);
+        } else if (collection instanceof CollectiosVector) {
+            out.writeByte(VECTOR);
+            ((CollectiosVector<?>) collection).write(nodes, Codecs.OBJECT);
+        } else if (collection instanceof CollectioMap) {
+            out.writeByte(MAP);
+            ((CollectioMap<?, ?>) collection).write(nodes, Codecs.OBJECT, Codecs.OBJECT);
+        } else if (collection instanceof CollectiosSet) {
+            out.writeByte(SET);
+            ((CollectiosSet<?>) collection).write(nodes, Codecs.OBJECT);
+        } else {
+            throw new InvalidObjectException("Not a persistent collection: " + collection);
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        NodeInput nodes = new NodeInput(in);
+        byte type = in.readByte();
+        switch (type) {
+            case LIST:
+                collection = CollectiosList.read(nodes, Codecs.OBJECT);
+                break;
+            case VECTOR:
+                collection = CollectiosVector.read(nodes, Codecs.OBJECT);
+                break;
+            case MAP:
+                collection = CollectioMap.read(nodes, Codecs.OBJECT, Codecs.OBJECT);
+                break;
+            case SET:
+                collection = CollectiosSet.read(nodes, Codecs.OBJECT);
+                break;
+            default:
+                throw new StreamCorruptedException("Unknown collection type " + type);
+        }
+    }
+
+    private Object readResolve() {
+        return collection;
+    }
+}
@@ -0,0 +1,77 @@
+package com.elvinmahmudov.collectios.codec;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Input of the nodes written by a {@link NodeOutput}, it keeps the nodes it has read
+ * to resolve the references of the following collections
+ *
+ * @author emahmudov
+ */
+public final class NodeInput {
+
+    private final DataInput in;
+
+    private final List<Object> nodes = new ArrayList<>();
+
+    public NodeInput(final DataInput in) {
+        this.in = in;
+    }
+
+    /**
+     * Method to get the input of the node contents
+     *
+     * @return DataInput
+     */
+    public DataInput data() {
+        return in;
+    }
+
+    /**
+     * Method to start reading the node
+     *
+     * @return the node read before or null when the caller reads the node and registers it
+     * @throws IOException
+     */
+    public Object readReference() throws IOException {
+        int tag = readSize();
+        if (tag == NodeOutput.NEW_NODE) {
+            return null;
+        }
+        if (tag > nodes.size()) {
+            throw new StreamCorruptedException("Reference to the node " + (tag - 1) + " which has not been read");
+        }
+        return nodes.get(tag - 1);
+    }
+
+    /**
+     * Method to give the next id to the read node
+     *
+     * @param node
+     */
+    public void register(final Object node) {
+        nodes.add(node);
+    }
+
+    /**
+     * Method to read an int written by {@link NodeOutput#writeSize(int)}
+     *
+     * @return int
+     * @throws IOException
+     */
+    public int readSize() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new StreamCorruptedException("Malformed size");
+    }
+}
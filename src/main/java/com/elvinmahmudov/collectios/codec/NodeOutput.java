@@ -0,0 +1,94 @@
+package com.elvinmahmudov.collectios.codec;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Output of the nodes of persistent collections which writes every node once. A node written before,
+ * by this or by any earlier collection written to the output, is written as a reference to its id,
+ * so a new version of a collection written after the old one costs only the nodes copied since then.
+ * The ids are given in the order the nodes are registered, a {@link NodeInput} reading the same stream
+ * gives the same ids to the same nodes.
+ * <p>
+ * The output keeps every written node, so it should live as long as the versions it writes deltas against.
+ *
+ * @author emahmudov
+ */
+public final class NodeOutput {
+
+    /**
+     * Tag of a node written in full, references are written as their id plus one
+     */
+    static final int NEW_NODE = 0;
+
+    private final DataOutput out;
+
+    private final Map<Object, Integer> ids = new IdentityHashMap<>();
+
+    public NodeOutput(final DataOutput out) {
+        this.out = out;
+    }
+
+    /**
+     * Method to get the output of the node contents
+     *
+     * @return DataOutput
+     */
+    public DataOutput data() {
+        return out;
+    }
+
+    /**
+     * Method to check whether the node has been written
+     *
+     * @param node
+     * @return boolean
+     */
+    public boolean isWritten(final Object node) {
+        return ids.containsKey(node);
+    }
+
+    /**
+     * Method to start writing the node, a node written before is written as a reference
+     *
+     * @param node
+     * @return true when the reference has been written, otherwise the caller writes the node
+     * and registers it when it is written
+     * @throws IOException
+     */
+    public boolean writeReference(final Object node) throws IOException {
+        Integer id = ids.get(node);
+        if (id == null) {
+            writeSize(NEW_NODE);
+            return false;
+        }
+        writeSize(id + 1);
+        return true;
+    }
+
+    /**
+     * Method to give the next id to the written node
+     *
+     * @param node
+     */
+    public void register(final Object node) {
+        ids.put(node, ids.size());
+    }
+
+    /**
+     * Method to write a non-negative int in 1 to 5 bytes, 7 bits per byte
+     *
+     * @param size
+     * @throws IOException
+     */
+    public void writeSize(final int size) throws IOException {
+        int value = size;
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
@@ -0,0 +1,12 @@
+package com.elvinmahmudov.collectios.cqueue;
+
+public interface CDeque<E> extends CQueue<E> {
+
+    CDeque<E> enqueue(E e);
+
+    CDeque<E> enqueueFirst(E e);
+
+    CDeque<E> dequeue();
+
+    CDeque<E> dequeueLast();
+}
@@ -0,0 +1,14 @@
+package com.elvinmahmudov.collectios.cqueue;
+
+import java.util.Collection;
+
+public interface CQueue<E> extends Collection<E> {
+
+    CQueue<E> enqueue(E e);
+
+    CQueue<E> dequeue();
+
+    E peekFirst();
+
+    E peekLast();
+}
@@ -0,0 +1,290 @@
+package com.elvinmahmudov.collectios.cqueue;
+
+import com.elvinmahmudov.collectios.exception.EmptyObjectException;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ONE;
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * Immutable double-ended queue made of two lists, the front holds the first items in order
+ * and the rear holds the last items in reverse order, so both ends are the heads of lists.
+ * Enqueue and dequeue at either end prepend to or take the rest of one list and share the rest
+ * of the deque with the previous version.
+ * <p>
+ * Neither list may get more than {@link #BALANCE} times longer than the other one plus one item. When one does,
+ * the items are split in halves again and the half moving to the other list is reversed onto its end.
+ * The lists are lazy, see {@link LazyList}, so the rotation is only evaluated as its items are reached
+ * and every version derived from the rotated one shares the evaluated cells. The rotation is then
+ * paid for once, even when an old version is used again, and all the operations take O(1) amortized
+ * for any use of the versions.
+ *
+ * @param <E>
+ * @author emahmudov
+ */
+public final class CollectiosDeque<E> extends AbstractCollection<E> implements CDeque<E> {
+
+    /**
+     * Ratio of the lengths of the lists which makes them rotate
+     */
+    private static final int BALANCE = 3;
+
+    private static final CollectiosDeque<Object> EMPTY =
+            new CollectiosDeque<>(LazyList.nil(), ZERO, LazyList.nil(), ZERO);
+
+    /**
+     * First items from the first one
+     */
+    private final LazyList<E> front;
+
+    private final int frontLength;
+
+    /**
+     * Last items from the last one
+     */
+    private final LazyList<E> rear;
+
+    private final int rearLength;
+
+    private CollectiosDeque(final LazyList<E> front, final int frontLength,
+                            final LazyList<E> rear, final int rearLength) {
+        this.front = front;
+        this.frontLength = frontLength;
+        this.rear = rear;
+        this.rearLength = rearLength;
+    }
+
+    /**
+     * Empty deque
+     *
+     * @param <E>
+     * @return CollectiosDeque
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> CollectiosDeque<E> empty() {
+        return (CollectiosDeque<E>) EMPTY;
+    }
+
+    /**
+     * Method to create the deque of the items in the order of the collection
+     *
+     * @param list
+     * @param <E>
+     * @return CollectiosDeque
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> CollectiosDeque<E> of(final Collection<? extends E> list) {
+        if (list instanceof CollectiosDeque) {
+            return (CollectiosDeque<E>) list;
+        }
+        Object[] items = list.toArray();
+        LazyList<E> front = LazyList.nil();
+        for (int i = items.length - ONE; i >= 0; i--) {
+            front = LazyList.cons((E) items[i], front);
+        }
+        return balanced(front, items.length, LazyList.nil(), ZERO);
+    }
+
+    /**
+     * Method to create the deque of the lists, they are rotated when one of them is too long
+     *
+     * @param front
+     * @param frontLength
+     * @param rear
+     * @param rearLength
+     * @param <E>
+     * @return CollectiosDeque
+     */
+    private static <E> CollectiosDeque<E> balanced(final LazyList<E> front, final int frontLength,
+                                                   final LazyList<E> rear, final int rearLength) {
+        int size = frontLength + rearLength;
+        if (size == ZERO) {
+            return empty();
+        }
+        if (frontLength > BALANCE * rearLength + ONE) {
+            int newFrontLength = size >>> ONE;
+            return new CollectiosDeque<>(LazyList.take(newFrontLength, front), newFrontLength,
+                    LazyList.append(rear, LazyList.dropReversed(newFrontLength, front)), size - newFrontLength);
+        }
+        if (rearLength > BALANCE * frontLength + ONE) {
+            int newRearLength = size >>> ONE;
+            return new CollectiosDeque<>(LazyList.append(front, LazyList.dropReversed(newRearLength, rear)),
+                    size - newRearLength, LazyList.take(newRearLength, rear), newRearLength);
+        }
+        return new CollectiosDeque<>(front, frontLength, rear, rearLength);
+    }
+
+    /**
+     * Size of the deque
+     *
+     * @return int
+     */
+    @Override
+    public int size() {
+        return frontLength + rearLength;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return frontLength + rearLength == ZERO;
+    }
+
+    /**
+     * Method to add the item after the last one
+     *
+     * @param e
+     * @return CollectiosDeque
+     */
+    @Override
+    public CollectiosDeque<E> enqueue(final E e) {
+        return balanced(front, frontLength, LazyList.cons(e, rear), rearLength + ONE);
+    }
+
+    /**
+     * Method to add the item before the first one
+     *
+     * @param e
+     * @return CollectiosDeque
+     */
+    @Override
+    public CollectiosDeque<E> enqueueFirst(final E e) {
+        return balanced(LazyList.cons(e, front), frontLength + ONE, rear, rearLength);
+    }
+
+    /**
+     * Method to remove the first item
+     *
+     * @return CollectiosDeque
+     * @throws EmptyObjectException when the deque is empty
+     */
+    @Override
+    public CollectiosDeque<E> dequeue() {
+        if (frontLength == ZERO) {
+            if (rearLength == ZERO) {
+                throw new EmptyObjectException();
+            }
+            // a deque with an empty front has one item
+            return empty();
+        }
+        return balanced(front.tail(), frontLength - ONE, rear, rearLength);
+    }
+
+    /**
+     * Method to remove the last item
+     *
+     * @return CollectiosDeque
+     * @throws EmptyObjectException when the deque is empty
+     */
+    @Override
+    public CollectiosDeque<E> dequeueLast() {
+        if (rearLength == ZERO) {
+            if (frontLength == ZERO) {
+                throw new EmptyObjectException();
+            }
+            return empty();
+        }
+        return balanced(front, frontLength, rear.tail(), rearLength - ONE);
+    }
+
+    /**
+     * Method to get the first item
+     *
+     * @return E or null when the deque is empty
+     */
+    @Override
+    public E peekFirst() {
+        return frontLength == ZERO ? rear.head() : front.head();
+    }
+
+    /**
+     * Method to get the last item
+     *
+     * @return E or null when the deque is empty
+     */
+    @Override
+    public E peekLast() {
+        return rearLength == ZERO ? front.head() : rear.head();
+    }
+
+    /**
+     * Get iterator from the first item to the last one, the rear list is copied when it is reached
+     *
+     * @return Iterator
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private LazyList<E> items = front;
+            private int remaining = frontLength;
+            private Object[] reversed = null;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > ZERO || (reversed == null ? rearLength > ZERO : index > ZERO);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (remaining > ZERO) {
+                    E e = items.head();
+                    items = items.tail();
+                    remaining--;
+                    return e;
+                }
+                if (reversed == null) {
+                    reversed = rear.toArray(rearLength);
+                    index = reversed.length;
+                }
+                if (index == ZERO) {
+                    throw new NoSuchElementException();
+                }
+                return (E) reversed[--index];
+            }
+        };
+    }
+
+    /**
+     * Hash code of the deque, it is the hash code of the List of its items in order
+     *
+     * @return int
+     */
+    @Override
+    public int hashCode() {
+        int hash = ONE;
+        for (E e : this) {
+            hash = 31 * hash + Objects.hashCode(e);
+        }
+        return hash;
+    }
+
+    /**
+     * Queues are equal when they have equal items in the same order
+     *
+     * @param o
+     * @return boolean
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CQueue) || ((CQueue<?>) o).size() != size()) {
+            return false;
+        }
+        Iterator<?> other = ((CQueue<?>) o).iterator();
+        for (E e : this) {
+            if (!Objects.equals(e, other.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,144 @@
+package com.elvinmahmudov.collectios.cqueue;
+
+import java.util.function.Supplier;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * Immutable singly linked list whose cells may be suspended. A suspended cell is evaluated the first time
+ * it is read and keeps the result, so a suspension shared by several versions of a deque is paid for once.
+ * Evaluation is synchronized on the cell, the result is published by clearing the volatile suspension.
+ *
+ * @param <E>
+ * @author emahmudov
+ */
+final class LazyList<E> {
+
+    private static final LazyList<Object> NIL = new LazyList<>(null, null);
+
+    /**
+     * Computation of the cell, null once the cell is evaluated
+     */
+    private volatile Supplier<LazyList<E>> suspension;
+
+    private E first;
+
+    /**
+     * Rest of the list, null for the empty list
+     */
+    private LazyList<E> rest;
+
+    private LazyList(final E first, final LazyList<E> rest) {
+        this.first = first;
+        this.rest = rest;
+    }
+
+    private LazyList(final Supplier<LazyList<E>> suspension) {
+        this.suspension = suspension;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> LazyList<E> nil() {
+        return (LazyList<E>) NIL;
+    }
+
+    static <E> LazyList<E> cons(final E first, final LazyList<E> rest) {
+        return new LazyList<>(first, rest);
+    }
+
+    /**
+     * Method to evaluate the cell, it is evaluated once
+     *
+     * @return the evaluated cell
+     */
+    private LazyList<E> force() {
+        if (suspension != null) {
+            synchronized (this) {
+                Supplier<LazyList<E>> s = suspension;
+                if (s != null) {
+                    LazyList<E> cell = s.get().force();
+                    first = cell.first;
+                    rest = cell.rest;
+                    suspension = null;
+                }
+            }
+        }
+        return this;
+    }
+
+    boolean isEmpty() {
+        return force().rest == null;
+    }
+
+    E head() {
+        return force().first;
+    }
+
+    LazyList<E> tail() {
+        return force().rest;
+    }
+
+    /**
+     * Method to get the list of the items of xs followed by the items of ys, it is evaluated cell by cell
+     *
+     * @param xs
+     * @param ys
+     * @param <E>
+     * @return LazyList
+     */
+    static <E> LazyList<E> append(final LazyList<E> xs, final LazyList<E> ys) {
+        return new LazyList<>(() -> xs.isEmpty() ? ys : cons(xs.head(), append(xs.tail(), ys)));
+    }
+
+    /**
+     * Method to get the first n items of the list, it is evaluated cell by cell
+     *
+     * @param n
+     * @param xs
+     * @param <E>
+     * @return LazyList
+     */
+    static <E> LazyList<E> take(final int n, final LazyList<E> xs) {
+        return new LazyList<>(() -> n == ZERO || xs.isEmpty() ? nil() : cons(xs.head(), take(n - 1, xs.tail())));
+    }
+
+    /**
+     * Method to get the items after the first n ones in reverse order, the whole list is evaluated
+     * when its first cell is read
+     *
+     * @param n
+     * @param xs
+     * @param <E>
+     * @return LazyList
+     */
+    static <E> LazyList<E> dropReversed(final int n, final LazyList<E> xs) {
+        return new LazyList<>(() -> {
+            LazyList<E> items = xs;
+            for (int i = 0; i < n; i++) {
+                items = items.tail();
+            }
+            LazyList<E> result = nil();
+            for (; !items.isEmpty(); items = items.tail()) {
+                result = cons(items.head(), result);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Method to copy the first n items to an array
+     *
+     * @param n
+     * @return Object[]
+     */
+    Object[] toArray(final int n) {
+        Object[] items = new Object[n];
+        LazyList<E> list = this;
+        for (int i = 0; i < n; i++) {
+            items[i] = list.head();
+            list = list.tail();
+        }
+        return items;
+    }
+}
@@ -0,0 +1,301 @@
+package com.elvinmahmudov.collectios.cref;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.UnaryOperator;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * Lock-free reference to a persistent collection shared by threads. Readers get the current version
+ * without synchronization, writers publish a new version made from the current one by
+ * {@link #swap(UnaryOperator)}.
+ * <p>
+ * A swap applies the operator to the current version and publishes the result by compare-and-set,
+ * retrying with a randomized exponential backoff when another writer got there first. A writer which keeps
+ * losing queues its operator instead, then one of the queued writers takes the combiner role, applies all
+ * the queued operators one after another to the current version and publishes their result by one
+ * compare-and-set, so under heavy write contention hundreds of updates cost one commit. Writers arriving
+ * while a combiner is at work queue their operators for the next batch right away.
+ * <p>
+ * Operators may be applied more than once when their result loses the race, so they should be free of
+ * side effects, like the ones of {@link AtomicReference#updateAndGet(UnaryOperator)}.
+ *
+ * @param <T> persistent collection, compared by identity
+ * @author emahmudov
+ */
+public final class CRef<T> {
+
+    /**
+     * Failed compare-and-sets before the writer queues its operator
+     */
+    private static final int ATTEMPTS = 4;
+
+    private static final int MAX_BACKOFF_SPINS = 1 << 10;
+
+    private static final int WAIT_SPINS = 64;
+
+    private static final long PARK_NANOS = 1_000_000L;
+
+    private final AtomicReference<T> value;
+
+    /**
+     * Queued updates, the last queued one first
+     */
+    private final AtomicReference<Update<T>> updates = new AtomicReference<>();
+
+    private final AtomicBoolean combining = new AtomicBoolean();
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder contentions = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedUpdates = new LongAdder();
+
+    public CRef(final T value) {
+        this.value = new AtomicReference<>(value);
+    }
+
+    /**
+     * Method to create the reference to the collection
+     *
+     * @param value
+     * @param <T>
+     * @return CRef
+     */
+    public static <T> CRef<T> of(final T value) {
+        return new CRef<>(value);
+    }
+
+    /**
+     * Method to get the current version
+     *
+     * @return T
+     */
+    public T get() {
+        return value.get();
+    }
+
+    /**
+     * Method to publish the version regardless of the current one
+     *
+     * @param newValue
+     */
+    public void set(final T newValue) {
+        value.set(newValue);
+    }
+
+    /**
+     * Method to publish the version when the current one is the expected one
+     *
+     * @param expected
+     * @param newValue
+     * @return true when it has been published
+     */
+    public boolean compareAndSet(final T expected, final T newValue) {
+        return value.compareAndSet(expected, newValue);
+    }
+
+    /**
+     * Method to publish the version made by the operator from the current one
+     *
+     * @param operator
+     * @return the published version
+     */
+    public T swap(final UnaryOperator<T> operator) {
+        return update(operator).value;
+    }
+
+    /**
+     * Method to publish the version made by the operator from the current one
+     *
+     * @param operator
+     * @return the version the operator has been applied to
+     */
+    public T getAndSwap(final UnaryOperator<T> operator) {
+        return update(operator).previous;
+    }
+
+    private Update<T> update(final UnaryOperator<T> operator) {
+        Update<T> update = new Update<>(operator);
+        // while a combiner is committing a batch the writers join the queue, racing it would starve the batch
+        for (int attempt = 0; attempt < ATTEMPTS && !combining.get(); attempt++) {
+            T current = value.get();
+            T next = operator.apply(current);
+            if (next == current || value.compareAndSet(current, next)) {
+                update.previous = current;
+                update.value = next;
+                return update;
+            }
+            retries.increment();
+            backoff(attempt);
+        }
+
+        contentions.increment();
+        return combined(update);
+    }
+
+    /**
+     * Method to queue the update and wait until it is published by a combiner, the writer combines
+     * the queue itself when there is no combiner
+     *
+     * @param update
+     * @return Update
+     */
+    private Update<T> combined(final Update<T> update) {
+        Update<T> head;
+        do {
+            head = updates.get();
+            update.next = head;
+        } while (!updates.compareAndSet(head, update));
+
+        int spins = ZERO;
+        while (!update.done) {
+            if (!combining.get() && combining.compareAndSet(false, true)) {
+                try {
+                    combine();
+                } finally {
+                    combining.set(false);
+                }
+                // the writers queued during the batch wait for a combiner, wake one of them to take the role
+                Update<T> queued = updates.get();
+                if (queued != null) {
+                    LockSupport.unpark(queued.thread);
+                }
+            } else if (spins++ < WAIT_SPINS) {
+                Thread.onSpinWait();
+            } else if (combining.get()) {
+                // woken by the combiner, the timeout only bounds the wait if the wakeup is missed
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+        }
+
+        if (update.failure instanceof RuntimeException) {
+            throw (RuntimeException) update.failure;
+        }
+        if (update.failure instanceof Error) {
+            throw (Error) update.failure;
+        }
+        return update;
+    }
+
+    /**
+     * Method to apply the queued updates in the order they have been queued and publish their result
+     */
+    private void combine() {
+        Update<T> head = updates.getAndSet(null);
+        Update<T> batch = null;
+        int count = ZERO;
+        while (head != null) {
+            Update<T> next = head.next;
+            head.next = batch;
+            batch = head;
+            head = next;
+            count++;
+        }
+        if (batch == null) {
+            return;
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            T current = value.get();
+            T result = current;
+            for (Update<T> update = batch; update != null; update = update.next) {
+                update.previous = result;
+                try {
+                    result = update.operator.apply(result);
+                    update.failure = null;
+                } catch (RuntimeException | Error e) {
+                    update.failure = e;
+                }
+                update.value = result;
+            }
+            if (result == current || value.compareAndSet(current, result)) {
+                break;
+            }
+            retries.increment();
+            backoff(attempt);
+        }
+
+        batches.increment();
+        batchedUpdates.add(count);
+        Update<T> update = batch;
+        while (update != null) {
+            Update<T> next = update.next;
+            Thread waiter = update.thread;
+            update.done = true;
+            LockSupport.unpark(waiter);
+            update = next;
+        }
+    }
+
+    private static void backoff(final int attempt) {
+        int bound = Math.min(1 << attempt, MAX_BACKOFF_SPINS);
+        for (int spins = ThreadLocalRandom.current().nextInt(bound, bound << 1); spins > 0; spins--) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Method to get the number of failed compare-and-sets
+     *
+     * @return long
+     */
+    public long retries() {
+        return retries.sum();
+    }
+
+    /**
+     * Method to get the number of swaps which have been queued for a combiner
+     *
+     * @return long
+     */
+    public long contentions() {
+        return contentions.sum();
+    }
+
+    /**
+     * Method to get the number of commits made by combiners
+     *
+     * @return long
+     */
+    public long batches() {
+        return batches.sum();
+    }
+
+    /**
+     * Method to get the number of swaps published by combiners
+     *
+     * @return long
+     */
+    public long batchedUpdates() {
+        return batchedUpdates.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "CRef[" + value.get() + "]";
+    }
+
+    /**
+     * Swap of one writer, it is queued when the writer loses the race
+     *
+     * @param <T>
+     */
+    private static final class Update<T> {
+        final UnaryOperator<T> operator;
+        final Thread thread = Thread.currentThread();
+        Update<T> next;
+        T previous;
+        T value;
+        Throwable failure;
+        volatile boolean done;
+
+        Update(final UnaryOperator<T> operator) {
+            this.operator = operator;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.elvinmahmudov.collectios.cset;
+
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+
+/**
+ * Immutable set of primitive ints, it mirrors CSet without boxing the items
+ */
+public interface CIntSet {
+
+    CIntSet prepend(int e);
+
+    CIntSet prependAll(int... items);
+
+    CIntSet delete(int e);
+
+    CIntSet deleteAll(int... items);
+
+    boolean contains(int e);
+
+    int size();
+
+    boolean isEmpty();
+
+    int[] toArray();
+
+    PrimitiveIterator.OfInt iterator();
+
+    IntStream stream();
+}
@@ -16,4 +16,14 @@ public interface CSet<E> extends Set<E>, Collectios<E> {
 
     CSet<E> deleteAll(Collection<? extends E> list);
 
+    TransientCSet<E> toTransient();
+
+    CSet<E> union(CSet<E> other);
+
+    CSet<E> intersect(CSet<E> other);
+
+    CSet<E> difference(CSet<E> other);
+
+    boolean isSubsetOf(CSet<E> other);
+
 }
@@ -0,0 +1,60 @@
+package com.elvinmahmudov.collectios.cset;
+
+import java.util.Collection;
+import java.util.NavigableSet;
+
+/**
+ * Immutable set ordered by its elements, the range views share the tree of the set they come from
+ *
+ * @param <E> Element
+ */
+public interface CSortedSet<E> extends CSet<E>, NavigableSet<E> {
+
+    @Override
+    CSortedSet<E> prepend(E e);
+
+    @Override
+    CSortedSet<E> prependAll(Collection<? extends E> list);
+
+    @Override
+    CSortedSet<E> delete(Object e);
+
+    @Override
+    CSortedSet<E> delete(int i);
+
+    @Override
+    CSortedSet<E> deleteAll(Collection<? extends E> list);
+
+    @Override
+    CSortedSet<E> subCList(int start, int end);
+
+    @Override
+    CSortedSet<E> union(CSet<E> other);
+
+    @Override
+    CSortedSet<E> intersect(CSet<E> other);
+
+    @Override
+    CSortedSet<E> difference(CSet<E> other);
+
+    @Override
+    CSortedSet<E> descendingSet();
+
+    @Override
+    CSortedSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive);
+
+    @Override
+    CSortedSet<E> headSet(E toElement, boolean inclusive);
+
+    @Override
+    CSortedSet<E> tailSet(E fromElement, boolean inclusive);
+
+    @Override
+    CSortedSet<E> subSet(E fromElement, E toElement);
+
+    @Override
+    CSortedSet<E> headSet(E toElement);
+
+    @Override
+    CSortedSet<E> tailSet(E fromElement);
+}
@@ -0,0 +1,185 @@
+package com.elvinmahmudov.collectios.cset;
+
+import com.elvinmahmudov.collectios.cmap.CollectioIntObjectMap;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static com.elvinmahmudov.collectios.enums.Constants.ZERO;
+
+
+/**
+ * The class is analogue for CollectiosSet with primitive int items,
+ * like CollectiosSet it keeps the items as keys of a map, here of CollectioIntObjectMap with null values
+ *
+ * @author emahmudov
+ */
+public final class CollectiosIntSet implements CIntSet {
+
+    private static final CollectiosIntSet EMPTY = new CollectiosIntSet(CollectioIntObjectMap.empty(), 0);
+    private final CollectioIntObjectMap<Object> map;
+    private final int hashCode;
+
+    private CollectiosIntSet(final CollectioIntObjectMap<Object> map, final int hashCode) {
+        this.map = map;
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Empty set
+     *
+     * @return CollectiosIntSet
+     */
+    public static CollectiosIntSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Make CollectiosIntSet from the items
+     *
+     * @param items
+     * @return CollectiosIntSet
+     */
+    public static CollectiosIntSet of(final int... items) {
+        return EMPTY.prependAll(items);
+    }
+
+    /**
+     * Add the item to the set, the same set is returned when the item is already there
+     *
+     * @param e
+     * @return CollectiosIntSet
+     */
+    @Override
+    public CollectiosIntSet prepend(final int e) {
+        CollectioIntObjectMap<Object> newMap = map.add(e, null);
+        if (newMap == map) {
+            return this;
+        }
+        return new CollectiosIntSet(newMap, hashCode + Integer.hashCode(e));
+    }
+
+    /**
+     * Add all the items to the set
+     *
+     * @param items
+     * @return CollectiosIntSet
+     */
+    @Override
+    public CollectiosIntSet prependAll(final int... items) {
+        CollectiosIntSet result = this;
+        for (int e : items) {
+            result = result.prepend(e);
+        }
+        return result;
+    }
+
+    /**
+     * Delete the item from the set
+     *
+     * @param e
+     * @return CollectiosIntSet
+     */
+    @Override
+    public CollectiosIntSet delete(final int e) {
+        CollectioIntObjectMap<Object> newMap = map.delete(e);
+        if (newMap == map) {
+            return this;
+        }
+        return new CollectiosIntSet(newMap, hashCode - Integer.hashCode(e));
+    }
+
+    /**
+     * Delete all the items from the set
+     *
+     * @param items
+     * @return CollectiosIntSet
+     */
+    @Override
+    public CollectiosIntSet deleteAll(final int... items) {
+        CollectiosIntSet result = this;
+        for (int e : items) {
+            result = result.delete(e);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean contains(final int e) {
+        return map.containsKey(e);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] items = new int[map.size()];
+        int index = ZERO;
+        for (PrimitiveIterator.OfInt i = iterator(); i.hasNext(); ) {
+            items[index++] = i.nextInt();
+        }
+        return items;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return map.keyIterator();
+    }
+
+    @Override
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), map.size(),
+                Spliterator.DISTINCT | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * The hash code is kept up to date by every change, it is the same as the one of an equal HashSet
+     *
+     * @return int
+     */
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof CIntSet)) {
+            return false;
+        }
+        CIntSet other = (CIntSet) o;
+        if (other.size() != size() || other.hashCode() != hashCode) {
+            return false;
+        }
+        for (PrimitiveIterator.OfInt i = iterator(); i.hasNext(); ) {
+            if (!other.contains(i.nextInt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (PrimitiveIterator.OfInt i = iterator(); i.hasNext(); ) {
+            joiner.add(String.valueOf(i.nextInt()));
+        }
+        return joiner.toString();
+    }
+}
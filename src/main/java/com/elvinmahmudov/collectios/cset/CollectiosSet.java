@@ -2,12 +2,27 @@ package com.elvinmahmudov.collectios.cset;
 
 import com.elvinmahmudov.collectios.clist.Collectios;
 import com.elvinmahmudov.collectios.cmap.CMap;
+import com.elvinmahmudov.collectios.cmap.CollectioMap;
+import com.elvinmahmudov.collectios.cmap.MapDiffVisitor;
+import com.elvinmahmudov.collectios.codec.Codec;
+import com.elvinmahmudov.collectios.codec.CollectiosExternalizable;
+import com.elvinmahmudov.collectios.codec.NodeInput;
+import com.elvinmahmudov.collectios.codec.NodeOutput;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
 
 
 /**
@@ -16,19 +31,58 @@ import java.util.Set;
  * @param <E>
  * @author emahmudov
  */
-public final class CollectiosSet<E> extends AbstractSet<E> implements CSet<E> {
+public final class CollectiosSet<E> extends AbstractSet<E> implements CSet<E>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final CollectiosSet<Object> EMPTY = new CollectiosSet<>(CollectioMap.empty(), 0);
+
+    /**
+     * Codec of the values of the map, they are not written and read as null
+     */
+    private static final Codec<Object> NO_VALUE = new Codec<>() {
+        @Override
+        public void encode(final Object value, final DataOutput out) {
+        }
+
+        @Override
+        public Object decode(final DataInput in) {
+            return null;
+        }
+    };
 
-    private static final Set<Object> EMPTY = new HashSet<>();
     private final CMap<E, Object> map;
-    private final int hashCode;
+
+    /**
+     * Hash code of the Set, a set created from a map computes it on the first call
+     */
+    private int hashCode;
+    private boolean hashCodeIsZero;
 
     private CollectiosSet(final CMap<E, Object> map, final int hashCode) {
         this.map = map;
         this.hashCode = hashCode;
+        this.hashCodeIsZero = hashCode == 0;
+    }
+
+    private CollectiosSet(final CMap<E, Object> map) {
+        this.map = map;
     }
 
     public static <E> CollectiosSet from(final CMap<E, ?> map) {
-        return new CollectiosSet(map, map.keySet().hashCode());
+        return new CollectiosSet(map);
+    }
+
+    /**
+     * Method to create the set from the map and the hash code of its keys
+     *
+     * @param map
+     * @param hashCode
+     * @param <E>
+     * @return CollectiosSet
+     */
+    static <E> CollectiosSet<E> of(final CMap<E, Object> map, final int hashCode) {
+        return new CollectiosSet<>(map, hashCode);
     }
 
     /**
@@ -60,9 +114,54 @@ public final class CollectiosSet<E> extends AbstractSet<E> implements CSet<E> {
      * @return CollectiosSet
      */
     public static <E> CollectiosSet<E> from(final Collection<? extends E> list) {
+        if (list instanceof CollectiosSet) {
+            return (CollectiosSet<E>) list;
+        }
         return CollectiosSet.<E>empty().prependAll(list);
     }
 
+    /**
+     * Make CollectiosSet from any Java Collection, the elements are partitioned by hash and the sub tries
+     * are built in parallel on the common fork-join pool
+     *
+     * @param list
+     * @param <E>
+     * @return CollectiosSet
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> CollectiosSet<E> fromParallel(final Collection<? extends E> list) {
+        if (list instanceof CollectiosSet) {
+            return (CollectiosSet<E>) list;
+        }
+        return new CollectiosSet<>(CollectioMap.fromParallel(list, e -> null));
+    }
+
+    /**
+     * Collector of the elements into a CollectiosSet, in a parallel stream every thread builds its own set
+     * and the sets are merged by their union
+     *
+     * @param <E>
+     * @return Collector
+     */
+    public static <E> Collector<E, ?, CollectiosSet<E>> toCollectiosSet() {
+        return Collector.<E, TransientCSet<E>, CollectiosSet<E>>of(
+                CollectiosSet::builder,
+                TransientCSet::prepend,
+                (left, right) -> ((CollectiosSet<E>) left.persistent()).union(right.persistent()).toTransient(),
+                result -> (CollectiosSet<E>) result.persistent(),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Method to get an empty transient for building a set
+     *
+     * @param <E>
+     * @return TransientCSet
+     */
+    public static <E> TransientCSet<E> builder() {
+        return CollectiosSet.<E>empty().toTransient();
+    }
+
     public static <E> CollectiosSet from(final CMap<E, ?> map, final Collection<? extends E> list) {
         return from(map).prependAll(list);
     }
@@ -77,6 +176,39 @@ public final class CollectiosSet<E> extends AbstractSet<E> implements CSet<E> {
         return map.keySet().iterator();
     }
 
+    /**
+     * Overridden method to pass every element to the action, the trie of the map is walked node by node
+     *
+     * @param action
+     */
+    @Override
+    public void forEach(final Consumer<? super E> action) {
+        map.forEachKey(action);
+    }
+
+    /**
+     * Overridden method to fold the elements, the trie of the map is walked node by node
+     *
+     * @param identity
+     * @param folder
+     * @param <R>
+     * @return the result after the last element
+     */
+    @Override
+    public <R> R fold(final R identity, final BiFunction<R, ? super E, R> folder) {
+        return map.fold(identity, (result, key, value) -> folder.apply(result, key));
+    }
+
+    /**
+     * Get CollectiosSet spliterator, it is split along the trie of the map
+     *
+     * @return Spliterator
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return map.keySet().spliterator();
+    }
+
     /**
      * A
      *
@@ -113,15 +245,76 @@ public final class CollectiosSet<E> extends AbstractSet<E> implements CSet<E> {
         return map.containsKey(e);
     }
 
+    /**
+     * Overridden method to get the set whose trie is interned with the tries of the other canonicalized
+     * sets and maps, see {@link CollectioMap#canonicalize()}
+     *
+     * @return CollectiosSet
+     */
+    @Override
+    public CollectiosSet<E> intern() {
+        CMap<E, Object> canonical = map.canonicalize();
+        return canonical == map ? this : new CollectiosSet<>(canonical, hashCode());
+    }
 
     /**
-     * Hash code of the Set
+     * Hash code of the Set, for a set backed by CollectioMap it is memoized by the nodes of the trie,
+     * so the versions sharing sub tries compute it only for the copied nodes
      *
      * @return int
      */
     @Override
     public int hashCode() {
-        return hashCode;
+        int h = hashCode;
+        if (h == 0 && !hashCodeIsZero) {
+            h = map.keySet().hashCode();
+            if (h == 0) {
+                hashCodeIsZero = true;
+            } else {
+                hashCode = h;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Whether the Set holds the same elements as the given object, sets backed by CollectioMap
+     * are compared by their hash codes first and then trie by trie, skipping the shared sub tries
+     *
+     * @param o
+     * @return boolean
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof CollectiosSet) {
+            CollectioMap<E, Object> otherMap = trieOf((CollectiosSet<E>) o);
+            if (otherMap != null) {
+                return size() == otherMap.size() && hashCode() == o.hashCode()
+                        && ((CollectioMap<E, Object>) map).isKeySubsetOf(otherMap);
+            }
+        }
+        return super.equals(o);
+    }
+
+    /**
+     * Whether the Set contains all elements of the collection, for sets backed by CollectioMap
+     * the sub tries shared by both sets are not visited
+     *
+     * @param list
+     * @return boolean
+     */
+    @Override
+    public boolean containsAll(final Collection<?> list) {
+        if (list instanceof CollectiosSet) {
+            CollectioMap<E, Object> otherMap = trieOf((CollectiosSet<E>) list);
+            if (otherMap != null) {
+                return otherMap.isKeySubsetOf((CollectioMap<E, Object>) map);
+            }
+        }
+        return super.containsAll(list);
     }
 
     /**
@@ -130,8 +323,9 @@ public final class CollectiosSet<E> extends AbstractSet<E> implements CSet<E> {
      * @param e
      * @return CollectiosSet
      */
-    public CollectiosSet prepend(final E e) {
-        return new CollectiosSet(map.add(e, null), hashCode + e.hashCode());
+    public CollectiosSet<E> prepend(final E e) {
+        if (contains(e)) return this;
+        return new CollectiosSet<>(map.add(e, null), hashCode() + e.hashCode());
     }
 
     /**
@@ -142,7 +336,7 @@ public final class CollectiosSet<E> extends AbstractSet<E> implements CSet<E> {
      */
     public CollectiosSet delete(final Object e) {
         if (!contains(e)) return this;
-        return new CollectiosSet(map.delete((E) e), hashCode - e.hashCode());
+        return new CollectiosSet(map.delete((E) e), hashCode() - e.hashCode());
     }
 
     /**
@@ -156,27 +350,156 @@ public final class CollectiosSet<E> extends AbstractSet<E> implements CSet<E> {
     }
 
     /**
-     * Prepend all elements
+     * Prepend all elements, they are added through one transient
      *
      * @param list
-     * @return
+     * @return CollectiosSet
      */
-    public CollectiosSet prependAll(final Collection<? extends E> list) {
-        CMap<E, Object> map = this.map;
-        for (E e : list)
-            map = map.add(e, null);
-        return from(map);
+    public CollectiosSet<E> prependAll(final Collection<? extends E> list) {
+        if (list.isEmpty()) return this;
+        return new TransientSet<>(map.toTransient(), hashCode()).prependAll(list).persistent();
     }
 
     /**
-     * Delete all collection from given Set
+     * Delete all collection from given Set, they are deleted through one transient
      *
      * @param list
      * @return CollectiosSet
      */
-    public CollectiosSet deleteAll(final Collection<? extends E> list) {
-        CMap<E, Object> map = this.map.deleteAll(list);
-        return from(map);
+    public CollectiosSet<E> deleteAll(final Collection<? extends E> list) {
+        if (list.isEmpty()) return this;
+        TransientSet<E> result = new TransientSet<>(map.toTransient(), hashCode());
+        for (E e : list)
+            result.delete(e);
+        return result.size() == size() ? this : result.persistent();
+    }
+
+    /**
+     * Get a transient of the Set, it does not change this Set
+     *
+     * @return TransientCSet
+     */
+    @Override
+    public TransientCSet<E> toTransient() {
+        return new TransientSet<>(map.toTransient(), hashCode());
+    }
+
+    /**
+     * Union of the sets, the tries of the maps are merged node by node
+     * and the hash code is updated only by the elements which are added
+     *
+     * @param other
+     * @return CollectiosSet
+     */
+    @Override
+    public CollectiosSet<E> union(final CSet<E> other) {
+        CollectioMap<E, Object> otherMap = trieOf(other);
+        if (otherMap == null) {
+            return prependAll(other);
+        }
+        KeyHash<E> hash = new KeyHash<>(hashCode());
+        return withMap(((CollectioMap<E, Object>) map).union(otherMap, hash), hash, (CollectiosSet<E>) other);
+    }
+
+    /**
+     * Intersection of the sets, the tries of the maps are merged node by node
+     *
+     * @param other
+     * @return CollectiosSet
+     */
+    @Override
+    public CollectiosSet<E> intersect(final CSet<E> other) {
+        CollectioMap<E, Object> otherMap = trieOf(other);
+        if (otherMap == null) {
+            Collection<E> deleted = new ArrayList<>();
+            for (E e : this)
+                if (!other.contains(e)) deleted.add(e);
+            return deleteAll(deleted);
+        }
+        KeyHash<E> hash = new KeyHash<>(hashCode());
+        return withMap(((CollectioMap<E, Object>) map).intersect(otherMap, hash), hash, (CollectiosSet<E>) other);
+    }
+
+    /**
+     * Difference of the sets, the tries of the maps are merged node by node
+     *
+     * @param other
+     * @return CollectiosSet
+     */
+    @Override
+    public CollectiosSet<E> difference(final CSet<E> other) {
+        CollectioMap<E, Object> otherMap = trieOf(other);
+        if (otherMap == null) {
+            return deleteAll(other);
+        }
+        KeyHash<E> hash = new KeyHash<>(hashCode());
+        return withMap(((CollectioMap<E, Object>) map).difference(otherMap, hash), hash, (CollectiosSet<E>) other);
+    }
+
+    /**
+     * Whether all the elements are in the other set, sub tries shared by both sets are not visited
+     *
+     * @param other
+     * @return boolean
+     */
+    @Override
+    public boolean isSubsetOf(final CSet<E> other) {
+        CollectioMap<E, Object> otherMap = trieOf(other);
+        if (otherMap == null) {
+            return other.containsAll(this);
+        }
+        return ((CollectioMap<E, Object>) map).isKeySubsetOf(otherMap);
+    }
+
+    /**
+     * Get the map of the other set when both sets are backed by CollectioMap, null otherwise
+     *
+     * @param other
+     * @return CollectioMap or null
+     */
+    private CollectioMap<E, Object> trieOf(final CSet<E> other) {
+        if (!(map instanceof CollectioMap) || !(other instanceof CollectiosSet)
+                || !(((CollectiosSet<E>) other).map instanceof CollectioMap)) {
+            return null;
+        }
+        return (CollectioMap<E, Object>) ((CollectiosSet<E>) other).map;
+    }
+
+    private CollectiosSet<E> withMap(final CollectioMap<E, Object> result, final KeyHash<E> hash,
+                                     final CollectiosSet<E> other) {
+        if (result == map) {
+            return this;
+        }
+        if (result == other.map) {
+            return other;
+        }
+        return new CollectiosSet<>(result, hash.hashCode);
+    }
+
+    /**
+     * Visitor keeping the hash code of the set up to date with the added and removed elements
+     */
+    private static final class KeyHash<E> implements MapDiffVisitor<E, Object> {
+
+        private int hashCode;
+
+        KeyHash(final int hashCode) {
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public void added(final E key, final Object value) {
+            hashCode += key.hashCode();
+        }
+
+        @Override
+        public void removed(final E key, final Object value) {
+            hashCode -= key.hashCode();
+        }
+
+        @Override
+        public void changed(final E key, final Object oldValue, final Object newValue) {
+        }
     }
 
     /**
@@ -189,4 +512,37 @@ public final class CollectiosSet<E> extends AbstractSet<E> implements CSet<E> {
     public Collectios<E> subCList(int start, int end) {
         return null;
     }
+
+    /**
+     * Write the Set to the node output, the sub tries written to it before are written as references
+     *
+     * @param out
+     * @param codec
+     * @throws IOException
+     */
+    public void write(final NodeOutput out, final Codec<? super E> codec) throws IOException {
+        CollectioMap<E, Object> trie = map instanceof CollectioMap ? (CollectioMap<E, Object>) map : CollectioMap.of(map);
+        trie.write(out, codec, NO_VALUE);
+    }
+
+    /**
+     * Read the Set written by {@link #write}
+     *
+     * @param in
+     * @param codec
+     * @param <E>
+     * @return CollectiosSet
+     * @throws IOException
+     */
+    public static <E> CollectiosSet<E> read(final NodeInput in, final Codec<E> codec) throws IOException {
+        return new CollectiosSet<>(CollectioMap.read(in, codec, NO_VALUE));
+    }
+
+    private Object writeReplace() {
+        return new CollectiosExternalizable(this);
+    }
+
+    private void readObject(final ObjectInputStream stream) throws InvalidObjectException {
+        throw new InvalidObjectException("CollectiosSet is serialized by CollectiosExternalizable");
+    }
 }
@@ -0,0 +1,355 @@
+package com.elvinmahmudov.collectios.cset;
+
+import com.elvinmahmudov.collectios.cmap.CollectioSortedMap;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.SortedSet;
+
+
+/**
+ * The class is analogue for Java's TreeSet, the elements are the keys of a CollectioSortedMap
+ * and the range views share the tree of the set they come from
+ *
+ * @param <E>
+ * @author emahmudov
+ */
+public final class CollectiosSortedSet<E> extends AbstractSet<E> implements CSortedSet<E> {
+
+    private static final CollectiosSortedSet<Object> EMPTY = new CollectiosSortedSet<>(CollectioSortedMap.empty());
+    private final CollectioSortedMap<E, Object> map;
+
+    private CollectiosSortedSet(final CollectioSortedMap<E, Object> map) {
+        this.map = map;
+    }
+
+    /**
+     * Method to create the set from the map of its elements
+     *
+     * @param map
+     * @param <E>
+     * @return CollectiosSortedSet
+     */
+    static <E> CollectiosSortedSet<E> of(final CollectioSortedMap<E, Object> map) {
+        return new CollectiosSortedSet<>(map);
+    }
+
+    /**
+     * Empty set ordered by the natural ordering of the elements
+     *
+     * @param <E>
+     * @return CollectiosSortedSet
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> CollectiosSortedSet<E> empty() {
+        return (CollectiosSortedSet<E>) EMPTY;
+    }
+
+    /**
+     * Empty set ordered by the comparator
+     *
+     * @param comparator
+     * @param <E>
+     * @return CollectiosSortedSet
+     */
+    public static <E> CollectiosSortedSet<E> empty(final Comparator<? super E> comparator) {
+        if (comparator == null) {
+            return empty();
+        }
+        return new CollectiosSortedSet<>(CollectioSortedMap.empty(comparator));
+    }
+
+    /**
+     * Make CollectiosSortedSet from any Java Collection, sorted sets keep their comparator
+     *
+     * @param list
+     * @param <E>
+     * @return CollectiosSortedSet
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> CollectiosSortedSet<E> from(final Collection<? extends E> list) {
+        if (list instanceof CollectiosSortedSet) {
+            return (CollectiosSortedSet<E>) list;
+        }
+        if (list instanceof SortedSet) {
+            Comparator<? super E> comparator = (Comparator<? super E>) ((SortedSet<E>) list).comparator();
+            return CollectiosSortedSet.<E>empty(comparator).prependAll(list);
+        }
+        return CollectiosSortedSet.<E>empty().prependAll(list);
+    }
+
+    /**
+     * Method to get an empty transient for building a set
+     *
+     * @param <E>
+     * @return TransientCSet
+     */
+    public static <E> TransientCSet<E> builder() {
+        return CollectiosSortedSet.<E>empty().toTransient();
+    }
+
+    /**
+     * Get iterator over the elements in the order of the set
+     *
+     * @return Iterator
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return map.navigableKeySet().iterator();
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return map.descendingKeySet().iterator();
+    }
+
+    /**
+     * Size of the Set
+     *
+     * @return int
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Whether the Set contains given object
+     *
+     * @param e
+     * @return boolean
+     */
+    @Override
+    public boolean contains(final Object e) {
+        return map.containsKey(e);
+    }
+
+    /**
+     * Hash code of the Set, the elements are the keys of null values, so it is the memoized hash code of the map
+     *
+     * @return int
+     */
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o instanceof CollectiosSortedSet) {
+            return map.equals(((CollectiosSortedSet<?>) o).map);
+        }
+        return super.equals(o);
+    }
+
+    /**
+     * Prepend given element to the set, it is placed by the order of the set
+     *
+     * @param e
+     * @return CollectiosSortedSet
+     */
+    @Override
+    public CollectiosSortedSet<E> prepend(final E e) {
+        return withMap(map.add(e, null));
+    }
+
+    /**
+     * Delete element
+     *
+     * @param e
+     * @return CollectiosSortedSet
+     */
+    @Override
+    public CollectiosSortedSet<E> delete(final Object e) {
+        return withMap(map.delete(e));
+    }
+
+    /**
+     * Delete element at the index in the order of the set
+     *
+     * @param i
+     * @return CollectiosSortedSet
+     */
+    @Override
+    public CollectiosSortedSet<E> delete(final int i) {
+        return delete(map.entryAt(i).getKey());
+    }
+
+    /**
+     * Prepend all elements
+     *
+     * @param list
+     * @return CollectiosSortedSet
+     */
+    @Override
+    public CollectiosSortedSet<E> prependAll(final Collection<? extends E> list) {
+        CollectioSortedMap<E, Object> result = map;
+        for (E e : list)
+            result = result.add(e, null);
+        return withMap(result);
+    }
+
+    /**
+     * Delete all collection from given Set
+     *
+     * @param list
+     * @return CollectiosSortedSet
+     */
+    @Override
+    public CollectiosSortedSet<E> deleteAll(final Collection<? extends E> list) {
+        return withMap(map.deleteAll(list));
+    }
+
+    /**
+     * Get a transient of the Set, it does not change this Set
+     *
+     * @return TransientCSet
+     */
+    @Override
+    public TransientCSet<E> toTransient() {
+        return new TransientSortedSet<>(map.toTransient());
+    }
+
+    @Override
+    public CollectiosSortedSet<E> union(final CSet<E> other) {
+        return prependAll(other);
+    }
+
+    @Override
+    public CollectiosSortedSet<E> intersect(final CSet<E> other) {
+        Collection<E> deleted = new ArrayList<>();
+        for (E e : this)
+            if (!other.contains(e)) deleted.add(e);
+        return deleteAll(deleted);
+    }
+
+    @Override
+    public CollectiosSortedSet<E> difference(final CSet<E> other) {
+        return deleteAll(other);
+    }
+
+    @Override
+    public boolean isSubsetOf(final CSet<E> other) {
+        return size() <= other.size() && other.containsAll(this);
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return map.comparator();
+    }
+
+    @Override
+    public E first() {
+        return map.firstKey();
+    }
+
+    @Override
+    public E last() {
+        return map.lastKey();
+    }
+
+    @Override
+    public E lower(final E e) {
+        return map.lowerKey(e);
+    }
+
+    @Override
+    public E floor(final E e) {
+        return map.floorKey(e);
+    }
+
+    @Override
+    public E ceiling(final E e) {
+        return map.ceilingKey(e);
+    }
+
+    @Override
+    public E higher(final E e) {
+        return map.higherKey(e);
+    }
+
+    @Override
+    public E pollFirst() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public E pollLast() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * View of the set in the reverse order
+     *
+     * @return CollectiosSortedSet
+     */
+    @Override
+    public CollectiosSortedSet<E> descendingSet() {
+        return new CollectiosSortedSet<>(map.descendingMap());
+    }
+
+    /**
+     * View of the elements from fromElement to toElement, it shares the tree of this set
+     *
+     * @param fromElement
+     * @param fromInclusive
+     * @param toElement
+     * @param toInclusive
+     * @return CollectiosSortedSet
+     */
+    @Override
+    public CollectiosSortedSet<E> subSet(final E fromElement, final boolean fromInclusive,
+                                         final E toElement, final boolean toInclusive) {
+        return new CollectiosSortedSet<>(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+    }
+
+    @Override
+    public CollectiosSortedSet<E> headSet(final E toElement, final boolean inclusive) {
+        return new CollectiosSortedSet<>(map.headMap(toElement, inclusive));
+    }
+
+    @Override
+    public CollectiosSortedSet<E> tailSet(final E fromElement, final boolean inclusive) {
+        return new CollectiosSortedSet<>(map.tailMap(fromElement, inclusive));
+    }
+
+    @Override
+    public CollectiosSortedSet<E> subSet(final E fromElement, final E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public CollectiosSortedSet<E> headSet(final E toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public CollectiosSortedSet<E> tailSet(final E fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    /**
+     * Get the elements from start to end in the order of the set, it is a view sharing the tree of this set
+     *
+     * @param start
+     * @param end
+     * @return CollectiosSortedSet
+     */
+    @Override
+    public CollectiosSortedSet<E> subCList(final int start, final int end) {
+        if (start < 0 || end > size() || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", size: " + size());
+        }
+        if (start == end) {
+            return empty(comparator());
+        }
+        return subSet(map.entryAt(start).getKey(), true, map.entryAt(end - 1).getKey(), true);
+    }
+
+    private CollectiosSortedSet<E> withMap(final CollectioSortedMap<E, Object> result) {
+        return result == map ? this : new CollectiosSortedSet<>(result);
+    }
+}
@@ -0,0 +1,24 @@
+package com.elvinmahmudov.collectios.cset;
+
+import java.util.Collection;
+
+/**
+ * Mutable builder of a CSet, {@link #persistent()} turns it into an immutable set.
+ * A transient is not thread safe and cannot be used after persistent() has been called.
+ *
+ * @param <E> Element
+ */
+public interface TransientCSet<E> {
+
+    TransientCSet<E> prepend(E e);
+
+    TransientCSet<E> prependAll(Collection<? extends E> list);
+
+    TransientCSet<E> delete(Object e);
+
+    boolean contains(Object e);
+
+    int size();
+
+    CSet<E> persistent();
+}
@@ -0,0 +1,60 @@
+package com.elvinmahmudov.collectios.cset;
+
+import com.elvinmahmudov.collectios.cmap.TransientCMap;
+
+import java.util.Collection;
+
+/**
+ * Transient of CollectiosSet, it is a transient of the backing map which also keeps the hash code of the Set
+ *
+ * @param <E>
+ * @author emahmudov
+ */
+final class TransientSet<E> implements TransientCSet<E> {
+
+    private final TransientCMap<E, Object> map;
+    private int hashCode;
+
+    TransientSet(final TransientCMap<E, Object> map, final int hashCode) {
+        this.map = map;
+        this.hashCode = hashCode;
+    }
+
+    @Override
+    public TransientSet<E> prepend(final E e) {
+        int size = map.size();
+        map.add(e, null);
+        if (map.size() != size) hashCode += e.hashCode();
+        return this;
+    }
+
+    @Override
+    public TransientSet<E> prependAll(final Collection<? extends E> list) {
+        for (E e : list)
+            prepend(e);
+        return this;
+    }
+
+    @Override
+    public TransientSet<E> delete(final Object e) {
+        int size = map.size();
+        map.delete(e);
+        if (map.size() != size) hashCode -= e.hashCode();
+        return this;
+    }
+
+    @Override
+    public boolean contains(final Object e) {
+        return map.containsKey(e);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public CollectiosSet<E> persistent() {
+        return CollectiosSet.of(map.persistent(), hashCode);
+    }
+}
@@ -0,0 +1,55 @@
+package com.elvinmahmudov.collectios.cset;
+
+import com.elvinmahmudov.collectios.cmap.CollectioSortedMap;
+import com.elvinmahmudov.collectios.cmap.TransientCMap;
+
+import java.util.Collection;
+
+/**
+ * Transient of CollectiosSortedSet, it is a transient of the backing map
+ *
+ * @param <E>
+ * @author emahmudov
+ */
+final class TransientSortedSet<E> implements TransientCSet<E> {
+
+    private final TransientCMap<E, Object> map;
+
+    TransientSortedSet(final TransientCMap<E, Object> map) {
+        this.map = map;
+    }
+
+    @Override
+    public TransientSortedSet<E> prepend(final E e) {
+        map.add(e, null);
+        return this;
+    }
+
+    @Override
+    public TransientSortedSet<E> prependAll(final Collection<? extends E> list) {
+        for (E e : list)
+            prepend(e);
+        return this;
+    }
+
+    @Override
+    public TransientSortedSet<E> delete(final Object e) {
+        map.delete(e);
+        return this;
+    }
+
+    @Override
+    public boolean contains(final Object e) {
+        return map.containsKey(e);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public CollectiosSortedSet<E> persistent() {
+        return CollectiosSortedSet.of((CollectioSortedMap<E, Object>) map.persistent());
+    }
+}
@@ -0,0 +1,12 @@
+package com.elvinmahmudov.collectios.exception;
+
+public class FrozenTransientException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String MESSAGE = "Transient cannot be used after persistent() has been called";
+
+    public FrozenTransientException() {
+        super(MESSAGE);
+    }
+}
@@ -0,0 +1,119 @@
+package com.elvinmahmudov.collectios.intern;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+
+
+/**
+ * Weak concurrent table of canonical instances, {@link #intern(Object)} returns the instance equal to the given
+ * one which was interned first. The table holds its instances by weak references, so an instance no longer used
+ * anywhere else is collected and its entry is dropped by the next call.
+ * <p>
+ * Equality and hash are given by the owner of the table. The nodes of persistent collections are interned bottom up,
+ * so two nodes are equal when their items are equal and their sub nodes are the same objects, and the hash is the
+ * one the node memoizes anyway, which makes every lookup cost one node.
+ *
+ * @param <T> interned object
+ * @author emahmudov
+ */
+public final class Interner<T> {
+
+    private final ConcurrentHashMap<Key<T>, Key<T>> table = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    private final ToIntFunction<? super T> hash;
+
+    private final BiPredicate<? super T, ? super T> equality;
+
+    public Interner(final ToIntFunction<? super T> hash, final BiPredicate<? super T, ? super T> equality) {
+        this.hash = hash;
+        this.equality = equality;
+    }
+
+    /**
+     * Method to get the canonical instance equal to the object, the object becomes canonical
+     * when there is no such instance
+     *
+     * @param object
+     * @return T
+     */
+    public T intern(final T object) {
+        expunge();
+        Key<T> key = new Key<>(object, hash.applyAsInt(object), queue, equality);
+        while (true) {
+            Key<T> existing = table.putIfAbsent(key, key);
+            if (existing == null) {
+                return object;
+            }
+            T canonical = existing.get();
+            if (canonical != null) {
+                return canonical;
+            }
+            // collected after it has been matched, it is replaced by the object
+            table.remove(existing, existing);
+        }
+    }
+
+    /**
+     * Method to get the number of entries of the table, including the ones whose instance has been collected
+     * but not yet dropped
+     *
+     * @return int
+     */
+    public int size() {
+        expunge();
+        return table.size();
+    }
+
+    private void expunge() {
+        Reference<? extends T> reference;
+        while ((reference = queue.poll()) != null) {
+            table.remove(reference, reference);
+        }
+    }
+
+    /**
+     * Entry of the table, a collected entry is equal only to itself
+     */
+    private static final class Key<T> extends WeakReference<T> {
+
+        private final int hash;
+
+        private final BiPredicate<? super T, ? super T> equality;
+
+        Key(final T referent, final int hash, final ReferenceQueue<T> queue,
+            final BiPredicate<? super T, ? super T> equality) {
+            super(referent, queue);
+            this.hash = hash;
+            this.equality = equality;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean equals(final Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key<T> other = (Key<T>) o;
+            if (hash != other.hash) {
+                return false;
+            }
+            T x = get();
+            T y = other.get();
+            return x != null && y != null && (x == y || equality.test(x, y));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.elvinmahmudov.collectios.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Opt-in registry of what the updates of the collections cost. It is enabled by starting the JVM with
+ * {@code -Dcollectios.metrics=true}, the collections check the {@link #ENABLED} constant before recording,
+ * so when it is off the JIT removes the instrumentation and nothing is counted or allocated.
+ * <p>
+ * Every recorded update counts the nodes it has allocated and the items of the new version which are held
+ * by the nodes shared with the previous version, the ratio of the shared items to all the items tells how much
+ * of the new version is shared. Lookups reaching a hash collision node count the length of the collision.
+ * When a JFR recording is running the same data is emitted as {@code collectios.Update} and
+ * {@code collectios.Collision} events, to correlate them with the GC events.
+ *
+ * @author emahmudov
+ */
+public final class CollectiosMetrics {
+
+    public static final String PROPERTY = "collectios.metrics";
+
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * Collisions at least this long are counted together
+     */
+    public static final int MAX_COLLISION_LENGTH = 32;
+
+    /**
+     * Recorded updates
+     */
+    public enum Operation {
+        LIST_PREPEND,
+        LIST_PREPEND_TO,
+        LIST_DELETE,
+        MAP_ADD,
+        MAP_DELETE
+    }
+
+    private static final int OPERATIONS = Operation.values().length;
+
+    private static final LongAdder[] COUNTS = adders(OPERATIONS);
+    private static final LongAdder[] NODES = adders(OPERATIONS);
+    private static final LongAdder[] SHARED = adders(OPERATIONS);
+    private static final LongAdder[] ITEMS = adders(OPERATIONS);
+    private static final LongAdder[] COLLISIONS = adders(MAX_COLLISION_LENGTH + 1);
+
+    private CollectiosMetrics() {
+    }
+
+    private static LongAdder[] adders(final int n) {
+        LongAdder[] result = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = new LongAdder();
+        }
+        return result;
+    }
+
+    /**
+     * Method to record the update which has made the new version of the collection
+     *
+     * @param operation
+     * @param nodesAllocated nodes allocated by the update
+     * @param sharedItems    items of the new version held by the nodes shared with the previous one
+     * @param size           size of the new version
+     */
+    public static void recordUpdate(final Operation operation, final int nodesAllocated, final int sharedItems,
+                                    final int size) {
+        int i = operation.ordinal();
+        COUNTS[i].increment();
+        NODES[i].add(nodesAllocated);
+        SHARED[i].add(sharedItems);
+        ITEMS[i].add(size);
+
+        UpdateEvent event = new UpdateEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.nodesAllocated = nodesAllocated;
+            event.sharedItems = sharedItems;
+            event.size = size;
+            event.commit();
+        }
+    }
+
+    /**
+     * Method to record the lookup which has searched the keys of a hash collision
+     *
+     * @param length number of keys with the same hash
+     */
+    public static void recordCollision(final int length) {
+        COLLISIONS[Math.min(length, MAX_COLLISION_LENGTH)].increment();
+
+        CollisionEvent event = new CollisionEvent();
+        if (event.shouldCommit()) {
+            event.length = length;
+            event.commit();
+        }
+    }
+
+    /**
+     * Method to get the number of recorded updates
+     *
+     * @param operation
+     * @return long
+     */
+    public static long operations(final Operation operation) {
+        return COUNTS[operation.ordinal()].sum();
+    }
+
+    /**
+     * Method to get the number of nodes allocated by the recorded updates
+     *
+     * @param operation
+     * @return long
+     */
+    public static long nodesAllocated(final Operation operation) {
+        return NODES[operation.ordinal()].sum();
+    }
+
+    /**
+     * Method to get the part of the items of the new versions shared with the previous ones
+     *
+     * @param operation
+     * @return ratio from 0 to 1, 0 when nothing has been recorded
+     */
+    public static double sharingRatio(final Operation operation) {
+        long items = ITEMS[operation.ordinal()].sum();
+        return items == 0 ? 0 : (double) SHARED[operation.ordinal()].sum() / items;
+    }
+
+    /**
+     * Method to get the number of lookups through the collisions of the length
+     *
+     * @param length
+     * @return long, the collisions longer than {@link #MAX_COLLISION_LENGTH} are counted with it
+     */
+    public static long collisions(final int length) {
+        return COLLISIONS[Math.min(length, MAX_COLLISION_LENGTH)].sum();
+    }
+
+    /**
+     * Method to set all the counters to zero
+     */
+    public static void reset() {
+        for (LongAdder[] adders : new LongAdder[][]{COUNTS, NODES, SHARED, ITEMS, COLLISIONS}) {
+            for (LongAdder adder : adders) {
+                adder.reset();
+            }
+        }
+    }
+}
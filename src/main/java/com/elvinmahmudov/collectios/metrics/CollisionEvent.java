@@ -0,0 +1,23 @@
+package com.elvinmahmudov.collectios.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of a lookup through a hash collision recorded by {@link CollectiosMetrics}
+ *
+ * @author emahmudov
+ */
+@Name("collectios.Collision")
+@Label("Hash Collision Lookup")
+@Category("Collectios")
+@Description("Lookup which has searched the keys with the same hash")
+@StackTrace(false)
+final class CollisionEvent extends jdk.jfr.Event {
+
+    @Label("Length")
+    int length;
+}
@@ -0,0 +1,32 @@
+package com.elvinmahmudov.collectios.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of an update of a collection recorded by {@link CollectiosMetrics}
+ *
+ * @author emahmudov
+ */
+@Name("collectios.Update")
+@Label("Collection Update")
+@Category("Collectios")
+@Description("Nodes allocated by the update and the items shared with the previous version")
+@StackTrace(false)
+final class UpdateEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Nodes Allocated")
+    int nodesAllocated;
+
+    @Label("Shared Items")
+    int sharedItems;
+
+    @Label("Size")
+    int size;
+}